@@ -261,6 +261,9 @@ public static void postState(GameState state, GameStateEvent event) {
         check(game);
         game.setState(state);
         postEvent(event, true);
+        if (state == GameState.SERVER_STARTED && Sponge.getEventManager() instanceof SpongeEventManager) {
+            ((SpongeEventManager) Sponge.getEventManager()).checker.reportLiveEvents(getLogger());
+        }
     }
 
     public static void postShutdownEvents() {
@@ -28,6 +28,7 @@
 import net.minecraft.world.EnumDifficulty;
 import org.spongepowered.api.world.DimensionType;
 import org.spongepowered.api.world.PortalAgentType;
+import org.spongepowered.api.world.SerializationBehavior;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 
@@ -61,6 +62,28 @@ public interface WorldInfoBridge {
 
     void bridge$setIsMod(boolean isMod);
 
+    /**
+     * Gets the name of the template world whose region files this world
+     * reads the chunks it has not saved itself from.
+     *
+     * @return The template world name, or null if this world has no template
+     */
+    @Nullable
+    String bridge$getTemplateWorldName();
+
+    void bridge$setTemplateWorldName(@Nullable String templateWorldName);
+
+    /**
+     * Gets the serialization behavior this world had before it was
+     * protected as a template, which is the one that is persisted.
+     *
+     * @return The persisted behavior, or null if the world is not protected
+     */
+    @Nullable
+    SerializationBehavior bridge$getTemplateSerializationBehavior();
+
+    void bridge$setTemplateSerializationBehavior(@Nullable SerializationBehavior behavior);
+
     SpongeConfig<WorldConfig> bridge$getConfigAdapter();
 
     PortalAgentType bridge$getPortalAgent();
@@ -135,6 +135,8 @@ public interface WorldServerBridge {
 
     void bridge$doChunkGC();
 
+    void bridge$addChunkGCCandidate(int x, int z);
+
     void bridge$incrementChunkLoadCount();
 
     void bridge$updateConfigCache();
@@ -58,6 +58,26 @@ public interface ChunkProviderServerBridge {
 
     long bridge$getChunkUnloadDelay();
 
+    IChunkLoader bridge$getChunkLoader();
+
+    /**
+     * Schedules the max chunk lifetime save check of a chunk that was
+     * just loaded.
+     *
+     * @param chunk The loaded chunk
+     */
+    void bridge$scheduleLifetimeSave(Chunk chunk);
+
+    int bridge$getUnloadQueueSize();
+
+    /**
+     * Sets whether saving all chunks only queues the modified chunks, to
+     * be saved over the following ticks within the configured budget.
+     *
+     * @param spread Whether to spread chunk saves across ticks
+     */
+    void bridge$setSpreadingSaves(boolean spread);
+
     /**
      * Used strictly for implementation, because this method
      * is used in various other places, SpongeForge needs to
@@ -33,5 +33,18 @@ public interface AnvilChunkLoaderBridge {
     // Forge method
     boolean bridge$chunkExists(World world, int x, int z);
 
+    /**
+     * Checks whether the chunk is pending a save or has an entry in its
+     * region file header, without reading the chunk data. Safe to call
+     * from any thread.
+     */
+    boolean bridge$isChunkSaved(int x, int z);
+
+    /**
+     * Checks whether the chunk is waiting to be written to its region file
+     * by the chunk IO thread. Safe to call from any thread.
+     */
+    boolean bridge$isChunkSavePending(int x, int z);
+
     Path bridge$getWorldDir();
 }
@@ -27,6 +27,7 @@
 import net.minecraft.world.chunk.storage.RegionFile;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
 
 import java.io.File;
 import java.io.RandomAccessFile;
@@ -36,4 +37,6 @@
 public interface RegionFileAccessor {
 
     @Accessor("offsets") int[] accessor$getOffsets();
+
+    @Invoker("write") void accessor$write(int x, int z, byte[] data, int length);
 }
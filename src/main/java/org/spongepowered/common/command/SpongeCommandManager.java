@@ -28,6 +28,7 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.error;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
+import co.aikar.timings.Timing;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -63,6 +64,7 @@
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.phase.general.CommandPhaseContext;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
+import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -99,6 +101,7 @@ public class SpongeCommandManager implements CommandManager {
     private final Multimap<PluginContainer, CommandMapping> owners = HashMultimap.create();
     private final Map<CommandMapping, PluginContainer> reverseOwners = new ConcurrentHashMap<>();
     private final Object lock = new Object();
+    private final Map<CommandMapping, Timing> suggestionTimings = new ConcurrentHashMap<>();
 
     /**
      * Construct a simple {@link CommandManager}.
@@ -218,6 +221,7 @@ public Optional<CommandMapping> removeMapping(CommandMapping mapping) {
     }
 
     private void forgetMapping(CommandMapping mapping) {
+        this.suggestionTimings.remove(mapping);
         Iterator<CommandMapping> it = this.owners.values().iterator();
         while (it.hasNext()) {
             if (it.next().equals(mapping)) {
@@ -422,7 +426,7 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
     public List<String> getSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition, boolean usingBlock) {
         try {
             final String[] argSplit = arguments.split(" ", 2);
-            List<String> suggestions = new ArrayList<>(this.dispatcher.getSuggestions(src, arguments, targetPosition));
+            List<String> suggestions = new ArrayList<>(this.getDispatcherSuggestions(src, argSplit, arguments, targetPosition));
             Sponge.getCauseStackManager().pushCause(src);
             final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Sponge.getCauseStackManager().getCurrentCause(),
                     ImmutableList.copyOf(suggestions), suggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0], arguments, Optional.ofNullable(targetPosition), usingBlock); // TODO zml: Should this be exposed in the API?
@@ -440,6 +444,24 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
         }
     }
 
+    private List<String> getDispatcherSuggestions(CommandSource src, String[] argSplit, String arguments,
+            @Nullable Location<World> targetPosition) throws CommandException {
+        final Optional<CommandMapping> mapping = argSplit.length > 1
+                ? this.dispatcher.get(argSplit[0], src, SpongeCommandDispatcher.ON_DISCOVERY)
+                : Optional.empty();
+        if (!mapping.isPresent()) {
+            return this.dispatcher.getSuggestions(src, arguments, targetPosition);
+        }
+        final Timing timing = this.suggestionTimings.computeIfAbsent(mapping.get(),
+                key -> SpongeTimingsFactory.ofSafe(this.reverseOwners.get(key), "## tabComplete - " + key.getPrimaryAlias()));
+        timing.startTimingIfSync();
+        try {
+            return this.dispatcher.getSuggestions(src, arguments, targetPosition);
+        } finally {
+            timing.stopTimingIfSync();
+        }
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.dispatcher.testPermission(source);
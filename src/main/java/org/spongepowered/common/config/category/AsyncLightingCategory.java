@@ -36,6 +36,11 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "num-threads", comment = "The amount of threads to dedicate for asynchronous lighting updates. (Default: 2)")
     private int numAsyncThreads = 2;
 
+    @Setting(value = "metrics", comment = ""
+            + "If 'true', the queue depth and latency of asynchronous lighting updates are recorded\n"
+            + "and included in timings reports. Recording adds work to every queued light update.")
+    private boolean metrics = false;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -43,4 +48,8 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public boolean isMetricsEnabled() {
+        return this.metrics;
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ChunkPreGenerateCategory extends ConfigCategory {
+
+    @Setting(value = "mode", comment = ""
+            + "The order in which chunks are pre-generated. (Default: spiral)\n"
+            + "'spiral' - Chunks are generated in a spiral around the center.\n"
+            + "'region' - Chunks are generated one region file (32x32 chunks) at a time. The\n"
+            + "           existence of chunks is checked ahead of time on separate threads and\n"
+            + "           generated chunks are unloaded once their region is done.")
+    private String mode = "spiral";
+
+    @Setting(value = "scan-threads", comment = ""
+            + "The amount of threads used to check which chunks of upcoming regions already\n"
+            + "exist in 'region' mode. If 0 or less, half of the available processors are used. (Default: 0)")
+    private int scanThreads = 0;
+
+    @Setting(value = "adaptive-tick-budget", comment = ""
+            + "If 'true', the time spent generating chunks per step in 'region' mode grows while\n"
+            + "the server keeps up with 'target-tps' and shrinks when it falls behind. (Default: true)")
+    private boolean adaptiveTickBudget = true;
+
+    @Setting(value = "target-tps", comment = ""
+            + "The ticks per second the adaptive tick budget tries to maintain. (Default: 19.5)")
+    private double targetTps = 19.5;
+
+    @Setting(value = "resume", comment = ""
+            + "If 'true', progress of 'region' mode pre-generation is stored in the world folder\n"
+            + "and a task started again with the same center and diameter continues where the\n"
+            + "previous one stopped, for instance after a restart. (Default: true)")
+    private boolean resume = true;
+
+    public boolean isRegionMode() {
+        return "region".equalsIgnoreCase(this.mode);
+    }
+
+    public int getScanThreads() {
+        if (this.scanThreads <= 0) {
+            return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        return this.scanThreads;
+    }
+
+    public boolean isAdaptiveTickBudget() {
+        return this.adaptiveTickBudget;
+    }
+
+    public double getTargetTps() {
+        return this.targetTps;
+    }
+
+    public boolean isResumeEnabled() {
+        return this.resume;
+    }
+
+}
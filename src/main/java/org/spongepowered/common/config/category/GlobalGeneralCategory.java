@@ -34,6 +34,24 @@ public class GlobalGeneralCategory extends GeneralCategory {
             comment = "If 'true', sleeping between chunk saves will be enabled, beware of memory issues.")
     private boolean fileIOThreadSleep = false;
 
+    @Setting(value = "region-write-batch-size", comment = ""
+            + "The maximum number of queued chunks the file IO thread will write in one pass.\n"
+            + "Chunks in a batch are grouped by region file and written in on-disk order,\n"
+            + "so each region file is locked once per batch rather than once per chunk.\n"
+            + "Setting this to '1' restores writing a single chunk at a time.")
+    private int regionWriteBatchSize = 64;
+
+    @Setting(value = "region-read-ahead-radius", comment = ""
+            + "The radius, in chunks, of neighbouring chunks to prefetch from the same\n"
+            + "region file whenever a chunk has to be read from disk. Disk reads mostly\n"
+            + "happen when players outrun their loaded area, so this helps fast moving\n"
+            + "players at the cost of some memory. Set to '0' to disable read-ahead.")
+    private int regionReadAheadRadius = 0;
+
+    @Setting(value = "region-read-ahead-capacity",
+            comment = "The maximum number of prefetched chunks held in memory per world when read-ahead is enabled.")
+    private int regionReadAheadCapacity = 512;
+
     @Setting(value = "check-file-when-saving-sponge-data-file", comment = ""
             + "If 'true', Sponge will try to ensure that its data is on disk\n"
             + "when saving the 'level_sponge.dat' file,\n"
@@ -51,6 +69,18 @@ public boolean getFileIOThreadSleep() {
         return this.fileIOThreadSleep;
     }
 
+    public int getRegionWriteBatchSize() {
+        return Math.max(1, this.regionWriteBatchSize);
+    }
+
+    public int getRegionReadAheadRadius() {
+        return Math.max(0, this.regionReadAheadRadius);
+    }
+
+    public int getRegionReadAheadCapacity() {
+        return Math.max(1, this.regionReadAheadCapacity);
+    }
+
     public boolean isCheckFileWhenSavingSpongeDataFile() {
         return this.checkFileWhenSavingSpongeDataFile;
     }
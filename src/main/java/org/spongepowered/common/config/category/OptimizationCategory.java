@@ -57,6 +57,9 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates asynchronously.")
     private AsyncLightingCategory asyncLightingCategory = new AsyncLightingCategory();
 
+    @Setting(value = "parallel-volume-workers", comment = "Runs block and biome volume worker operations on multiple threads.")
+    private ParallelVolumeWorkerCategory parallelVolumeWorkerCategory = new ParallelVolumeWorkerCategory();
+
     @Setting(value = "eigen-redstone",
             comment = "Uses theosib's redstone algorithms to completely overhaul the way redstone works.")
     private EigenRedstoneCategory eigenRedstonCategory = new EigenRedstoneCategory();
@@ -136,6 +139,19 @@ public class OptimizationCategory extends ConfigCategory {
     )
     private boolean disableRayTracingChunkLoads = false;
 
+    @Setting(value = "compact-data-containers", comment = ""
+            + "If 'true', data containers created by Sponge and plugins store small views\n"
+            + "in flat arrays with shared keys instead of linked hash maps, and nested lookups\n"
+            + "walk the views without splitting the query at every level. This reduces the\n"
+            + "garbage created when serializing entities, inventories and schematics.")
+    private boolean compactDataContainers = false;
+
+    @Setting(value = "serialize-chunk-sections-off-thread", comment = ""
+            + "If 'true', saving a chunk only copies its block and light data on the main thread,\n"
+            + "and the block data is encoded into the chunk format on the file IO thread.\n"
+            + "This shortens the pauses caused by world saves.")
+    private boolean serializeChunkSectionsOffThread = false;
+
     public OptimizationCategory() {
         try {
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
@@ -159,6 +175,14 @@ public boolean useMapOptimization() {
         return this.mapOptimization;
     }
 
+    public boolean useCompactDataContainers() {
+        return this.compactDataContainers;
+    }
+
+    public boolean useOffThreadChunkSerialization() {
+        return this.serializeChunkSectionsOffThread;
+    }
+
     /**
      * This defines whether items can be pre-merged as item stacks, prior to
      * spawning an entity. This has the ramification that some items are simply
@@ -186,6 +210,10 @@ public boolean useAsyncLighting() {
         return this.asyncLightingCategory.isEnabled();
     }
 
+    public ParallelVolumeWorkerCategory getParallelVolumeWorkerCategory() {
+        return this.parallelVolumeWorkerCategory;
+    }
+
     public EigenRedstoneCategory getEigenRedstoneCategory() {
         return this.eigenRedstonCategory;
     }
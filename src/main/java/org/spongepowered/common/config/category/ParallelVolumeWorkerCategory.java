@@ -0,0 +1,59 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ParallelVolumeWorkerCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = ""
+            + "If 'true', the reduce, map and merge operations of block and biome volume workers\n"
+            + "are split into chunk aligned columns and run on multiple threads. Reduce runs in\n"
+            + "parallel on detached buffers and immutable volumes, map and merge only read immutable\n"
+            + "volumes in parallel and apply the results on the calling thread. Volumes backed by a\n"
+            + "live world are always worked on sequentially. Plugin procedures passed to these\n"
+            + "workers must be thread safe when this is enabled.")
+    private boolean enabled = false;
+
+    @Setting(value = "min-volume", comment = "The minimum amount of positions a volume must have to be worked on in parallel.")
+    private int minVolume = 65536;
+
+    @Setting(value = "num-threads", comment = "The amount of threads to use for parallel volume workers, 0 to use all available processors.")
+    private int numThreads = 0;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getMinVolume() {
+        return this.minVolume;
+    }
+
+    public int getNumThreads() {
+        return this.numThreads;
+    }
+}
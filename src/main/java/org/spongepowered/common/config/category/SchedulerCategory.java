@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-execution-mode", comment = ""
+            + "How asynchronous tasks are executed. (Default: cached)\n"
+            + "'cached' - A new thread is created whenever no idle thread is available.\n"
+            + "'bounded' - A pool with at most 'async-max-threads' threads.\n"
+            + "'virtual' - A virtual thread per task, if supported by the running JVM.\n"
+            + "            Falls back to 'bounded' otherwise.\n"
+            + "Changes require a server restart.")
+    private String asyncExecutionMode = "cached";
+
+    @Setting(value = "async-max-threads", comment = ""
+            + "The amount of threads used in the 'bounded' execution mode. Asynchronous tasks\n"
+            + "mostly wait for I/O, so this should be well above the amount of processors.\n"
+            + "If 0 or less, four times the amount of available processors is used, at least 16. (Default: 0)")
+    private int asyncMaxThreads = 0;
+
+    @Setting(value = "async-queue-limit", comment = ""
+            + "The maximum amount of asynchronous tasks of a single plugin waiting to be executed.\n"
+            + "This includes the scheduled asynchronous tasks of the plugin.\n"
+            + "Tasks submitted while the limit is reached are rejected and logged, a rejected repeating\n"
+            + "task runs again on its next period. If 0 or less, the queue is unbounded. (Default: 10000)")
+    private int asyncQueueLimit = 10000;
+
+    @Setting(value = "default-plugin-concurrency", comment = ""
+            + "The maximum amount of asynchronous tasks of a single plugin that may run at once,\n"
+            + "further tasks wait until one of them completes. If 0 or less, the amount is unlimited.\n"
+            + "(Default: 0)")
+    private int defaultPluginConcurrency = 0;
+
+    @Setting(value = "plugin-concurrency", comment = ""
+            + "Overrides 'default-plugin-concurrency' for specific plugins.\n"
+            + "Example: \"myplugin\"=4")
+    private Map<String, Integer> pluginConcurrency = new HashMap<>();
+
+    public String getAsyncExecutionMode() {
+        return this.asyncExecutionMode;
+    }
+
+    public int getAsyncMaxThreads() {
+        return this.asyncMaxThreads;
+    }
+
+    public int getAsyncQueueLimit() {
+        return this.asyncQueueLimit;
+    }
+
+    public int getDefaultPluginConcurrency() {
+        return this.defaultPluginConcurrency;
+    }
+
+    public Map<String, Integer> getPluginConcurrency() {
+        return this.pluginConcurrency;
+    }
+
+}
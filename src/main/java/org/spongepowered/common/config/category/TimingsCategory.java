@@ -57,6 +57,24 @@ public class TimingsCategory extends ConfigCategory {
     @Setting(value = "history-length", comment = "How long the list of said history can get")
     private int historyLength = 3600;
 
+    @Setting(value = "report-destination", comment = ""
+            + "Where timings reports are sent to. (Default: upload)\n"
+            + "'upload' - The report is uploaded to the Aikar webviewer.\n"
+            + "'local' - The report is written to 'export-directory', no network access is required.\n"
+            + "'both' - The report is written to 'export-directory' and uploaded.")
+    private String reportDestination = "upload";
+
+    @Setting(value = "export-directory", comment = ""
+            + "The directory, relative to the server directory, local timings reports are written to.\n"
+            + "Every report consists of the gzip compressed report json and a text file of collapsed\n"
+            + "stacks, which can be turned into a flame graph.")
+    private String exportDirectory = "timings";
+
+    @Setting(value = "export-history-length", comment = ""
+            + "The amount of local timings reports that are kept, older reports are deleted.\n"
+            + "If 0 or less, all reports are kept. (Default: 10)")
+    private int exportHistoryLength = 10;
+
     public boolean isVerbose() {
         return this.verbose;
     }
@@ -97,4 +115,20 @@ public void setHistoryLength(int historyLength) {
         this.historyLength = historyLength;
     }
 
+    public boolean isUploadEnabled() {
+        return !"local".equalsIgnoreCase(this.reportDestination);
+    }
+
+    public boolean isLocalExportEnabled() {
+        return "local".equalsIgnoreCase(this.reportDestination) || "both".equalsIgnoreCase(this.reportDestination);
+    }
+
+    public String getExportDirectory() {
+        return this.exportDirectory;
+    }
+
+    public int getExportHistoryLength() {
+        return this.exportHistoryLength;
+    }
+
 }
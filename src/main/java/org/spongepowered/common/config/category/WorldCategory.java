@@ -41,6 +41,13 @@ public class WorldCategory extends ConfigCategory {
             + "Note: 20 ticks is equivalent to 1 second.")
     private int autoSaveInterval = 900;
 
+    @Setting(value = "auto-save-chunks-per-tick", comment = ""
+            + "The maximum number of chunks saved per tick during an auto-save.\n"
+            + "If greater than 0, auto-saves queue the modified chunks and save them over\n"
+            + "the following ticks instead of saving all of them in a single tick.\n"
+            + "Set to 0 to disable. (Default: 0)")
+    private int autoSaveChunksPerTick = 0;
+
     @Setting(value = "mob-spawn-range", comment = ""
             + "Specifies the radius (in chunks) of where creatures will spawn.\n"
             + "This value is capped to the current view distance setting in server.properties")
@@ -115,6 +122,15 @@ public class WorldCategory extends ConfigCategory {
             + "Note: This gets reset if the chunk becomes active again.")
     private int chunkUnloadDelay = 15;
 
+    @Setting(value = "share-region-files-with-copies", comment = ""
+            + "If 'true', copies of this world share its region files instead of copying them.\n"
+            + "A copy only stores the chunks it saves itself and reads all other chunks from\n"
+            + "this world, which makes copying and deleting copies much faster.\n"
+            + "Note: While copies of this world exist, its chunks are not saved when it is loaded.\n"
+            + "Note: This world cannot be deleted or renamed while copies of it exist.\n"
+            + "Note: This has no effect for the default world, whose copies are always full copies.")
+    private boolean shareRegionFilesWithCopies = false;
+
     @Setting(value = "item-merge-radius", comment = ""
             + "The defined merge radius for Item entities such that when two items are\n"
             + "within the defined radius of each other, they will attempt to merge.\n"
@@ -132,6 +148,14 @@ public class WorldCategory extends ConfigCategory {
             comment = "If 'true', natural formation of ice and snow in supported biomes will be allowed.")
     private boolean weatherIceAndSnow = true;
 
+    @Setting(value = "region-storage", comment = ""
+            + "The backend used to read and write this world's region files.\n"
+            + "'vanilla' uses the vanilla region file, which serializes all reads and writes of a region.\n"
+            + "'mapped' memory-maps region headers and uses positional file channel IO with striped\n"
+            + "locks, allowing chunks of the same region to be loaded and saved in parallel.\n"
+            + "Both backends use the same on-disk format. Changes require a world reload.")
+    private String regionStorage = "vanilla";
+
     public static final int USE_SERVER_VIEW_DISTANCE = -1;
 
     @Setting(value = "view-distance", comment = ""
@@ -238,10 +262,18 @@ public int getMaxChunkUnloads() {
         return this.maxChunkUnloads;
     }
 
+    public int getAutoSaveChunksPerTick() {
+        return this.autoSaveChunksPerTick;
+    }
+
     public int getMaxChunkLifetime() {
         return this.maxChunkLifetime;
     }
 
+    public boolean shareRegionFilesWithCopies() {
+        return this.shareRegionFilesWithCopies;
+    }
+
     public double getItemMergeRadius() {
         return this.itemMergeRadius;
     }
@@ -254,6 +286,10 @@ public boolean getWeatherIceAndSnow() {
         return this.weatherIceAndSnow;
     }
 
+    public String getRegionStorage() {
+        return this.regionStorage;
+    }
+
     public int getViewDistance() {
         return this.viewDistance;
     }
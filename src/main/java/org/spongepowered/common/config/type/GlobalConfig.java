@@ -32,6 +32,7 @@
 import ninja.leaping.configurate.objectmapping.Setting;
 import org.spongepowered.common.config.category.BrokenModCategory;
 import org.spongepowered.common.config.category.BungeeCordCategory;
+import org.spongepowered.common.config.category.ChunkPreGenerateCategory;
 import org.spongepowered.common.config.category.CommandsCategory;
 import org.spongepowered.common.config.category.ExploitCategory;
 import org.spongepowered.common.config.category.GlobalGeneralCategory;
@@ -42,6 +43,7 @@
 import org.spongepowered.common.config.category.OptimizationCategory;
 import org.spongepowered.common.config.category.PermissionCategory;
 import org.spongepowered.common.config.category.PhaseTrackerCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
 import org.spongepowered.common.util.IpSet;
@@ -110,6 +112,12 @@ public class GlobalConfig extends GeneralConfigBase {
     @Setting(value = "metrics", comment = "Configuration options related to metric collection.")
     private MetricsCategory metricsCategory = new MetricsCategory();
 
+    @Setting(comment = "Configuration options related to the execution of scheduled plugin tasks.")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
+    @Setting(value = "chunk-pregen", comment = "Configuration options related to chunk pre-generation tasks.")
+    private ChunkPreGenerateCategory chunkPreGenerate = new ChunkPreGenerateCategory();
+
     public GlobalConfig() {
         super();
     }
@@ -186,4 +194,12 @@ public MetricsCategory getMetricsCategory() {
         return this.metricsCategory;
     }
 
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
+
+    public ChunkPreGenerateCategory getChunkPreGenerate() {
+        return this.chunkPreGenerate;
+    }
+
 }
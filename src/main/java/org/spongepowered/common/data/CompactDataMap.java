@@ -0,0 +1,245 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.spongepowered.api.data.DataQuery;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * The backing store of a compact {@link MemoryDataView}. Small views keep
+ * their entries in insertion ordered flat arrays with interned keys, which
+ * avoids the node and table allocations of a {@link LinkedHashMap} for the
+ * many small compounds of entity and item data. Views that grow past
+ * {@link #MAX_FLAT_SIZE} entries switch to a linked hash map.
+ */
+final class CompactDataMap extends AbstractMap<String, Object> {
+
+    static final int MAX_FLAT_SIZE = 8;
+    private static final int MAX_INTERNED_QUERIES = 8192;
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private static final Interner<String> keyInterner = Interners.newWeakInterner();
+    private static final Map<String, DataQuery> queries = new ConcurrentHashMap<>();
+
+    private String[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size;
+    @Nullable private Map<String, Object> spill;
+    @Nullable private Set<Entry<String, Object>> entrySet;
+
+    /**
+     * Gets the single part {@link DataQuery} of the given key, shared
+     * between all compact views as long as the pool isn't full.
+     *
+     * @param key The key
+     * @return The query
+     */
+    static DataQuery queryOf(String key) {
+        final DataQuery query = queries.get(key);
+        if (query != null) {
+            return query;
+        }
+        final DataQuery created = DataQuery.of(key);
+        if (queries.size() < MAX_INTERNED_QUERIES) {
+            queries.putIfAbsent(key, created);
+        }
+        return created;
+    }
+
+    private int indexOf(@Nullable Object key) {
+        if (key == null) {
+            return -1;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.spill != null ? this.spill.size() : this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return this.spill != null ? this.spill.containsKey(key) : indexOf(key) >= 0;
+    }
+
+    @Nullable
+    @Override
+    public Object get(@Nullable Object key) {
+        if (this.spill != null) {
+            return this.spill.get(key);
+        }
+        final int index = indexOf(key);
+        return index < 0 ? null : this.values[index];
+    }
+
+    @Nullable
+    @Override
+    public Object put(String key, Object value) {
+        if (this.spill != null) {
+            return this.spill.put(key, value);
+        }
+        final int index = indexOf(key);
+        if (index >= 0) {
+            final Object old = this.values[index];
+            this.values[index] = value;
+            return old;
+        }
+        if (this.size == MAX_FLAT_SIZE) {
+            final Map<String, Object> spill = new LinkedHashMap<>(MAX_FLAT_SIZE * 4);
+            for (int i = 0; i < this.size; i++) {
+                spill.put(this.keys[i], this.values[i]);
+            }
+            spill.put(keyInterner.intern(key), value);
+            this.spill = spill;
+            this.keys = EMPTY_KEYS;
+            this.values = EMPTY_VALUES;
+            this.size = 0;
+            return null;
+        }
+        if (this.size == this.keys.length) {
+            final int capacity = Math.min(MAX_FLAT_SIZE, Math.max(2, this.size * 2));
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        this.keys[this.size] = keyInterner.intern(key);
+        this.values[this.size] = value;
+        this.size++;
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public Object remove(@Nullable Object key) {
+        if (this.spill != null) {
+            return this.spill.remove(key);
+        }
+        final int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final Object old = this.values[index];
+        removeAt(index);
+        return old;
+    }
+
+    private void removeAt(int index) {
+        final int moved = this.size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+            System.arraycopy(this.values, index + 1, this.values, index, moved);
+        }
+        this.size--;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+    }
+
+    @Override
+    public void clear() {
+        this.spill = null;
+        this.keys = EMPTY_KEYS;
+        this.values = EMPTY_VALUES;
+        this.size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (this.entrySet == null) {
+            this.entrySet = new EntrySet();
+        }
+        return this.entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public int size() {
+            return CompactDataMap.this.size();
+        }
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            final Map<String, Object> spill = CompactDataMap.this.spill;
+            if (spill != null) {
+                return spill.entrySet().iterator();
+            }
+            return new FlatIterator();
+        }
+    }
+
+    private final class FlatIterator implements Iterator<Entry<String, Object>> {
+
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return this.next < CompactDataMap.this.size;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next++;
+            return new SimpleImmutableEntry<>(CompactDataMap.this.keys[this.last], CompactDataMap.this.values[this.last]);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+        }
+    }
+}
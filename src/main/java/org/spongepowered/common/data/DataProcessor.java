@@ -55,6 +55,18 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Checks if data holders of the provided type can be compatible with
+     * this {@link DataProcessor} at all. {@link #supports(DataHolder)} is
+     * still checked for every data holder of a supported type.
+     *
+     * @param holderType The concrete type of a data holder
+     * @return False if no data holder of the type is supported
+     */
+    default boolean supportsType(Class<?> holderType) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
@@ -24,21 +24,25 @@
  */
 package org.spongepowered.common.data;
 
-import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.ReflectionUtil;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,16 +52,27 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType SPREAD_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final Cache<InstanceKey, ImmutableDataManipulator<?, ?>> manipulatorCache = Caffeine.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
+        .recordStats()
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
+    private static final Cache<InstanceKey, ImmutableValue<?>> valueCache = Caffeine.newBuilder()
         .maximumSize(VALUE_CACHE_LIMIT)
+        .recordStats()
         .build();
 
+    /**
+     * The constructors of the cached types, per type and the classes of the
+     * arguments they were resolved for. Only used when creating instances
+     * that are not cached yet.
+     */
+    private static final Map<Class<?>, Map<List<Class<?>>, InstanceConstructor>> constructors = new ConcurrentHashMap<>();
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,55 +90,142 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
-        try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
-        } catch (Throwable e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
-        }
+        // A null varargs array means no arguments
+        return (T) intern(ImmutableDataCachingUtil.manipulatorCache, immutableClass, args == null ? NO_ARGS : args);
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final Object[] args;
+        if (extraArgs == null || extraArgs.length == 0) {
+            args = new Object[] {usedKey, defaultArg, arg};
+        } else {
+            args = new Object[3 + extraArgs.length];
+            args[0] = usedKey;
+            args[1] = defaultArg;
+            args[2] = arg;
+            System.arraycopy(extraArgs, 0, args, 3, extraArgs.length);
+        }
+        return (T) intern(ImmutableDataCachingUtil.valueCache, valueClass, args);
+    }
+
+    public static CacheStats getManipulatorCacheStats() {
+        return ImmutableDataCachingUtil.manipulatorCache.stats();
+    }
+
+    public static CacheStats getValueCacheStats() {
+        return ImmutableDataCachingUtil.valueCache.stats();
+    }
+
+    public static long getManipulatorCacheSize() {
+        return ImmutableDataCachingUtil.manipulatorCache.estimatedSize();
+    }
+
+    public static long getValueCacheSize() {
+        return ImmutableDataCachingUtil.valueCache.estimatedSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T intern(final Cache<InstanceKey, T> cache, final Class<?> type, final Object[] args) {
+        final InstanceKey key = new InstanceKey(type, args);
+        final T cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Constructed outside of the cache, constructors may request other instances
+        final T created = (T) construct(type, args);
+        final T raced = cache.asMap().putIfAbsent(key, created);
+        return raced == null ? created : raced;
+    }
+
+    private static Object construct(final Class<?> type, final Object[] args) {
+        final Class<?>[] argTypes = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            argTypes[i] = args[i] == null ? null : args[i].getClass();
+        }
+        final InstanceConstructor constructor = ImmutableDataCachingUtil.constructors
+            .computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(Arrays.asList(argTypes), key -> findConstructor(type, args));
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        }
-                        return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
+            if (constructor.parameterCount != args.length) {
+                // Array arguments are spread over the parameters
+                return constructor.handle.invokeExact(flatten(args, new ArrayList<>()).toArray());
+            }
+            return constructor.handle.invokeExact(args);
+        } catch (Throwable e) {
+            SpongeImpl.getLogger().error("Could not construct an instance of " + type.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
+            throw new UnsupportedOperationException("Could not construct an instance of " + type.getName() + " with the args: "
+                                                    + Arrays.toString(args), e);
+        }
+    }
+
+    private static InstanceConstructor findConstructor(final Class<?> type, final Object[] args) {
+        final Constructor<?> constructor = ReflectionUtil.findConstructor(type, args);
+        try {
+            final MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(SPREAD_CONSTRUCTOR_TYPE);
+            return new InstanceConstructor(handle, constructor.getParameterCount());
+        } catch (IllegalAccessException e) {
+            throw new UnsupportedOperationException("Could not access the constructor of " + type.getName(), e);
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
+    private static List<Object> flatten(final Object[] args, final List<Object> flattened) {
+        for (Object arg : args) {
+            if (arg instanceof Object[]) {
+                flatten((Object[]) arg, flattened);
             } else {
-                builder.append("{").append(object.toString()).append("}");
+                flattened.add(arg);
+            }
+        }
+        return flattened;
+    }
+
+    private static final class InstanceConstructor {
+
+        final MethodHandle handle;
+        final int parameterCount;
+
+        InstanceConstructor(final MethodHandle handle, final int parameterCount) {
+            this.handle = handle;
+            this.parameterCount = parameterCount;
+        }
+    }
+
+    /**
+     * The cache key of an instance, the type and the constructor arguments
+     * are compared by equality, array arguments by their contents.
+     */
+    private static final class InstanceKey {
+
+        private final Class<?> type;
+        private final Object[] args;
+        private final int hashCode;
+
+        InstanceKey(final Class<?> type, final Object[] args) {
+            this.type = type;
+            this.args = args;
+            this.hashCode = 31 * type.hashCode() + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
             }
+            if (!(obj instanceof InstanceKey)) {
+                return false;
+            }
+            final InstanceKey other = (InstanceKey) obj;
+            return this.type == other.type && this.hashCode == other.hashCode && Arrays.deepEquals(this.args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
         }
-        return builder.toString();
     }
 }
@@ -41,6 +41,30 @@
  */
 public class MemoryDataContainer extends MemoryDataView implements DataContainer {
 
+    private static volatile boolean compactByDefault = false;
+
+    /**
+     * Sets whether containers created through {@link #create(DataView.SafetyMode)}
+     * are backed by compact flat views.
+     *
+     * @param compact Whether to use compact views
+     */
+    public static void setCompactByDefault(boolean compact) {
+        compactByDefault = compact;
+    }
+
+    /**
+     * Creates a new {@link MemoryDataContainer} with the provided
+     * {@link org.spongepowered.api.data.DataView.SafetyMode}, backed by
+     * compact views if enabled in the optimization settings.
+     *
+     * @param safety The safety mode to use
+     * @return The new container
+     */
+    public static MemoryDataContainer create(DataView.SafetyMode safety) {
+        return new MemoryDataContainer(safety, compactByDefault);
+    }
+
     /**
      * Creates a new {@link MemoryDataContainer} with a default
      * {@link org.spongepowered.api.data.DataView.SafetyMode} of
@@ -59,7 +83,19 @@ public MemoryDataContainer() {
      * @see org.spongepowered.api.data.DataView.SafetyMode
      */
     public MemoryDataContainer(DataView.SafetyMode safety) {
-        super(safety);
+        this(safety, false);
+    }
+
+    /**
+     * Creates a new {@link MemoryDataContainer} with the provided
+     * {@link org.spongepowered.api.data.DataView.SafetyMode}, optionally
+     * storing small views in flat arrays instead of linked hash maps.
+     *
+     * @param safety The safety mode to use
+     * @param compact Whether to use compact views
+     */
+    public MemoryDataContainer(DataView.SafetyMode safety, boolean compact) {
+        super(safety, compact);
     }
 
     @Override
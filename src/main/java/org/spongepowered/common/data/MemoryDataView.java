@@ -67,26 +67,44 @@
  */
 public class MemoryDataView implements DataView {
 
-    protected final Map<String, Object> map = Maps.newLinkedHashMap();
+    protected final Map<String, Object> map;
     private final DataContainer container;
     private final DataView parent;
     private final DataQuery path;
     private final DataView.SafetyMode safety;
+    private final boolean compact;
 
-    MemoryDataView(DataView.SafetyMode safety) {
+    MemoryDataView(DataView.SafetyMode safety, boolean compact) {
         checkState(this instanceof DataContainer, "Cannot construct a root MemoryDataView without a container!");
         this.path = of();
         this.parent = this;
         this.container = (DataContainer) this;
         this.safety = checkNotNull(safety, "Safety mode");
+        this.compact = compact;
+        this.map = compact ? new CompactDataMap() : Maps.newLinkedHashMap();
     }
 
-    private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
+    private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety, boolean compact) {
         checkArgument(path.getParts().size() >= 1, "Path must have at least one part");
         this.parent = parent;
         this.container = parent.getContainer();
         this.path = parent.getCurrentPath().then(path);
         this.safety = checkNotNull(safety, "Safety mode");
+        this.compact = compact;
+        this.map = compact ? new CompactDataMap() : Maps.newLinkedHashMap();
+    }
+
+    /**
+     * Gets whether this view is backed by a {@link CompactDataMap}.
+     *
+     * @return True if this view is compact
+     */
+    public boolean isCompact() {
+        return this.compact;
+    }
+
+    private DataQuery keyQuery(String key) {
+        return this.compact ? CompactDataMap.queryOf(key) : of(key);
     }
 
     @Override
@@ -115,13 +133,14 @@ public Set<DataQuery> getKeys(boolean deep) {
         ImmutableSet.Builder<DataQuery> builder = ImmutableSet.builder();
 
         for (Map.Entry<String, Object> entry : this.map.entrySet()) {
-            builder.add(of(entry.getKey()));
+            builder.add(keyQuery(entry.getKey()));
         }
         if (deep) {
             for (Map.Entry<String, Object> entry : this.map.entrySet()) {
                 if (entry.getValue() instanceof DataView) {
+                    final DataQuery keyQuery = keyQuery(entry.getKey());
                     for (DataQuery query : ((DataView) entry.getValue()).getKeys(true)) {
-                        builder.add(of(entry.getKey()).then(query));
+                        builder.add(keyQuery.then(query));
                     }
                 }
             }
@@ -152,6 +171,9 @@ public final boolean contains(DataQuery path) {
         if (queryParts.size() == 1) {
             return this.map.containsKey(key);
         }
+        if (this.compact) {
+            return getNested(queryParts).isPresent();
+        }
         Optional<DataView> subViewOptional = this.getUnsafeView(key);
         return subViewOptional.isPresent() && subViewOptional.get().contains(path.popFirst());
     }
@@ -216,6 +238,9 @@ public Optional<Object> get(DataQuery path) {
             }
             return Optional.of(object);
         }
+        if (this.compact) {
+            return getNested(queryParts);
+        }
         Optional<DataView> subViewOptional = this.getUnsafeView(key);
         if (!subViewOptional.isPresent()) {
             return Optional.empty();
@@ -225,6 +250,30 @@ public Optional<Object> get(DataQuery path) {
 
     }
 
+    /**
+     * Walks down the views of a compact view without splitting the query
+     * for every level, only falling back to a sub query when a child view
+     * isn't a {@link MemoryDataView}.
+     *
+     * @param parts The parts of the query, at least two
+     * @return The value, if found
+     */
+    private Optional<Object> getNested(List<String> parts) {
+        MemoryDataView view = this;
+        final int last = parts.size() - 1;
+        for (int i = 0; i < last; i++) {
+            final Object object = view.map.get(parts.get(i));
+            if (object instanceof MemoryDataView) {
+                view = (MemoryDataView) object;
+            } else if (object instanceof DataView) {
+                return ((DataView) object).get(DataQuery.of(parts.subList(i + 1, parts.size())));
+            } else {
+                return Optional.empty();
+            }
+        }
+        return view.get(view.keyQuery(parts.get(last)));
+    }
+
     @Override
     @SuppressWarnings({"rawtypes", "unchecked"})
     public DataView set(DataQuery path, Object value) {
@@ -439,17 +488,17 @@ public DataView createView(DataQuery path) {
         checkArgument(sz != 0, "The size of the query must be at least 1");
 
         String key = queryParts.get(0);
-        DataQuery keyQuery = of(key);
+        DataQuery keyQuery = keyQuery(key);
 
         if (sz == 1) {
-            DataView result = new MemoryDataView(this, keyQuery, this.safety);
+            DataView result = new MemoryDataView(this, keyQuery, this.safety, this.compact);
             this.map.put(key, result);
             return result;
         }
         DataQuery subQuery = path.popFirst();
         DataView subView = (DataView) this.map.get(key);
         if (subView == null) {
-            subView = new MemoryDataView(this.parent, keyQuery, this.safety);
+            subView = new MemoryDataView(this.parent, keyQuery, this.safety, this.compact);
             this.map.put(key, subView);
         }
         return subView.createView(subQuery);
@@ -801,7 +850,7 @@ public <T> Optional<List<T>> getObjectList(DataQuery path, Class<T> objectClass)
 
     @Override
     public DataContainer copy() {
-        final DataContainer container = new MemoryDataContainer(this.safety);
+        final DataContainer container = new MemoryDataContainer(this.safety, this.compact);
         getKeys(false)
             .forEach(query ->
                 get(query).ifPresent(obj ->
@@ -813,7 +862,7 @@ public DataContainer copy() {
 
     @Override
     public DataContainer copy(SafetyMode safety) {
-        final DataContainer container = new MemoryDataContainer(safety);
+        final DataContainer container = new MemoryDataContainer(safety, this.compact);
         getKeys(false)
             .forEach(query ->
                 get(query).ifPresent(obj ->
@@ -205,6 +205,7 @@ public <T extends ImmutableDataHolder<T>, B extends ImmutableDataBuilder<T, B>>
 
     public static void finalizeRegistration() {
         allowRegistrations = false;
+        MemoryDataContainer.setCompactByDefault(SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useCompactDataContainers());
         SpongeManipulatorRegistry.getInstance().bake();
         KeyRegistryModule.getInstance().registerKeyListeners();
     }
@@ -251,12 +252,12 @@ public <T> Optional<DataTranslator<T>> getTranslator(Class<T> objectClass) {
 
     @Override
     public DataContainer createContainer() {
-        return new MemoryDataContainer();
+        return MemoryDataContainer.create(DataView.SafetyMode.ALL_DATA_CLONED);
     }
 
     @Override
     public DataContainer createContainer(DataView.SafetyMode safety) {
-        return new MemoryDataContainer(safety);
+        return MemoryDataContainer.create(safety);
     }
 
     public Optional<DataManipulatorBuilder<?, ?>> getWildManipulatorBuilder(Class<? extends DataManipulator<?, ?>> manipulatorClass) {
@@ -139,6 +139,18 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if containers of the provided type can be compatible with this
+     * {@link ValueProcessor} at all. {@link #supports(ValueContainer)} is
+     * still checked for every container of a supported type.
+     *
+     * @param containerType The concrete type of a value container
+     * @return False if no container of the type is supported
+     */
+    default boolean supportsType(Class<?> containerType) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
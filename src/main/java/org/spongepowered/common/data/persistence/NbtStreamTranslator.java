@@ -0,0 +1,410 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.spongepowered.api.data.DataQuery.of;
+
+import com.google.common.collect.Lists;
+import net.minecraft.nbt.NBTSizeTracker;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.util.Constants;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the binary NBT format directly from and to
+ * {@link DataView}s, producing the same data as going through
+ * {@link NbtTranslator} and {@link net.minecraft.nbt.CompressedStreamTools}
+ * without building an intermediate {@link net.minecraft.nbt.NBTTagCompound}
+ * tree, so only one tree of a document is ever held in memory.
+ *
+ * <p>Reads may be limited with a {@link NBTSizeTracker}, which is charged
+ * the same amounts as when reading the tags through
+ * {@link net.minecraft.nbt.CompressedStreamTools}.</p>
+ */
+public final class NbtStreamTranslator {
+
+    private static final NbtStreamTranslator instance = new NbtStreamTranslator();
+    private static final int MAX_DEPTH = 512;
+
+    public static NbtStreamTranslator getInstance() {
+        return instance;
+    }
+
+    private NbtStreamTranslator() { }
+
+    /**
+     * Reads a named root compound from the input into a new container.
+     *
+     * @param input The input to read from
+     * @return The read container
+     * @throws IOException If the input isn't a valid root compound
+     */
+    public DataContainer read(DataInput input) throws IOException {
+        return read(input, NBTSizeTracker.INFINITE);
+    }
+
+    /**
+     * Reads a named root compound from the input into a new container,
+     * failing once the read tags exceed the limit of the size tracker.
+     *
+     * @param input The input to read from
+     * @param sizeTracker The size tracker limiting the read tags
+     * @return The read container
+     * @throws IOException If the input isn't a valid root compound
+     * @throws RuntimeException If the tags exceed the limit of the size tracker
+     */
+    public DataContainer read(DataInput input, NBTSizeTracker sizeTracker) throws IOException {
+        checkNotNull(input, "input");
+        checkNotNull(sizeTracker, "sizeTracker");
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        readRoot(input, container, sizeTracker);
+        return container;
+    }
+
+    /**
+     * Reads a named root compound from the input into the given view.
+     *
+     * @param input The input to read from
+     * @param view The view to fill
+     * @throws IOException If the input isn't a valid root compound
+     */
+    public void readInto(DataInput input, DataView view) throws IOException {
+        checkNotNull(input, "input");
+        checkNotNull(view, "view");
+        readRoot(input, view, NBTSizeTracker.INFINITE);
+    }
+
+    /**
+     * Writes the view as a root compound with an empty name.
+     *
+     * @param output The output to write to
+     * @param view The view to write
+     * @throws IOException If writing fails
+     */
+    public void write(DataOutput output, DataView view) throws IOException {
+        checkNotNull(output, "output");
+        checkNotNull(view, "view");
+        output.writeByte(Constants.NBT.TAG_COMPOUND);
+        output.writeUTF("");
+        writeView(output, view);
+    }
+
+    private static void readRoot(DataInput input, DataView view, NBTSizeTracker sizeTracker) throws IOException {
+        if (input.readByte() != Constants.NBT.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        input.readUTF();
+        readCompound(input, view, 0, sizeTracker);
+    }
+
+    // The amounts charged to the size tracker mirror the read methods of the NBTBase implementations
+    private static void readCompound(DataInput input, DataView view, int depth, NBTSizeTracker sizeTracker) throws IOException {
+        sizeTracker.read(384L);
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        byte type;
+        while ((type = input.readByte()) != Constants.NBT.TAG_END) {
+            final String key = input.readUTF();
+            sizeTracker.read(224L + 16L * key.length());
+            if (type == Constants.NBT.TAG_COMPOUND) {
+                readCompound(input, view.createView(of(key)), depth + 1, sizeTracker);
+            } else if (type == Constants.NBT.TAG_BYTE && key.contains(NbtTranslator.BOOLEAN_IDENTIFIER)) {
+                sizeTracker.read(72L);
+                view.set(of(key.replace(NbtTranslator.BOOLEAN_IDENTIFIER, "")), input.readByte() != 0);
+            } else {
+                view.set(of(key), readPayload(input, type, depth + 1, sizeTracker));
+            }
+        }
+    }
+
+    private static Object readPayload(DataInput input, byte type, int depth, NBTSizeTracker sizeTracker) throws IOException {
+        switch (type) {
+            case Constants.NBT.TAG_BYTE:
+                sizeTracker.read(72L);
+                return input.readByte();
+            case Constants.NBT.TAG_SHORT:
+                sizeTracker.read(80L);
+                return input.readShort();
+            case Constants.NBT.TAG_INT:
+                sizeTracker.read(96L);
+                return input.readInt();
+            case Constants.NBT.TAG_LONG:
+                sizeTracker.read(128L);
+                return input.readLong();
+            case Constants.NBT.TAG_FLOAT:
+                sizeTracker.read(96L);
+                return input.readFloat();
+            case Constants.NBT.TAG_DOUBLE:
+                sizeTracker.read(128L);
+                return input.readDouble();
+            case Constants.NBT.TAG_BYTE_ARRAY: {
+                sizeTracker.read(192L);
+                final int length = readLength(input);
+                sizeTracker.read(8L * length);
+                final byte[] array = new byte[length];
+                input.readFully(array);
+                return array;
+            }
+            case Constants.NBT.TAG_STRING: {
+                sizeTracker.read(288L);
+                final String string = input.readUTF();
+                sizeTracker.read(16L * string.length());
+                return string;
+            }
+            case Constants.NBT.TAG_LIST: {
+                sizeTracker.read(296L);
+                if (depth > MAX_DEPTH) {
+                    throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+                }
+                final byte listType = input.readByte();
+                final int count = input.readInt();
+                if (listType == Constants.NBT.TAG_END && count > 0) {
+                    throw new IOException("Missing type on NBT list");
+                }
+                sizeTracker.read(32L * count);
+                final List<Object> list = Lists.newArrayListWithCapacity(Math.max(0, count));
+                for (int i = 0; i < count; i++) {
+                    list.add(readPayload(input, listType, depth + 1, sizeTracker));
+                }
+                return list;
+            }
+            case Constants.NBT.TAG_COMPOUND: {
+                final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+                readCompound(input, container, depth, sizeTracker);
+                return container;
+            }
+            case Constants.NBT.TAG_INT_ARRAY: {
+                sizeTracker.read(192L);
+                final int length = readLength(input);
+                sizeTracker.read(32L * length);
+                final int[] array = new int[length];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = input.readInt();
+                }
+                return array;
+            }
+            case Constants.NBT.TAG_LONG_ARRAY: {
+                sizeTracker.read(192L);
+                final int length = readLength(input);
+                sizeTracker.read(64L * length);
+                final long[] array = new long[length];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = input.readLong();
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    private static int readLength(DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT array length " + length);
+        }
+        return length;
+    }
+
+    private static void writeView(DataOutput output, DataView view) throws IOException {
+        for (DataQuery query : view.getKeys(false)) {
+            final Object value = view.get(query).get();
+            final String key = query.asString('.');
+            if (value instanceof Boolean) {
+                writeNamed(output, key + NbtTranslator.BOOLEAN_IDENTIFIER, value);
+            } else {
+                writeNamed(output, key, value);
+            }
+        }
+        output.writeByte(Constants.NBT.TAG_END);
+    }
+
+    private static void writeNamed(DataOutput output, String key, Object value) throws IOException {
+        final byte type = getType(value);
+        output.writeByte(type);
+        output.writeUTF(key);
+        writePayload(output, value, type);
+    }
+
+    // The NBT type NbtTranslator would translate the value to
+    private static byte getType(Object value) {
+        checkNotNull(value);
+        if (value instanceof Boolean || value instanceof Byte) {
+            return Constants.NBT.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return Constants.NBT.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return Constants.NBT.TAG_INT;
+        } else if (value instanceof Long) {
+            return Constants.NBT.TAG_LONG;
+        } else if (value instanceof Float) {
+            return Constants.NBT.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return Constants.NBT.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return Constants.NBT.TAG_STRING;
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            return Constants.NBT.TAG_BYTE_ARRAY;
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            return Constants.NBT.TAG_INT_ARRAY;
+        } else if (value instanceof long[] || value instanceof Long[]) {
+            return Constants.NBT.TAG_LONG_ARRAY;
+        } else if (value instanceof List) {
+            return Constants.NBT.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return Constants.NBT.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writePayload(DataOutput output, Object value, byte type) throws IOException {
+        switch (type) {
+            case Constants.NBT.TAG_BYTE:
+                output.writeByte(value instanceof Boolean ? ((Boolean) value ? 1 : 0) : (Byte) value);
+                break;
+            case Constants.NBT.TAG_SHORT:
+                output.writeShort((Short) value);
+                break;
+            case Constants.NBT.TAG_INT:
+                output.writeInt((Integer) value);
+                break;
+            case Constants.NBT.TAG_LONG:
+                output.writeLong((Long) value);
+                break;
+            case Constants.NBT.TAG_FLOAT:
+                output.writeFloat((Float) value);
+                break;
+            case Constants.NBT.TAG_DOUBLE:
+                output.writeDouble((Double) value);
+                break;
+            case Constants.NBT.TAG_STRING:
+                output.writeUTF((String) value);
+                break;
+            case Constants.NBT.TAG_BYTE_ARRAY:
+                if (value instanceof byte[]) {
+                    output.writeInt(((byte[]) value).length);
+                    output.write((byte[]) value);
+                } else {
+                    output.writeInt(((Byte[]) value).length);
+                    for (Byte data : (Byte[]) value) {
+                        output.writeByte(data);
+                    }
+                }
+                break;
+            case Constants.NBT.TAG_INT_ARRAY:
+                if (value instanceof int[]) {
+                    output.writeInt(((int[]) value).length);
+                    for (int data : (int[]) value) {
+                        output.writeInt(data);
+                    }
+                } else {
+                    output.writeInt(((Integer[]) value).length);
+                    for (Integer data : (Integer[]) value) {
+                        output.writeInt(data);
+                    }
+                }
+                break;
+            case Constants.NBT.TAG_LONG_ARRAY:
+                if (value instanceof long[]) {
+                    output.writeInt(((long[]) value).length);
+                    for (long data : (long[]) value) {
+                        output.writeLong(data);
+                    }
+                } else {
+                    output.writeInt(((Long[]) value).length);
+                    for (Long data : (Long[]) value) {
+                        output.writeLong(data);
+                    }
+                }
+                break;
+            case Constants.NBT.TAG_LIST:
+                writeList(output, (List<Object>) value);
+                break;
+            case Constants.NBT.TAG_COMPOUND:
+                if (value instanceof Map) {
+                    writeMap(output, (Map<Object, Object>) value);
+                } else if (value instanceof DataSerializable) {
+                    writeView(output, ((DataSerializable) value).toContainer());
+                } else {
+                    writeView(output, (DataView) value);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown NBT type " + type);
+        }
+    }
+
+    private static void writeList(DataOutput output, List<Object> list) throws IOException {
+        if (list.isEmpty()) {
+            output.writeByte(Constants.NBT.TAG_END);
+            output.writeInt(0);
+            return;
+        }
+        // Like NBTTagList, elements not matching the type of the first element are dropped
+        final byte listType = getType(list.get(0));
+        int count = 0;
+        for (Object object : list) {
+            if (getType(object) == listType) {
+                count++;
+            }
+        }
+        output.writeByte(listType);
+        output.writeInt(count);
+        for (Object object : list) {
+            if (getType(object) == listType) {
+                writePayload(output, object, listType);
+            }
+        }
+    }
+
+    private static void writeMap(DataOutput output, Map<Object, Object> map) throws IOException {
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            if (entry.getKey() instanceof DataQuery) {
+                final String key = ((DataQuery) entry.getKey()).asString('.');
+                if (entry.getValue() instanceof Boolean) {
+                    writeNamed(output, key + NbtTranslator.BOOLEAN_IDENTIFIER, entry.getValue());
+                } else {
+                    writeNamed(output, key, entry.getValue());
+                }
+            } else if (entry.getKey() instanceof String) {
+                writeNamed(output, (String) entry.getKey(), entry.getValue());
+            } else {
+                writeNamed(output, entry.getKey().toString(), entry.getValue());
+            }
+        }
+        output.writeByte(Constants.NBT.TAG_END);
+    }
+}
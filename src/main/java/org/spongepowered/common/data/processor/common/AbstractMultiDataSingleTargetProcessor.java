@@ -35,6 +35,7 @@
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.ProcessorDispatchTable;
 
 import java.util.IdentityHashMap;
 import java.util.Map;
@@ -55,6 +56,12 @@ public boolean supports(DataHolder dataHolder) {
         return this.holderClass.isInstance(dataHolder) && supports((Holder) dataHolder);
     }
 
+    @Override
+    public boolean supportsType(Class<?> holderType) {
+        return this.holderClass.isAssignableFrom(holderType)
+               || !ProcessorDispatchTable.usesSupportsOf(this, AbstractMultiDataSingleTargetProcessor.class, DataHolder.class);
+    }
+
     protected boolean supports(Holder dataHolder) {
         return true;
     }
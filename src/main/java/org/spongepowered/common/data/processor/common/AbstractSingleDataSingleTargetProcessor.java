@@ -41,6 +41,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.ValueProcessor;
 import org.spongepowered.common.data.util.DataUtil;
+import org.spongepowered.common.data.util.ProcessorDispatchTable;
 
 import java.util.Optional;
 
@@ -70,6 +71,12 @@ public boolean supports(DataHolder dataHolder) {
         return this.holderClass.isInstance(dataHolder) && supports((Holder) dataHolder);
     }
 
+    @Override
+    public boolean supportsType(Class<?> holderType) {
+        return this.holderClass.isAssignableFrom(holderType)
+               || !ProcessorDispatchTable.usesSupportsOf(this, AbstractSingleDataSingleTargetProcessor.class, DataHolder.class);
+    }
+
     @Override
     public boolean supports(EntityType entityType) {
         return this.holderClass.isAssignableFrom(entityType.getEntityClass());
@@ -34,6 +34,7 @@
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.ValueProcessor;
+import org.spongepowered.common.data.util.ProcessorDispatchTable;
 
 import java.util.Optional;
 
@@ -72,6 +73,12 @@ public boolean supports(ValueContainer<?> container) {
         return this.containerClass.isInstance(container) && supports((C) container);
     }
 
+    @Override
+    public boolean supportsType(Class<?> containerType) {
+        return this.containerClass.isAssignableFrom(containerType)
+               || !ProcessorDispatchTable.usesSupportsOf(this, AbstractSpongeValueProcessor.class, ValueContainer.class);
+    }
+
 
     @Override
     public final Key<? extends BaseValue<E>> getKey() {
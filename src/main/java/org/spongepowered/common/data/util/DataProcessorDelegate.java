@@ -46,6 +46,7 @@
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final ProcessorDispatchTable<Tuple<DataProcessor<M, I>, Timing>> dispatchTable;
 
     public DataProcessorDelegate(final ImmutableList<DataProcessor<M, I>> processors) {
         final ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -53,6 +54,7 @@ public DataProcessorDelegate(final ImmutableList<DataProcessor<M, I>> processors
             builder.add(new Tuple<>(processor, SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processor.getClass().getCanonicalName())));
         }
         this.processors = builder.build();
+        this.dispatchTable = new ProcessorDispatchTable<>(this.processors, (tuple, holderType) -> tuple.getFirst().supportsType(holderType));
     }
 
     @Override
@@ -64,7 +66,7 @@ public int getPriority() {
     public boolean supports(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.dispatchTable.getCandidates(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -102,7 +104,7 @@ public boolean supports(final EntityType entityType) {
     public Optional<M> from(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.dispatchTable.getCandidates(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -127,7 +129,7 @@ public Optional<M> from(final DataHolder dataHolder) {
     public Optional<M> fill(final DataHolder dataHolder, final M manipulator, final MergeFunction overlap) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.dispatchTable.getCandidates(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -171,7 +173,7 @@ public Optional<M> fill(final DataContainer container, final M m) {
     public DataTransactionResult set(final DataHolder dataHolder, final M manipulator, final MergeFunction function) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.dispatchTable.getCandidates(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -215,7 +217,7 @@ public Optional<I> with(final Key<? extends BaseValue<?>> key, final Object valu
     public DataTransactionResult remove(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.dispatchTable.getCandidates(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -240,7 +242,7 @@ public DataTransactionResult remove(final DataHolder dataHolder) {
     public Optional<M> createFrom(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.dispatchTable.getCandidates(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Caches, per concrete holder type, which processors of a delegate can
+ * support holders of that type at all. The candidates keep the priority
+ * order of the delegate and their {@code supports} checks are still called,
+ * processors are only skipped if they reject the type as a whole.
+ *
+ * @param <T> The type of the processor entries
+ */
+public final class ProcessorDispatchTable<T> {
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private final ImmutableList<T> processors;
+    private final BiPredicate<T, Class<?>> typeFilter;
+    private final Map<Class<?>, ImmutableList<T>> candidates = new ConcurrentHashMap<>();
+
+    public ProcessorDispatchTable(final ImmutableList<T> processors, final BiPredicate<T, Class<?>> typeFilter) {
+        this.processors = processors;
+        this.typeFilter = typeFilter;
+    }
+
+    public ImmutableList<T> getCandidates(final Class<?> type) {
+        if (this.processors.size() <= 1) {
+            return this.processors;
+        }
+        final ImmutableList<T> cached = this.candidates.get(type);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        final ImmutableList.Builder<T> builder = ImmutableList.builder();
+        for (final T processor : this.processors) {
+            if (this.typeFilter.test(processor, type)) {
+                builder.add(processor);
+            }
+        }
+        final ImmutableList<T> candidates = builder.build();
+        this.candidates.put(type, candidates);
+        return candidates;
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Checks whether the {@code supports} method of the processor for the
+     * given parameter type is the one declared by the base class, meaning
+     * the type check of the base class can be relied on.
+     *
+     * @param processor The processor
+     * @param base The base class of the processor
+     * @param parameterType The parameter type of the supports method
+     * @return True if the supports method isn't overridden
+     */
+    public static boolean usesSupportsOf(final Object processor, final Class<?> base, final Class<?> parameterType) {
+        try {
+            return processor.getClass().getMethod("supports", parameterType).getDeclaringClass() == base;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
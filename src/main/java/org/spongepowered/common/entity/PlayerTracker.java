@@ -28,6 +28,12 @@
 
 public class PlayerTracker {
 
+    /**
+     * The packed value of a position without an owner or notifier, see
+     * {@link #pack(int, int)}.
+     */
+    public static final long NONE = -1L;
+
     public enum Type {
         OWNER(Constants.Sponge.SPONGE_ENTITY_CREATOR),
         NOTIFIER(Constants.Sponge.SPONGE_ENTITY_NOTIFIER);
@@ -60,4 +66,25 @@ public PlayerTracker(int index, Type type) {
     public void setNotifier(int notifierIndex) {
         this.notifierIndex = notifierIndex;
     }
+
+    /**
+     * Packs an owner and notifier index into a single long, with the owner in
+     * the upper and the notifier in the lower 32 bits. Packing two absent
+     * indices results in {@link #NONE}.
+     *
+     * @param ownerIndex The owner index, or -1
+     * @param notifierIndex The notifier index, or -1
+     * @return The packed indices
+     */
+    public static long pack(int ownerIndex, int notifierIndex) {
+        return (long) ownerIndex << 32 | notifierIndex & 0xFFFFFFFFL;
+    }
+
+    public static int unpackOwner(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int unpackNotifier(long packed) {
+        return (int) packed;
+    }
 }
@@ -30,17 +30,23 @@
 import com.google.common.cache.LoadingCache;
 import com.google.common.reflect.TypeToken;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -51,10 +57,21 @@ public class ListenerChecker {
     private static final boolean ALL_TRUE = Boolean.parseBoolean(System.getProperty("sponge.shouldFireAll", "").toLowerCase());
     private static final boolean DEBUG = Boolean.parseBoolean(System.getProperty("sponge.debugShouldFire", "").toLowerCase());
 
+    private static final boolean REPORT = Boolean.parseBoolean(System.getProperty("sponge.reportLiveEvents", "").toLowerCase());
+
     private final Class<?> clazz;
     private Map<String, FieldData> fields = new HashMap<>();
     private Map<Class<?>, FieldData> fieldClassMap = new IdentityHashMap<>();
 
+    // Every event type which can be created by the SpongeEventFactory, including
+    // all their event supertypes, mapped to their index in the listener bit set.
+    // Built once and never modified afterwards.
+    private final Map<Class<?>, Integer> eventIndices = new IdentityHashMap<>();
+    private final Class<?>[] eventTypes;
+    private final int[] listenerCounts;
+    // The bit set of event types for which a listener may be called
+    private final long[] liveEvents;
+
 
     private static String getName(Class<?> clazz) {
         // Properly account for inner classes. Class#getName uses a $
@@ -74,6 +91,18 @@ public <T> void unregisterListenerFor(Class<T> eventClass) {
 
     public ListenerChecker(Class<?> clazz) {
         this.clazz = clazz;
+        final List<Class<?>> eventTypes = new ArrayList<>();
+        for (Method eventMethod: SpongeEventFactory.class.getMethods()) {
+            for (Class<?> eventType: TypeToken.of(eventMethod.getReturnType()).getTypes().rawTypes()) {
+                if (Event.class.isAssignableFrom(eventType) && !this.eventIndices.containsKey(eventType)) {
+                    this.eventIndices.put(eventType, eventTypes.size());
+                    eventTypes.add(eventType);
+                }
+            }
+        }
+        this.eventTypes = eventTypes.toArray(new Class<?>[0]);
+        this.listenerCounts = new int[this.eventTypes.length];
+        this.liveEvents = new long[(this.eventTypes.length + Long.SIZE - 1) / Long.SIZE];
         for (Field field: this.clazz.getDeclaredFields()) {
             if (Modifier.isStatic(field.getModifiers()) && Modifier.isPublic(field.getModifiers())) {
                 FieldData data = new FieldData(field);
@@ -136,6 +165,14 @@ public <T> void updateFields(Class<? super T> eventClass, boolean registering) {
 
         Set<Class<? super T>> superTypes = TypeToken.of(eventClass).getTypes().rawTypes().stream().filter(c -> c != eventClass).collect(Collectors.toCollection(ReferenceOpenHashSet::new));
 
+        // The listener bit set follows the same rules as the fields below
+        for (int index = 0; index < this.eventTypes.length; index++) {
+            final Class<?> eventType = this.eventTypes[index];
+            if (eventClass.isAssignableFrom(eventType) || superTypes.contains(eventType)) {
+                this.updateListenerCount(index, registering);
+            }
+        }
+
         for (Map.Entry<Class<?>, FieldData> entry: this.fieldClassMap.entrySet()) {
 
             // We check for two things:
@@ -169,6 +206,59 @@ public <T> void updateFields(Class<? super T> eventClass, boolean registering) {
         }
     }
 
+    private void updateListenerCount(int index, boolean increment) {
+        final int count = this.listenerCounts[index] += increment ? 1 : -1;
+        if (count > 0) {
+            this.liveEvents[index / Long.SIZE] |= 1L << index;
+        } else {
+            this.liveEvents[index / Long.SIZE] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Gets whether a listener may be called for an event of the given type,
+     * following the same rules as the {@link ShouldFire} flags. This covers
+     * every event type that can be created through the
+     * {@link SpongeEventFactory}, unknown types are assumed to be listened to.
+     *
+     * <p>This should be checked before creating anything that is only needed
+     * to post the event, like cause frames or snapshots.</p>
+     *
+     * @param eventClass The event type, or a supertype of the event
+     * @return True if the event may have listeners
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        if (ALL_TRUE) {
+            return true;
+        }
+        final Integer index = this.eventIndices.get(eventClass);
+        return index == null || (this.liveEvents[index / Long.SIZE] & (1L << index)) != 0;
+    }
+
+    /**
+     * Logs which event types currently have listeners. The complete list is
+     * only printed if the {@code sponge.reportLiveEvents} property is set.
+     *
+     * @param logger The logger
+     */
+    public void reportLiveEvents(Logger logger) {
+        final List<String> live = new ArrayList<>();
+        for (int index = 0; index < this.eventTypes.length; index++) {
+            if ((this.liveEvents[index / Long.SIZE] & (1L << index)) != 0) {
+                live.add(this.eventTypes[index].getName().substring(this.eventTypes[index].getName().lastIndexOf('.') + 1).replace('$', '.'));
+            }
+        }
+        logger.info("{} of {} event types have listeners registered.", live.size(), this.eventTypes.length);
+        if (REPORT) {
+            Collections.sort(live);
+            final PrettyPrinter printer = new PrettyPrinter(60).add("Live Events").centre().hr();
+            for (String event : live) {
+                printer.add(" - %s", event);
+            }
+            printer.log(logger, Level.INFO);
+        }
+    }
+
     private static class FieldData {
         Field field;
         int listenerCount = 0;
@@ -36,9 +36,11 @@
 import org.spongepowered.api.plugin.PluginContainer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.function.Predicate;
 
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
@@ -102,13 +104,26 @@ public int compareTo(RegisteredListener<?> handler) {
         return this.order.compareTo(handler.order);
     }
 
+    /**
+     * An immutable, ordered snapshot of the listeners of a single event type.
+     * Registering or unregistering a listener creates a patched copy rather
+     * than modifying the snapshot, so it can be read without locking.
+     */
     public static final class Cache {
 
-        private final List<RegisteredListener<?>> listeners;
+        static final Cache EMPTY = new Cache(new RegisteredListener<?>[0]);
+
+        private final RegisteredListener<?>[] listeners;
+        private final List<RegisteredListener<?>> listenerList;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
 
         Cache(List<RegisteredListener<?>> listeners) {
+            this(listeners.toArray(new RegisteredListener<?>[0]));
+        }
+
+        private Cache(RegisteredListener<?>[] listeners) {
             this.listeners = listeners;
+            this.listenerList = Collections.unmodifiableList(Arrays.asList(listeners));
 
             this.listenersByOrder = new EnumMap<>(Order.class);
             for (RegisteredListener<?> handler : listeners) {
@@ -117,10 +132,61 @@ public static final class Cache {
             }
         }
 
-        public List<RegisteredListener<?>> getListeners() {
+        /**
+         * Creates a copy of this cache with the given listener inserted after
+         * all the listeners of the same or an earlier order.
+         *
+         * @param listener The listener to add
+         * @return The patched cache
+         */
+        Cache with(RegisteredListener<?> listener) {
+            int index = this.listeners.length;
+            while (index > 0 && this.listeners[index - 1].compareTo(listener) > 0) {
+                index--;
+            }
+            final RegisteredListener<?>[] listeners = new RegisteredListener<?>[this.listeners.length + 1];
+            System.arraycopy(this.listeners, 0, listeners, 0, index);
+            listeners[index] = listener;
+            System.arraycopy(this.listeners, index, listeners, index + 1, this.listeners.length - index);
+            return new Cache(listeners);
+        }
+
+        /**
+         * Creates a copy of this cache without the listeners that match the
+         * given predicate.
+         *
+         * @param filter The predicate of the listeners to remove
+         * @return The patched cache, or this cache if no listener was removed
+         */
+        Cache without(Predicate<RegisteredListener<?>> filter) {
+            RegisteredListener<?>[] listeners = null;
+            int size = 0;
+            for (int i = 0; i < this.listeners.length; i++) {
+                final RegisteredListener<?> listener = this.listeners[i];
+                if (filter.test(listener)) {
+                    if (listeners == null) {
+                        listeners = new RegisteredListener<?>[this.listeners.length - 1];
+                        System.arraycopy(this.listeners, 0, listeners, 0, i);
+                        size = i;
+                    }
+                } else if (listeners != null) {
+                    listeners[size++] = listener;
+                }
+            }
+            if (listeners == null) {
+                return this;
+            }
+            return new Cache(size == listeners.length ? listeners : Arrays.copyOf(listeners, size));
+        }
+
+        RegisteredListener<?>[] getListenerArray() {
             return this.listeners;
         }
 
+        public List<RegisteredListener<?>> getListeners() {
+            return this.listenerList;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             final List<RegisteredListener<?>> list = this.listenersByOrder.get(checkNotNull(order, "order"));
             if (list == null) {
@@ -92,6 +92,7 @@
 import org.spongepowered.api.entity.projectile.source.ProjectileSource;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventManager;
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.block.ChangeBlockEvent;
 import org.spongepowered.api.event.block.CollideBlockEvent;
@@ -201,6 +202,19 @@
 
 public class SpongeCommonEventFactory {
 
+    /**
+     * Gets whether an event of the given type may have any listeners. Entry
+     * points check this before building cause frames, snapshots or the event
+     * itself, as long as skipping the event does not change the outcome.
+     *
+     * @param eventType The event type
+     * @return True if the event may have listeners
+     */
+    private static boolean hasListeners(final Class<? extends Event> eventType) {
+        final EventManager eventManager = Sponge.getEventManager();
+        return !(eventManager instanceof SpongeEventManager) || ((SpongeEventManager) eventManager).checker.hasListeners(eventType);
+    }
+
     public static void callDropItemDispense(final List<EntityItem> items, final PhaseContext<?> context) {
         try (final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
             frame.addContext(EventContextKeys.SPAWN_TYPE, SpawnTypes.DISPENSE);
@@ -343,6 +357,9 @@ public static boolean callSpawnEntityCustom(final List<Entity> entities, final P
 
 
     public static boolean callPlayerChangeInventoryPickupPreEvent(final EntityPlayer player, final EntityItem itemToPickup, final int pickupDelay) {
+        if (!hasListeners(ChangeInventoryEvent.Pickup.Pre.class)) {
+            return true;
+        }
         final ItemStack stack = itemToPickup.getItem();
         Sponge.getCauseStackManager().pushCause(player);
         final ItemStackSnapshot snapshot = ItemStackUtil.snapshotOf(stack);
@@ -393,6 +410,10 @@ public static boolean callPlayerChangeInventoryPickupEvent(final EntityPlayer pl
         if (inventory.bridge$getCapturedSlotTransactions().isEmpty()) {
             return true;
         }
+        if (!hasListeners(ChangeInventoryEvent.Pickup.class)) {
+            inventory.bridge$getCapturedSlotTransactions().clear();
+            return true;
+        }
         Sponge.getCauseStackManager().pushCause(player);
         final ChangeInventoryEvent.Pickup event = SpongeEventFactory.createChangeInventoryEventPickup(Sponge.getCauseStackManager().getCurrentCause(), (Inventory) player.inventoryContainer,
                 inventory.bridge$getCapturedSlotTransactions());
@@ -404,6 +425,9 @@ public static boolean callPlayerChangeInventoryPickupEvent(final EntityPlayer pl
     }
 
     public static ItemStack callInventoryPickupEvent(final IInventory inventory, final EntityItem item, final ItemStack stack) {
+        if (!hasListeners(ChangeInventoryEvent.Pickup.Pre.class) && !hasListeners(ChangeInventoryEvent.Pickup.class)) {
+            return TileEntityHopper.putStackInInventoryAllSlots(null, inventory, stack, null);
+        }
         try (final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
             frame.pushCause(inventory);
 
@@ -476,6 +500,9 @@ private static List<SlotTransaction> generateTransactions(@Nullable final Invent
     }
 
     public static boolean callInventoryPickupEvent(final IInventory inventory, final ItemStack[] prevInventory) {
+        if (!hasListeners(ChangeInventoryEvent.Pickup.class)) {
+            return true;
+        }
         final Inventory spongeInventory = InventoryUtil.toInventory(inventory, null);
         final List<SlotTransaction> trans = generateTransactions(spongeInventory, inventory, prevInventory);
         if (trans.isEmpty()) {
@@ -661,6 +688,9 @@ public static ChangeBlockEvent.Break callChangeBlockEventModifyLiquidBreak(
     public static boolean handlePistonEvent(
             final WorldServerBridge world, final WorldServer.ServerBlockEventList list, final Object obj, final BlockPos pos, final Block blockIn,
             final int eventId, final int eventParam) {
+        if (!hasListeners(ChangeBlockEvent.Pre.class)) {
+            return false;
+        }
         final boolean extending = (eventId == 0);
         final IBlockState blockstate = ((net.minecraft.world.World) world).getBlockState(pos);
         final EnumFacing direction = blockstate.getValue(BlockDirectional.FACING);
@@ -1081,6 +1111,10 @@ public static boolean handleCollideBlockEvent(final Block block, final net.minec
         if (pos.getY() <= 0) {
             return false;
         }
+        if (!hasListeners(CollideBlockEvent.class)) {
+            trackCollidedBlock(block, world, pos, entity);
+            return false;
+        }
 
         try (final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
             frame.pushCause( entity);
@@ -1095,23 +1129,28 @@ public static boolean handleCollideBlockEvent(final Block block, final net.minec
                     new Location<>((World) world, VecHelper.toVector3d(pos)), direction);
             final boolean cancelled = SpongeImpl.postEvent(event);
             if (!cancelled) {
-                final EntityBridge spongeEntity = (EntityBridge) entity;
-                if (!pos.equals(spongeEntity.bridge$getLastCollidedBlockPos())) {
-                    final PhaseContext<?> context = PhaseTracker.getInstance().getCurrentContext();
-                    context.applyNotifierIfAvailable(notifier -> {
-                        ChunkBridge spongeChunk = ((ActiveChunkReferantBridge) entity).bridge$getActiveChunk();
-                        if (spongeChunk == null) {
-                            spongeChunk = (ChunkBridge) world.getChunk(pos);
-                        }
-                        spongeChunk.bridge$addTrackedBlockPosition(block, pos, notifier, PlayerTracker.Type.NOTIFIER);
-
-                    });
-                }
+                trackCollidedBlock(block, world, pos, entity);
             }
             return cancelled;
         }
     }
 
+    private static void trackCollidedBlock(final Block block, final net.minecraft.world.World world, final BlockPos pos,
+            final net.minecraft.entity.Entity entity) {
+        final EntityBridge spongeEntity = (EntityBridge) entity;
+        if (!pos.equals(spongeEntity.bridge$getLastCollidedBlockPos())) {
+            final PhaseContext<?> context = PhaseTracker.getInstance().getCurrentContext();
+            context.applyNotifierIfAvailable(notifier -> {
+                ChunkBridge spongeChunk = ((ActiveChunkReferantBridge) entity).bridge$getActiveChunk();
+                if (spongeChunk == null) {
+                    spongeChunk = (ChunkBridge) world.getChunk(pos);
+                }
+                spongeChunk.bridge$addTrackedBlockPosition(block, pos, notifier, PlayerTracker.Type.NOTIFIER);
+
+            });
+        }
+    }
+
     public static boolean handleCollideImpactEvent(final net.minecraft.entity.Entity projectile, @Nullable final ProjectileSource projectileSource,
             final RayTraceResult movingObjectPosition) {
         final RayTraceResult.Type movingObjectType = movingObjectPosition.typeOfHit;
@@ -1194,6 +1233,9 @@ public static ClickInventoryEvent.Creative callCreativeClickInventoryEvent(final
     }
 
     public static boolean callInteractInventoryOpenEvent(final EntityPlayerMP player) {
+        if (!hasListeners(InteractInventoryEvent.Open.class)) {
+            return true;
+        }
         final ItemStackSnapshot newCursor =
                 player.inventory.getItemStack().isEmpty() ? ItemStackSnapshot.NONE
                         : ((org.spongepowered.api.item.inventory.ItemStack) player.inventory.getItemStack()).createSnapshot();
@@ -1422,6 +1464,10 @@ public static boolean callTransferPost(@Nullable final TrackedInventoryBridge ca
         if (captureSource == null || source == null || destination == null) {
             return true;
         }
+        if (!hasListeners(ChangeInventoryEvent.Transfer.Post.class)) {
+            captureSource.bridge$getCapturedSlotTransactions().clear();
+            return false;
+        }
         Sponge.getCauseStackManager().pushCause(source);
         final ChangeInventoryEvent.Transfer.Post event =
                 SpongeEventFactory.createChangeInventoryEventTransferPost(Sponge.getCauseStackManager().getCurrentCause(),
@@ -1617,6 +1663,9 @@ public static ChangeEntityEquipmentEvent callChangeEntityEquipmentEvent(
 
 
     public static int callEnchantEventLevelRequirement(ContainerEnchantment container, int seed, int option, int power, ItemStack itemStack, int levelRequirement) {
+        if (!hasListeners(EnchantItemEvent.CalculateLevelRequirement.class)) {
+            return levelRequirement;
+        }
         org.spongepowered.api.item.inventory.Container enchantContainer = ContainerUtil.fromNative(container);
 
         EnchantItemEvent.CalculateLevelRequirement event =
@@ -1630,6 +1679,9 @@ public static int callEnchantEventLevelRequirement(ContainerEnchantment containe
 
     public static List<EnchantmentData> callEnchantEventEnchantmentList(ContainerEnchantment container,
             int seed, ItemStack itemStack, int option, int level, List<EnchantmentData> list) {
+        if (!hasListeners(EnchantItemEvent.CalculateEnchantment.class)) {
+            return list;
+        }
 
         List<Enchantment> enchList = Collections.unmodifiableList(SpongeRandomEnchantmentListBuilder.fromNative(list));
 
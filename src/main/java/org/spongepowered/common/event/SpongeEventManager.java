@@ -31,8 +31,6 @@
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import org.spongepowered.common.event.tracking.phase.plugin.EventListenerPhaseContext;
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -49,12 +47,14 @@
 import org.spongepowered.api.event.GenericEvent;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.impl.AbstractEvent;
 import org.spongepowered.api.event.item.inventory.InteractInventoryEvent;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.filter.CauseIndex;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 import org.spongepowered.common.event.tracking.PhaseContext;
@@ -65,12 +65,10 @@
 import org.spongepowered.common.item.inventory.custom.CustomInventoryListener;
 import org.spongepowered.common.util.TypeTokenHelper;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
@@ -81,7 +79,6 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -102,40 +99,21 @@ public class SpongeEventManager implements EventManager {
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
     /**
-     * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * The baked handlers of every non generic event class that was posted,
+     * for quick event posting. Entries are replaced by patched copies when
+     * handlers are added or removed, they are never modified in place.
      */
-    protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
+    private final ConcurrentHashMap<Class<?>, RegisteredListener.Cache> handlersByClass = new ConcurrentHashMap<>(150, 0.75f, 1);
+
+    /**
+     * The baked handlers of every generic event type that was posted.
+     */
+    private final ConcurrentHashMap<EventType<?>, RegisteredListener.Cache> handlersByGenericType = new ConcurrentHashMap<>(32, 0.75f, 1);
 
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            Object innerCacheValue = innerCache.get(this.handlersCache);
-            Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType) {
@@ -145,19 +123,10 @@ <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType)
         synchronized (this.lock) {
             for (Class<? super T> type : types) {
                 if (Event.class.isAssignableFrom(type)) {
-                    final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
-                    if (GenericEvent.class.isAssignableFrom(type)) {
-                        final TypeToken<?> genericType = eventType.getGenericType();
-                        checkNotNull(genericType);
-                        for (RegisteredListener<?> listener : listeners) {
-                            final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
-                            checkNotNull(genericType1);
-                            if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
-                                handlers.add(listener);
-                            }
+                    for (RegisteredListener<?> listener : this.handlersByEvent.get(type)) {
+                        if (isApplicable(eventType, listener)) {
+                            handlers.add(listener);
                         }
-                    } else {
-                        handlers.addAll(listeners);
                     }
                 }
             }
@@ -167,6 +136,28 @@ <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType)
         return new RegisteredListener.Cache(handlers);
     }
 
+    /**
+     * Gets whether the listener should receive events of the given type.
+     *
+     * @param eventType The type of the posted event
+     * @param listener The listener
+     * @return True if the listener applies to the event type
+     */
+    private static boolean isApplicable(EventType<?> eventType, RegisteredListener<?> listener) {
+        final Class<?> listenerType = listener.getEventType().getType();
+        if (!listenerType.isAssignableFrom(eventType.getType())) {
+            return false;
+        }
+        if (GenericEvent.class.isAssignableFrom(listenerType)) {
+            final TypeToken<?> genericType = eventType.getGenericType();
+            checkNotNull(genericType);
+            final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
+            checkNotNull(genericType1);
+            return TypeTokenHelper.isAssignable(genericType, genericType1);
+        }
+        return true;
+    }
+
     @Nullable
     private static String getHandlerErrorOrNull(Method method) {
         int modifiers = method.getModifiers();
@@ -202,21 +193,18 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
-
         synchronized (this.lock) {
             for (RegisteredListener<?> handler : handlers) {
                 final Class<?> raw = handler.getEventType().getType();
                 if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
                     this.checker.registerListenerFor(raw);
+                    // Only the event types the handler applies to are patched,
+                    // the snapshots of all other event types remain valid.
+                    this.handlersByClass.replaceAll((type, cache) -> raw.isAssignableFrom(type) ? cache.with(handler) : cache);
+                    this.handlersByGenericType.replaceAll((type, cache) -> isApplicable(type, handler) ? cache.with(handler) : cache);
                 }
             }
         }
-
-        if (changed) {
-            this.handlersCache.invalidateAll();
-        }
     }
 
     @SuppressWarnings("unchecked")
@@ -348,9 +336,8 @@ public <T extends Event> void registerListener(Object plugin, TypeToken<T> event
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            boolean changed = false;
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
@@ -362,10 +349,11 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
                     this.registeredListeners.remove(handler.getHandle());
                 }
             }
-        }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (changed) {
+                this.handlersByClass.replaceAll((type, cache) -> cache.without(unregister));
+                this.handlersByGenericType.replaceAll((type, cache) -> cache.without(unregister));
+            }
         }
     }
 
@@ -390,60 +378,79 @@ public void unregisterPluginListeners(Object pluginObj) {
     protected RegisteredListener.Cache getHandlerCache(Event event) {
         checkNotNull(event, "event");
         final Class<? extends Event> eventClass = event.getClass();
-        final EventType<? extends Event> eventType;
         if (event instanceof GenericEvent) {
-            eventType = new EventType(eventClass, checkNotNull(((GenericEvent) event).getGenericType()));
-        } else {
-            eventType = new EventType(eventClass, null);
+            final EventType<? extends Event> eventType = new EventType(eventClass, checkNotNull(((GenericEvent) event).getGenericType()));
+            final RegisteredListener.Cache cache = this.handlersByGenericType.get(eventType);
+            return cache != null ? cache : this.bakeAndPut(this.handlersByGenericType, eventType, eventType);
+        }
+        final RegisteredListener.Cache cache = this.handlersByClass.get(eventClass);
+        return cache != null ? cache : this.bakeAndPut(this.handlersByClass, eventClass, new EventType(eventClass, null));
+    }
+
+    private <K> RegisteredListener.Cache bakeAndPut(Map<K, RegisteredListener.Cache> handlers, K key, EventType<?> eventType) {
+        // Baking while holding the lock guarantees that no registration
+        // happens between reading the handlers and publishing the snapshot.
+        synchronized (this.lock) {
+            RegisteredListener.Cache cache = handlers.get(key);
+            if (cache == null) {
+                cache = this.bakeHandlers(eventType);
+                handlers.put(key, cache);
+            }
+            return cache;
         }
-        return this.handlersCache.get(eventType);
     }
 
     @SuppressWarnings("unchecked")
-    private boolean post(Event event, List<RegisteredListener<?>> handlers) {
-        if (!Sponge.getServer().isMainThread()) {
-            // If this event is being posted asynchronously then we don't want
-            // to do any timing or cause stack changes
+    private boolean post(Event event, RegisteredListener<?>[] handlers) {
+        final Cause cause = event.getCause();
+        CauseIndex.acquire(cause);
+        try {
+            if (!Sponge.getServer().isMainThread()) {
+                // If this event is being posted asynchronously then we don't want
+                // to do any timing or cause stack changes
+                for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+                    try {
+                        if (event instanceof AbstractEvent) {
+                            ((AbstractEvent) event).currentOrder = handler.getOrder();
+                        }
+                        handler.handle(event);
+                    } catch (Throwable e) {
+                        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+                    }
+                }
+                if (event instanceof AbstractEvent) {
+                    ((AbstractEvent) event).currentOrder = null;
+                }
+                return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+            }
+            TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
             for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-                try {
+                try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
+                     final PhaseContext<?> context = createPluginContext(handler);
+                     final Timing timings = handler.getTimingsHandler()) {
+                    frame.pushCause(handler.getPlugin());
+                    if (context != null) {
+                        context.buildAndSwitch();
+                    }
+                    timings.startTimingIfSync();
                     if (event instanceof AbstractEvent) {
                         ((AbstractEvent) event).currentOrder = handler.getOrder();
                     }
                     handler.handle(event);
                 } catch (Throwable e) {
-                    SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+                    // TODO - add some better handling, especially since we have the stakc frame and phase context to boot
+                    final PrettyPrinter printer = new PrettyPrinter(60).add("Error with event listener handling").centre().hr();
+                    printer.add("A listener threw an exception while being handled, this is usually not a sponge bug.");
+                    this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
                 }
             }
             if (event instanceof AbstractEvent) {
                 ((AbstractEvent) event).currentOrder = null;
             }
             return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        } finally {
+            CauseIndex.release(cause);
         }
-        TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
-        for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-            try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
-                 final PhaseContext<?> context = createPluginContext(handler);
-                 final Timing timings = handler.getTimingsHandler()) {
-                frame.pushCause(handler.getPlugin());
-                if (context != null) {
-                    context.buildAndSwitch();
-                }
-                timings.startTimingIfSync();
-                if (event instanceof AbstractEvent) {
-                    ((AbstractEvent) event).currentOrder = handler.getOrder();
-                }
-                handler.handle(event);
-            } catch (Throwable e) {
-                // TODO - add some better handling, especially since we have the stakc frame and phase context to boot
-                final PrettyPrinter printer = new PrettyPrinter(60).add("Error with event listener handling").centre().hr();
-                printer.add("A listener threw an exception while being handled, this is usually not a sponge bug.");
-                this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
-            }
-        }
-        if (event instanceof AbstractEvent) {
-            ((AbstractEvent) event).currentOrder = null;
-        }
-        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
     @Nullable
@@ -477,12 +484,12 @@ public boolean postServer(Event event) {
     }
 
     public boolean post(Event event, boolean allowClientThread) {
-        return post(event, getHandlerCache(event).getListeners());
+        return post(event, getHandlerCache(event).getListenerArray());
     }
 
     public boolean post(Event event, PluginContainer plugin) {
         return post(event, getHandlerCache(event).getListeners().stream()
                 .filter(l -> l.getPlugin().equals(plugin))
-                .collect(Collectors.toList()));
+                .toArray(RegisteredListener<?>[]::new));
     }
 }
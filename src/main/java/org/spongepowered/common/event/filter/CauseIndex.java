@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.filter;
+
+import org.spongepowered.api.event.cause.Cause;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * A lazily built index of the objects in a {@link Cause} by type, shared by
+ * the generated cause filters of all listeners an event is posted to.
+ *
+ * <p>{@link #first} and {@link #last} search the cause from the respective
+ * end and stop at the first match, only {@link #allOf} builds a list. Each
+ * result is kept for further lookups of that type for the same cause. As
+ * {@link Cause} is immutable, the indices are kept per thread and per cause,
+ * so an event posted by a listener does not discard the index of the event
+ * that is still being posted.</p>
+ *
+ * <p>Indices are only kept while an event is being posted between
+ * {@link #acquire(Cause)} and {@link #release(Cause)}. Listeners called
+ * outside of a post, for example by events handled directly by a platform,
+ * search the cause without caching anything, and all indices of a thread
+ * are dropped once its outermost post is done.</p>
+ */
+public final class CauseIndex {
+
+    private static final ThreadLocal<Scope> SCOPE = ThreadLocal.withInitial(Scope::new);
+
+    // The amount of posts of events with this cause that are in progress
+    private int posts;
+    @Nullable private Map<Class<?>, Optional<?>> first;
+    @Nullable private Map<Class<?>, Optional<?>> last;
+    @Nullable private Map<Class<?>, List<?>> all;
+
+    private CauseIndex() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Optional<?> first(Cause cause, Class<?> type) {
+        final CauseIndex index = get(cause);
+        if (index == null) {
+            return cause.first((Class<Object>) type);
+        }
+        if (index.first == null) {
+            index.first = new IdentityHashMap<>();
+        }
+        Optional<?> first = index.first.get(type);
+        if (first == null) {
+            first = cause.first((Class<Object>) type);
+            index.first.put(type, first);
+        }
+        return first;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Optional<?> last(Cause cause, Class<?> type) {
+        final CauseIndex index = get(cause);
+        if (index == null) {
+            return cause.last((Class<Object>) type);
+        }
+        if (index.last == null) {
+            index.last = new IdentityHashMap<>();
+        }
+        Optional<?> last = index.last.get(type);
+        if (last == null) {
+            last = cause.last((Class<Object>) type);
+            index.last.put(type, last);
+        }
+        return last;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<?> allOf(Cause cause, Class<?> type) {
+        final CauseIndex index = get(cause);
+        if (index == null) {
+            return cause.allOf((Class<Object>) type);
+        }
+        if (index.all == null) {
+            index.all = new IdentityHashMap<>();
+        }
+        List<?> all = index.all.get(type);
+        if (all == null) {
+            all = cause.allOf((Class<Object>) type);
+            index.all.put(type, all);
+        }
+        return all;
+    }
+
+    /**
+     * Marks an event with the given cause as being posted, so that indices
+     * may be kept until the matching {@link #release(Cause)}. An index is
+     * only created once a filter looks up the cause, counting the post that
+     * created it.
+     *
+     * @param cause The cause of the event being posted
+     */
+    public static void acquire(Cause cause) {
+        final Scope scope = SCOPE.get();
+        scope.depth++;
+        final CauseIndex index = scope.indices.get(cause);
+        if (index != null) {
+            index.posts++;
+        }
+    }
+
+    /**
+     * Releases the index of the given cause once no event with it is being
+     * posted anymore, so the objects of the cause are not retained after the
+     * event was posted. Must be called once for every
+     * {@link #acquire(Cause)}, even if posting the event failed.
+     *
+     * @param cause The cause of the posted event
+     */
+    public static void release(Cause cause) {
+        final Scope scope = SCOPE.get();
+        if (--scope.depth <= 0) {
+            scope.depth = 0;
+            scope.indices.clear();
+            return;
+        }
+        final CauseIndex index = scope.indices.get(cause);
+        if (index != null && --index.posts <= 0) {
+            scope.indices.remove(cause);
+        }
+    }
+
+    @Nullable
+    private static CauseIndex get(Cause cause) {
+        final Scope scope = SCOPE.get();
+        if (scope.depth == 0) {
+            return null;
+        }
+        CauseIndex index = scope.indices.get(cause);
+        if (index == null) {
+            index = new CauseIndex();
+            index.posts = 1;
+            scope.indices.put(cause, index);
+        }
+        return index;
+    }
+
+    private static final class Scope {
+
+        // The amount of posts in progress on this thread
+        int depth;
+        final Map<Cause, CauseIndex> indices = new IdentityHashMap<>();
+
+    }
+}
@@ -31,7 +31,9 @@
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.state.IBlockState;
@@ -57,30 +59,47 @@
 import org.spongepowered.common.world.BlockChange;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
 
+/**
+ * Captures the block changes of a phase, keyed by packed block positions.
+ *
+ * <p>Only the position keys and the per position lists of intermediary
+ * snapshots are allocation free, the lists are recycled between captures.
+ * {@link BlockTransaction}s and {@link SpongeBlockSnapshot}s are not pooled:
+ * transactions are linked into the phase and replayed through the proxy
+ * block access, and snapshots are handed to plugins in the transactions of
+ * {@link org.spongepowered.api.event.block.ChangeBlockEvent}s, which may
+ * keep them. Nothing is captured when no such event has listeners.</p>
+ */
 @SuppressWarnings("rawtypes")
 public final class MultiBlockCaptureSupplier implements ICaptureSupplier {
 
     public static final boolean PRINT_TRANSACTIONS = Boolean.parseBoolean(System.getProperty("sponge.debugBlockTransactions", "false"));
-
-    @Nullable private LinkedListMultimap<BlockPos, SpongeBlockSnapshot> multimap;
+    private static final int MAX_POOLED_INTERMEDIARIES = 256;
+
+    // Keyed by BlockPos#toLong, insertion ordered and open addressed, so a large amount of changes
+    // (explosions, pistons) do not allocate a map entry and a linked node for every captured snapshot.
+    @Nullable private Long2ObjectLinkedOpenHashMap<List<SpongeBlockSnapshot>> multimap;
+    // The intermediary lists of the multimap are only ever read by copying them (createTransaction and
+    // acceptAndClearIfNotEmpty), so they are recycled between captures instead of being reallocated
+    // for every position that changes more than once.
+    private final ArrayDeque<List<SpongeBlockSnapshot>> intermediaryPool = new ArrayDeque<>();
     @Nullable private ListMultimap<BlockPos, BlockEventData> scheduledEvents;
     @Nullable private List<SpongeBlockSnapshot> snapshots;
     @Nullable private LinkedHashMap<WorldServer, SpongeProxyBlockAccess.Proxy> processingWorlds;
-    @Nullable private Set<BlockPos> usedBlocks;
+    @Nullable private LongOpenHashSet usedBlocks;
     private int transactionIndex = -1; // These are used to keep track of which snapshot is being referred to as "most recent change"
     private int snapshotIndex = -1;    // so that we can appropriately cancel or discard or apply specific event transactions
     // We made BlockTransaction a Node and this is a pseudo LinkedList due to the nature of needing
@@ -117,17 +136,18 @@ public boolean put(final BlockSnapshot snapshot, final IBlockState newState) {
         final SpongeBlockSnapshot backingSnapshot = getBackingSnapshot(snapshot);
         // Get the key of the block position, we know this is a pure block pos and not a mutable one too.
         final BlockPos blockPos = backingSnapshot.getBlockPos();
+        final long packedPos = blockPos.toLong();
         if (this.usedBlocks == null) { // Means we have a first usage. All three fields are null
             // At this point, we know we have not captured anything and
             // can just populate the normal list.
-            this.usedBlocks = new HashSet<>();
+            this.usedBlocks = new LongOpenHashSet();
 
-            this.usedBlocks.add(blockPos);
+            this.usedBlocks.add(packedPos);
             this.addSnapshot(backingSnapshot);
             return true;
         }
         // This isn't our first rodeo...
-        final boolean added = this.usedBlocks.add(blockPos); // add it to the set of positions already used and use the boolean
+        final boolean added = this.usedBlocks.add(packedPos); // add it to the set of positions already used and use the boolean
         if (this.multimap != null) {
             // Means we've already got multiple changes per position once before.
             // Likewise, the used blocks, snapshots and multimap will NOT be null.
@@ -139,12 +159,12 @@ public boolean put(final BlockSnapshot snapshot, final IBlockState newState) {
                 this.addSnapshot(backingSnapshot);
             }
             // we don't have to
-            this.multimap.put(blockPos, backingSnapshot);
+            this.putIntermediary(packedPos, backingSnapshot);
 
             // If the position is duplicated, we need to update the original snapshot of the now incoming block change
             // in relation to the original state (so if a block was set to air, then afterwards set to piston head, it should go from break to modify)
             if (!added) {
-                associateBlockChangeForPosition(newState, blockPos);
+                associateBlockChangeForPosition(newState, packedPos);
             }
             return added;
         }
@@ -152,17 +172,17 @@ public boolean put(final BlockSnapshot snapshot, final IBlockState newState) {
         if (!added) {
             // Ok, means we have a multi change on a same position, now to use the multimap
             // for the first time.
-            this.multimap = LinkedListMultimap.create(); // LinkedListMultimap is insertion order respective, so the backed lists per
+            this.multimap = new Long2ObjectLinkedOpenHashMap<>(this.snapshots.size() + 1); // Linked maps are insertion order respective
             // Now to populate it from the previously used list of snapshots...
             for (final SpongeBlockSnapshot existing : this.snapshots) { // Ignore snapshots potentially being null, it will never be null at this point.
-                this.multimap.put(existing.getBlockPos(), existing);
+                this.putIntermediary(existing.getBlockPos().toLong(), existing);
             }
             // And place the snapshot into the multimap.
-            this.multimap.put(blockPos, backingSnapshot);
+            this.putIntermediary(packedPos, backingSnapshot);
             // Now we can re-evaluate the modified block position
             // If the position is duplicated, we need to update the original snapshot of the now incoming block change
             // in relation to the original state (so if a block was set to air, then afterwards set to piston head, it should go from break to modify)
-            associateBlockChangeForPosition(newState, blockPos);
+            associateBlockChangeForPosition(newState, packedPos);
             return false;
         }
         // At this point, we haven't captured the block position yet.
@@ -172,6 +192,32 @@ public boolean put(final BlockSnapshot snapshot, final IBlockState newState) {
         return true;
     }
 
+    private void putIntermediary(final long packedPos, final SpongeBlockSnapshot snapshot) {
+        List<SpongeBlockSnapshot> list = this.multimap.get(packedPos);
+        if (list == null) {
+            list = this.intermediaryPool.poll();
+            if (list == null) {
+                list = new ArrayList<>(2);
+            }
+            this.multimap.put(packedPos, list);
+        }
+        list.add(snapshot);
+    }
+
+    private void recycleIntermediary(final List<SpongeBlockSnapshot> list) {
+        list.clear();
+        if (this.intermediaryPool.size() < MAX_POOLED_INTERMEDIARIES) {
+            this.intermediaryPool.push(list);
+        }
+    }
+
+    private void clearMultimap() {
+        for (final List<SpongeBlockSnapshot> list : this.multimap.values()) {
+            this.recycleIntermediary(list);
+        }
+        this.multimap.clear();
+    }
+
     private void addSnapshot(final SpongeBlockSnapshot backingSnapshot) {
         if (this.snapshots == null) {
             this.snapshots = new ArrayList<>();
@@ -189,11 +235,11 @@ private void addSnapshot(final SpongeBlockSnapshot backingSnapshot) {
      * {@code null}, otherwise it will cause an NPE.</p>
      *
      * @param newState The incoming block change to compare to change
-     * @param blockPos The block position to get the backing list from the multimap
+     * @param packedPos The packed block position to get the backing list from the multimap
      */
     @SuppressWarnings("unchecked")
-    private void associateBlockChangeForPosition(final IBlockState newState, final BlockPos blockPos) {
-        final List<SpongeBlockSnapshot> list = this.multimap.get(blockPos);
+    private void associateBlockChangeForPosition(final IBlockState newState, final long packedPos) {
+        final List<SpongeBlockSnapshot> list = this.multimap.get(packedPos);
         if (list != null && !list.isEmpty()) {
             final SpongeBlockSnapshot originalSnapshot = list.get(0);
             final PhaseContext<?> peek = PhaseTracker.getInstance().getCurrentContext();
@@ -264,12 +310,13 @@ private void pruneSingle(final SpongeBlockSnapshot backingSnapshot, final BlockP
             // also means we didn't capture.... wtf is going on at this point?
             throw new IllegalStateException("Expected to remove a single block change that was supposed to be captured....");
         }
-        this.usedBlocks.remove(blockPos);
+        this.usedBlocks.remove(blockPos.toLong());
         this.snapshots.remove(backingSnapshot); // Should be the same snapshot used
     }
 
     private void pruneFromMulti(final SpongeBlockSnapshot backingSnapshot, final BlockPos blockPos) {
-        final List<SpongeBlockSnapshot> snapshots = this.multimap.get(blockPos);
+        final long packedPos = blockPos.toLong();
+        final List<SpongeBlockSnapshot> snapshots = this.multimap.get(packedPos);
         if (snapshots != null) {
             for (final Iterator<SpongeBlockSnapshot> iterator = snapshots.iterator(); iterator.hasNext(); ) {
                 final SpongeBlockSnapshot next = iterator.next();
@@ -280,14 +327,14 @@ private void pruneFromMulti(final SpongeBlockSnapshot backingSnapshot, final Blo
             }
             // If the list view is now empty, we need to prune the position from the multimap
             if (snapshots.isEmpty()) {
-                this.multimap.removeAll(blockPos);
+                this.recycleIntermediary(this.multimap.remove(packedPos));
                 // And then prune the snapshot from the list of firsts
                 for (final Iterator<SpongeBlockSnapshot> firsts = this.snapshots.iterator(); firsts.hasNext(); ) {
                     final SpongeBlockSnapshot next = firsts.next();
                     if (next.equals(backingSnapshot)) {
                         firsts.remove();
                         // And if it's been found, remove the position from the used blocks as well.
-                        this.usedBlocks.remove(blockPos);
+                        this.usedBlocks.remove(packedPos);
                         break;
                     }
                 }
@@ -335,18 +382,15 @@ public final boolean isEmpty() {
      *
      * @param consumer The consumer to activate
      */
-    @SuppressWarnings("UnstableApiUsage") // Guava marks Multimaps.asMap as Beta features
     public final void acceptAndClearIfNotEmpty(final BiConsumer<List<? extends BlockSnapshot>, Map<BlockPos, List<BlockSnapshot>>> consumer) {
         if (this.multimap != null) {
             final List<? extends BlockSnapshot> blockSnapshots = get();
-            // Since multimaps provide a view when asMap is called, we need to recreate the collection
-            // of the map to pass into the consumer
-            final Map<BlockPos, List<SpongeBlockSnapshot>> view = Multimaps.asMap(this.multimap);
-            final Map<BlockPos, List<BlockSnapshot>> map = new LinkedHashMap<>(view.size());
-            for (final Map.Entry<BlockPos, List<SpongeBlockSnapshot>> entryView : view.entrySet()) {
-                map.put(entryView.getKey(), new ArrayList<>(entryView.getValue()));
+            // The positions are only unpacked here, when the changes are actually handed out
+            final Map<BlockPos, List<BlockSnapshot>> map = new LinkedHashMap<>(this.multimap.size());
+            for (final Long2ObjectMap.Entry<List<SpongeBlockSnapshot>> entry : this.multimap.long2ObjectEntrySet()) {
+                map.put(BlockPos.fromLong(entry.getLongKey()), new ArrayList<>(entry.getValue()));
             }
-            this.multimap.clear(); // Clean captured lists before they get potentially contaminated by processing.
+            this.clearMultimap(); // Clean captured lists before they get potentially contaminated by processing.
             consumer.accept(blockSnapshots, map); // Accept the list and map
         }
     }
@@ -546,7 +590,7 @@ public void cancelTransaction(final BlockSnapshot original) {
 
     public void clear() {
         if (this.multimap != null) {
-            this.multimap.clear();
+            this.clearMultimap();
             this.multimap = null;
         }
         if (this.snapshots != null) {
@@ -590,8 +634,8 @@ public Optional<Transaction<BlockSnapshot>> createTransaction(final SpongeBlockS
         // Up until this point, we can create a default Transaction
         if (this.multimap != null) { // But we need to check if there's any intermediary block changes...
             // And because multi is true, we can be sure the multimap is populated at least somewhere.
-            final List<SpongeBlockSnapshot> intermediary = this.multimap.get(blockPos);
-            if (!intermediary.isEmpty() && intermediary.size() > 1) {
+            final List<SpongeBlockSnapshot> intermediary = this.multimap.get(blockPos.toLong());
+            if (intermediary != null && intermediary.size() > 1) {
                 // We need to make a carbon copy of the list since it's technically a key view list
                 // within the multimap, so, if the multimap is cleared, at the very least, the list will
                 // not be cleared. Likewise, we also need to skip over the first element since the snapshots
@@ -615,7 +659,7 @@ public Optional<Transaction<BlockSnapshot>> createTransaction(final SpongeBlockS
     }
 
     public boolean trackEvent(final BlockPos pos, final BlockEventData blockEventData) {
-        if (this.usedBlocks != null && this.usedBlocks.contains(pos)) {
+        if (this.usedBlocks != null && this.usedBlocks.contains(pos.toLong())) {
             if (this.scheduledEvents == null) {
                 this.scheduledEvents = LinkedListMultimap.create();
             }
@@ -818,6 +862,7 @@ public boolean hasBlocksCaptured() {
     public void reset() {
         if (this.multimap != null) {
             // shouldn't but whatever, it's the end of a phase.
+            this.clearMultimap();
             this.multimap = null;
         }
         if (this.scheduledEvents != null) {
@@ -41,7 +41,7 @@ public interface DataContainerMixin_API {
      */
     @Overwrite
     static DataContainer createNew() {
-        return new MemoryDataContainer();
+        return MemoryDataContainer.create(DataView.SafetyMode.ALL_DATA_CLONED);
     }
 
     /**
@@ -53,6 +53,6 @@ static DataContainer createNew() {
      */
     @Overwrite
     static DataContainer createNew(DataView.SafetyMode safety) {
-        return new MemoryDataContainer(safety);
+        return MemoryDataContainer.create(safety);
     }
 }
@@ -376,6 +376,7 @@ public void saveAllWorlds(final boolean dontLog) {
         for (final WorldServer world : this.worlds) {
             final boolean save = world.getChunkProvider().canSave(); // ChunkProviderServerMixin handles the SerializationBehavior check
             boolean log = !dontLog;
+            boolean autoSave = false;
 
             if (save) {
                 // Sponge start - check auto save interval in world config
@@ -398,6 +399,7 @@ public void saveAllWorlds(final boolean dontLog) {
                     if (this.tickCounter % autoSaveInterval != 0) {
                         continue;
                     }
+                    autoSave = true;
                     if (log) {
                         LOGGER.info("Auto-saving chunks for level \'" + world.getWorldInfo().getWorldName() + "\'/"
                                 + ((WorldServerBridge) world).bridge$getDimensionId());
@@ -408,10 +410,15 @@ public void saveAllWorlds(final boolean dontLog) {
                 }
 
                 // Sponge end
+                // Sponge - auto-saves may spread chunk saves over the following ticks
+                final ChunkProviderServerBridge chunkProvider = (ChunkProviderServerBridge) world.getChunkProvider();
+                chunkProvider.bridge$setSpreadingSaves(autoSave);
                 try {
                     WorldManager.saveWorld(world, false);
                 } catch (MinecraftException ex) {
                     ex.printStackTrace();
+                } finally {
+                    chunkProvider.bridge$setSpreadingSaves(false);
                 }
             }
         }
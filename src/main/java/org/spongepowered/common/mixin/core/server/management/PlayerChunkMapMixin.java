@@ -69,6 +69,7 @@ public abstract class PlayerChunkMapMixin implements PlayerChunkMapBridge {
             chunkProvider.queueUnload(chunk);
         } else if (!((ChunkBridge) chunk).bridge$isPersistedChunk() && this.world.provider.canDropChunk(chunk.x, chunk.z)) {
             ((ChunkBridge) chunk).bridge$setScheduledForUnload(System.currentTimeMillis());
+            ((WorldServerBridge) this.world).bridge$addChunkGCCandidate(chunk.x, chunk.z);
         }
     }
 }
@@ -270,7 +270,9 @@ public List<AxisAlignedBB> getCollisionBoxes(@Nullable final Entity entityIn, fi
             }
 
             // Sponge start - fire event
-            if (!entityCollisions.isEmpty()) {
+            if (!entityCollisions.isEmpty() && !ShouldFire.COLLIDE_ENTITY_EVENT) {
+                list.addAll(entityCollisions.values());
+            } else if (!entityCollisions.isEmpty()) {
                 final List<Entity> collidedEntities = new ArrayList<>(entityCollisions.keySet());
                 final CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent((World) (Object) this, entityIn, collidedEntities);
                 if (event != null && !event.isCancelled()) {
@@ -56,6 +56,7 @@
 import net.minecraft.util.ReportedException;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.DifficultyInstance;
@@ -179,6 +180,7 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ChunkGCCandidates;
 import org.spongepowered.common.world.SpongeLocatableBlockBuilder;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
@@ -211,6 +213,9 @@ public abstract class WorldServerMixin extends WorldMixin implements WorldServer
     private int impl$chunkGCTickCount = 0;
     private int impl$chunkGCLoadThreshold = 0;
     private int impl$chunkGCTickInterval = Constants.World.CHUNK_GC_TICK_INTERVAL;
+    // Loaded chunks that may have no watching players, checked by the next chunk GC
+    private final ChunkGCCandidates impl$chunkGCCandidates = new ChunkGCCandidates();
+    private boolean impl$chunkGCDraining = false;
     private int impl$chunkLoadCount = 0;
     private long impl$chunkUnloadDelay = Constants.World.CHUNK_UNLOAD_DELAY;
     private boolean impl$weatherThunderEnabled = true;
@@ -374,6 +379,8 @@ private void onSetWorld(final WorldProvider worldProvider, final World worldIn)
         this.impl$weatherThunderEnabled = worldCategory.getWeatherThunder();
         this.impl$chunkUnloadDelay = worldCategory.getChunkUnloadDelay() * 1000;
         this.impl$denyNeighborNotificationsUnloadedChunks = worldCategory.getDenyNeighborNotificationUnloadedChunks();
+        // Chunks loaded while the chunk GC was disabled or skipped with the old settings are checked again
+        this.impl$chunkGCCandidates.requestSweep();
         if (this.getChunkProvider() != null) {
             final int maxChunkUnloads = worldCategory.getMaxChunkUnloads();
             ((ChunkProviderBridge) this.getChunkProvider()).bridge$setMaxChunkUnloads(maxChunkUnloads < 1 ? 1 : maxChunkUnloads);
@@ -1121,19 +1128,49 @@ protected TileEntity getQueuedRemovedTileFromProxy(final BlockPos pos) {
 
     // Chunk GC
     @Override
+    public void bridge$addChunkGCCandidate(final int x, final int z) {
+        if (this.impl$chunkGCTickInterval > 0 || this.impl$chunkGCLoadThreshold > 0) {
+            this.impl$chunkGCCandidates.add(ChunkPos.asLong(x, z));
+        }
+    }
+
+    /**
+     * Only checks the chunks that were loaded, stopped being watched, became
+     * active again after being queued or stopped being persisted since the
+     * last collection, instead of every loaded chunk. Once a collection is
+     * due, the candidates are checked across as many ticks as needed.
+     * Chunks that could not be dropped are only checked again once one of
+     * those happens to them, or by the full sweep after a config reload.
+     */
+    @Override
     public void bridge$doChunkGC() {
         this.impl$chunkGCTickCount++;
 
+        boolean due = false;
         if (this.impl$chunkLoadCount >= this.impl$chunkGCLoadThreshold && this.impl$chunkGCLoadThreshold > 0) {
             this.impl$chunkLoadCount = 0;
+            due = true;
         } else if (this.impl$chunkGCTickCount >= this.impl$chunkGCTickInterval && this.impl$chunkGCTickInterval > 0) {
             this.impl$chunkGCTickCount = 0;
-        } else {
+            due = true;
+        }
+        final ChunkProviderServer chunkProviderServer = this.getChunkProvider();
+        if (due && !this.impl$chunkGCDraining) {
+            this.impl$chunkGCCandidates.startCollection(((ChunkProviderServerAccessor) chunkProviderServer).accessor$getLoadedChunks().keySet());
+            this.impl$chunkGCDraining = true;
+        }
+        if (!this.impl$chunkGCDraining) {
             return;
         }
 
-        final ChunkProviderServer chunkProviderServer = this.getChunkProvider();
-        for (final net.minecraft.world.chunk.Chunk chunk : chunkProviderServer.getLoadedChunks()) {
+        int checked = 0;
+        while (checked++ < Constants.World.CHUNK_GC_MAX_CHECKS_PER_TICK && !this.impl$chunkGCCandidates.isEmpty()) {
+            final long chunkPos = this.impl$chunkGCCandidates.poll();
+            final net.minecraft.world.chunk.Chunk chunk = ((ChunkProviderBridge) chunkProviderServer)
+                    .bridge$getLoadedChunkWithoutMarkingActive((int) chunkPos, (int) (chunkPos >> 32));
+            if (chunk == null) {
+                continue;
+            }
             final ChunkBridge spongeChunk = (ChunkBridge) chunk;
             if (chunk.unloadQueued || spongeChunk.bridge$isPersistedChunk() || !this.provider.canDropChunk(chunk.x, chunk.z)) {
                 continue;
@@ -1148,6 +1185,9 @@ protected TileEntity getQueuedRemovedTileFromProxy(final BlockPos pos) {
             chunkProviderServer.queueUnload(chunk);
             SpongeHooks.logChunkGCQueueUnload((WorldServer) (Object) this, chunk);
         }
+        if (this.impl$chunkGCCandidates.isEmpty()) {
+            this.impl$chunkGCDraining = false;
+        }
     }
 
 
@@ -1626,7 +1666,7 @@ private boolean isChunkAvailable(final BlockPos sourcePos) {
 
     @Override
     public void onDestroyBlock(final BlockPos pos, final boolean dropBlock, final CallbackInfoReturnable<Boolean> cir) {
-        if (SpongeCommonEventFactory.callChangeBlockEventPre(this, pos).isCancelled()) {
+        if (ShouldFire.CHANGE_BLOCK_EVENT_PRE && SpongeCommonEventFactory.callChangeBlockEventPre(this, pos).isCancelled()) {
             cir.setReturnValue(false);
         }
     }
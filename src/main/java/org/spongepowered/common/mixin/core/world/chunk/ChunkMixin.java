@@ -29,6 +29,10 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicate;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMaps;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMaps;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -80,6 +84,7 @@
 import org.spongepowered.common.bridge.world.chunk.ActiveChunkReferantBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
@@ -97,7 +102,6 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -178,6 +182,9 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
 
     @Override
     public void bridge$setPersistedChunk(final boolean flag) {
+        if (this.impl$persistedChunk && !flag && this.world instanceof WorldServerBridge) {
+            ((WorldServerBridge) this.world).bridge$addChunkGCCandidate(this.x, this.z);
+        }
         this.impl$persistedChunk = flag;
         // update persisted status for entities and TE's
         for (final TileEntity tileEntity : this.tileEntities.values()) {
@@ -260,6 +267,10 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
 
             final WorldServerBridge worldServer = (WorldServerBridge) this.world;
             worldServer.bridge$incrementChunkLoadCount();
+            worldServer.bridge$addChunkGCCandidate(this.x, this.z);
+            if (this.world.getChunkProvider() instanceof ChunkProviderServerBridge) {
+                ((ChunkProviderServerBridge) this.world.getChunkProvider()).bridge$scheduleLifetimeSave((net.minecraft.world.chunk.Chunk) (Object) this);
+            }
 
             SpongeHooks.logChunkLoad(this.world, ((Chunk) this).getPosition());
         }
@@ -325,6 +336,10 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
             return;
         }
 
+        if (!ShouldFire.COLLIDE_ENTITY_EVENT) {
+            return;
+        }
+
         final CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent(this.world, null, listToFill);
 
         if (event == null || event.isCancelled()) {
@@ -671,10 +686,10 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     public void bridge$addTrackedBlockPosition(final Block block, final BlockPos pos, final User user, final PlayerTracker.Type trackerType) { }
 
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() { return Collections.emptyMap(); }
+    public Int2LongMap bridge$getTrackedIntPlayerPositions() { return Int2LongMaps.EMPTY_MAP; }
 
     @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() { return Collections.emptyMap(); }
+    public Short2LongMap bridge$getTrackedShortPlayerPositions() { return Short2LongMaps.EMPTY_MAP; }
 
     @Override
     public Optional<User> bridge$getBlockOwner(final BlockPos pos) { return Optional.empty(); }
@@ -695,10 +710,10 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     public void bridge$setBlockCreator(final BlockPos pos, @Nullable final UUID uuid) { }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) { }
+    public void bridge$setTrackedIntPlayerPositions(final Int2LongMap trackedPositions) { }
 
     @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) { }
+    public void bridge$setTrackedShortPlayerPositions(final Short2LongMap trackedPositions) { }
 
     // Continuing the rest of the implementation
 
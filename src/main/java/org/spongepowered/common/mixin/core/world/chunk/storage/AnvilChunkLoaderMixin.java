@@ -25,6 +25,10 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
@@ -35,6 +39,8 @@
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import net.minecraft.world.storage.ThreadedFileIOBase;
 import org.apache.logging.log4j.Logger;
@@ -63,6 +69,7 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.config.category.GlobalGeneralCategory;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
@@ -70,21 +77,34 @@
 import org.spongepowered.common.util.QueuedChunk;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.util.WorldChunkPos;
+import org.spongepowered.common.world.storage.MappedRegionFileCache;
+import org.spongepowered.common.world.storage.PendingSectionsTagList;
+import org.spongepowered.common.world.storage.RegionReadAhead;
+import org.spongepowered.common.world.storage.RegionWriteBatch;
+import org.spongepowered.common.world.storage.TemplateRegionFiles;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+import javax.annotation.Nullable;
+
 @Mixin(AnvilChunkLoader.class)
 public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
 
     private ConcurrentLinkedQueue<QueuedChunk> impl$queue = new ConcurrentLinkedQueue<>();
     private final Object impl$lock = new Object();
+    @Nullable private RegionReadAhead impl$readAhead;
 
     @Shadow @Final private static Logger LOGGER;
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
@@ -93,39 +113,106 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
 
     @Shadow private void writeChunkData(final ChunkPos pos, final NBTTagCompound compound) { } // Shadow
 
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void impl$createRegionReadAhead(final CallbackInfo ci) {
+        final GlobalGeneralCategory general = SpongeImpl.getGlobalConfigAdapter().getConfig().getGeneral();
+        if (general.getRegionReadAheadRadius() > 0) {
+            this.impl$readAhead = new RegionReadAhead(this.chunkSaveLocation, general.getRegionReadAheadRadius(),
+                    general.getRegionReadAheadCapacity(), this.chunksToSave::containsKey);
+        }
+    }
+
+    /**
+     * Serves chunk reads from the region read-ahead when it is enabled. Forge
+     * moves the read into loadChunk__Async, so both methods are targeted.
+     */
+    @Redirect(method = {"loadChunk", "loadChunk__Async"},
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/RegionFileCache;getChunkInputStream(Ljava/io/File;II)Ljava/io/DataInputStream;"),
+        require = 0,
+        expect = 0)
+    @Nullable
+    private DataInputStream impl$readThroughReadAhead(final File worldDir, final int x, final int z) {
+        if (this.impl$readAhead == null) {
+            return RegionFileCache.getChunkInputStream(worldDir, x, z);
+        }
+        return this.impl$readAhead.read(x, z);
+    }
+
+    /**
+     * Completes pending sections before a queued chunk compound is read
+     * back, as it may not have been written yet. Required, as reading an
+     * incomplete compound would load the chunk without its blocks. Either
+     * method holds the lookup, depending on whether Forge moved it.
+     */
+    @Redirect(method = {"loadChunk", "loadChunk__Async"},
+        at = @At(
+            value = "INVOKE",
+            target = "Ljava/util/Map;get(Ljava/lang/Object;)Ljava/lang/Object;",
+            remap = false),
+        require = 1)
+    @Nullable
+    private Object impl$completePendingChunk(final Map<ChunkPos, NBTTagCompound> chunksToSave, final Object pos) {
+        final NBTTagCompound compound = chunksToSave.get(pos);
+        PendingSectionsTagList.complete(compound);
+        return compound;
+    }
+
+    /**
+     * Leaves the sections out of the chunk compound when they are serialized
+     * off the main thread, see {@link #impl$snapshotSections}.
+     */
+    @Redirect(method = "writeChunkToNBT",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/Chunk;getBlockStorageArray()[Lnet/minecraft/world/chunk/storage/ExtendedBlockStorage;"))
+    private ExtendedBlockStorage[] impl$skipSectionsIfSnapshotting(final Chunk chunk) {
+        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useOffThreadChunkSerialization()) {
+            return new ExtendedBlockStorage[0];
+        }
+        return chunk.getBlockStorageArray();
+    }
+
+    @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
+    private void impl$snapshotSections(final Chunk chunkIn, final World worldIn, final NBTTagCompound compound, final CallbackInfo ci) {
+        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useOffThreadChunkSerialization()) {
+            compound.setTag("Sections", new PendingSectionsTagList(chunkIn.getBlockStorageArray(), worldIn.provider.hasSkyLight()));
+        }
+    }
+
+    /**
+     * Writes the tracked block positions of the chunk as a single int array
+     * of the form {@code [shortCount, (pos, owner, notifier)...]}, with the
+     * short positions first, followed by the int positions.
+     */
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     private void impl$writeSpongeOwnerNotifierPosTable(final net.minecraft.world.chunk.Chunk chunkIn, final World worldIn,
         final NBTTagCompound compound, final CallbackInfo ci) {
         final ChunkBridge chunk = (ChunkBridge) chunkIn;
+        final Short2LongMap shortPositions = chunk.bridge$getTrackedShortPlayerPositions();
+        final Int2LongMap intPositions = chunk.bridge$getTrackedIntPlayerPositions();
 
         // Add tracked block positions
-        if (chunk.bridge$getTrackedShortPlayerPositions().size() > 0 || chunk.bridge$getTrackedIntPlayerPositions().size() > 0) {
-            final NBTTagCompound trackedNbt = new NBTTagCompound();
-            final NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
-            compound.setTag(Constants.Sponge.SPONGE_DATA, trackedNbt);
-
-            for (final Map.Entry<Short, PlayerTracker> mapEntry : chunk.bridge$getTrackedShortPlayerPositions().entrySet()) {
-                final Short pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
+        if (shortPositions.size() > 0 || intPositions.size() > 0) {
+            final int[] table = new int[1 + (shortPositions.size() + intPositions.size()) * 3];
+            int index = 1;
+            for (final Short2LongMap.Entry entry : shortPositions.short2LongEntrySet()) {
+                if (entry.getLongValue() != PlayerTracker.NONE) {
+                    table[index++] = entry.getShortKey();
+                    table[index++] = PlayerTracker.unpackOwner(entry.getLongValue());
+                    table[index++] = PlayerTracker.unpackNotifier(entry.getLongValue());
+                }
             }
-
-            for (final Map.Entry<Integer, PlayerTracker> mapEntry : chunk.bridge$getTrackedIntPlayerPositions().entrySet()) {
-                final Integer pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
+            table[0] = (index - 1) / 3;
+            for (final Int2LongMap.Entry entry : intPositions.int2LongEntrySet()) {
+                if (entry.getLongValue() != PlayerTracker.NONE) {
+                    table[index++] = entry.getIntKey();
+                    table[index++] = PlayerTracker.unpackOwner(entry.getLongValue());
+                    table[index++] = PlayerTracker.unpackNotifier(entry.getLongValue());
+                }
             }
+            final NBTTagCompound trackedNbt = new NBTTagCompound();
+            trackedNbt.setIntArray(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, index == table.length ? table : Arrays.copyOf(table, index));
+            compound.setTag(Constants.Sponge.SPONGE_DATA, trackedNbt);
         }
     }
 
@@ -133,31 +220,49 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
     private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compound, final CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, final int chunkX,
       final int chunkZ, final net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
-            final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-            final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
-            final NBTTagList positions = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA).getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, 10);
-            final ChunkBridge chunk = (ChunkBridge) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                final boolean isShortPos = valueNbt.hasKey("pos");
-                final PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
+            final NBTTagCompound spongeData = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
+            final Int2LongMap trackedIntPlayerPositions = new Int2LongOpenHashMap();
+            final Short2LongMap trackedShortPlayerPositions = new Short2LongOpenHashMap();
+            if (spongeData.hasKey(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_INT_ARRAY)) {
+                final int[] table = spongeData.getIntArray(Constants.Sponge.SPONGE_BLOCK_POS_TABLE);
+                if (table.length > 0) {
+                    final int shortEnd = 1 + Math.min(table[0], (table.length - 1) / 3) * 3;
+                    for (int i = 1; i + 2 < table.length; i += 3) {
+                        final long tracked = PlayerTracker.pack(table[i + 1], table[i + 2]);
+                        if (i < shortEnd) {
+                            trackedShortPlayerPositions.put((short) table[i], tracked);
+                        } else {
+                            trackedIntPlayerPositions.put(table[i], tracked);
+                        }
+                    }
                 }
+            } else {
+                // Read the list of compounds written by older versions
+                final NBTTagList positions = spongeData.getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_COMPOUND);
+                for (int i = 0; i < positions.tagCount(); i++) {
+                    final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+                    final boolean isShortPos = valueNbt.hasKey("pos");
+                    int ownerIndex = -1;
+                    int notifierIndex = -1;
+                    if (valueNbt.hasKey("owner")) {
+                        ownerIndex = valueNbt.getInteger("owner");
+                    } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                        ownerIndex = valueNbt.getInteger("uuid");
+                    }
+                    if (valueNbt.hasKey("notifier")) {
+                        notifierIndex = valueNbt.getInteger("notifier");
+                    }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
+                    if (notifierIndex != -1 || ownerIndex != -1) {
+                        if (isShortPos) {
+                            trackedShortPlayerPositions.put(valueNbt.getShort("pos"), PlayerTracker.pack(ownerIndex, notifierIndex));
+                        } else {
+                            trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), PlayerTracker.pack(ownerIndex, notifierIndex));
+                        }
                     }
                 }
             }
+            final ChunkBridge chunk = (ChunkBridge) chunkIn;
             chunk.bridge$setTrackedIntPlayerPositions(trackedIntPlayerPositions);
             chunk.bridge$setTrackedShortPlayerPositions(trackedShortPlayerPositions);
         }
@@ -226,6 +331,31 @@ private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compou
         return RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z) != null;
     }
 
+    @Override
+    public boolean bridge$isChunkSavePending(final int x, final int z) {
+        return this.chunksToSave.containsKey(new ChunkPos(x, z));
+    }
+
+    @Override
+    public boolean bridge$isChunkSaved(final int x, final int z) {
+        if (this.chunksToSave.containsKey(new ChunkPos(x, z))) {
+            return true;
+        }
+        if (impl$isChunkSaved(this.chunkSaveLocation, x, z)) {
+            return true;
+        }
+        final File templateDir = TemplateRegionFiles.getTemplateDir(this.chunkSaveLocation);
+        return templateDir != null && TemplateRegionFiles.isChunkSaved(templateDir, x, z);
+    }
+
+    private static boolean impl$isChunkSaved(final File worldDir, final int x, final int z) {
+        if (MappedRegionFileCache.isEnabled(worldDir)) {
+            return MappedRegionFileCache.chunkExists(worldDir, x, z);
+        }
+        final RegionFile regionFile = RegionFileCache.getRegionFileIfExists(worldDir, x, z);
+        return regionFile != null && regionFile.isChunkSaved(x & 31, z & 31);
+    }
+
     /**
      * @author aikar - February 19th, 2017
      * @reason Chunk queue improvements.
@@ -238,6 +368,9 @@ protected void addChunkToPending(final ChunkPos pos, final NBTTagCompound compou
         synchronized (this.impl$lock) {
             this.chunksToSave.put(pos, compound);
         }
+        if (this.impl$readAhead != null) {
+            this.impl$readAhead.invalidate(pos.x, pos.z);
+        }
         this.impl$queue.add(new QueuedChunk(pos, compound));
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
@@ -257,51 +390,108 @@ public boolean writeNextIO() {
             }
 
             return false;
-        } else {
-            final ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
+        }
+        PendingSectionsTagList.complete(chunk.compound);
+
+        final int batchSize = SpongeImpl.getGlobalConfigAdapter().getConfig().getGeneral().getRegionWriteBatchSize();
+        if (batchSize <= 1) {
+            this.impl$writeChunkWithRetries(chunk.coords, chunk.compound);
+            this.impl$onChunkWritten(chunk);
+            return true;
+        }
 
+        // Sponge - Drain a batch of queued chunks and group them by region file. Only the most
+        // recently queued data of a chunk is written, as chunksToSave always holds the newest.
+        final Map<Long, Map<ChunkPos, QueuedChunk>> chunksByRegion = new LinkedHashMap<>();
+        final List<QueuedChunk> written = new ArrayList<>(batchSize);
+        QueuedChunk next = chunk;
+        do {
+            PendingSectionsTagList.complete(next.compound);
+            chunksByRegion.computeIfAbsent(ChunkPos.asLong(next.coords.x >> 5, next.coords.z >> 5), k -> new LinkedHashMap<>())
+                    .put(new ChunkPos(next.coords.x, next.coords.z), next);
+            written.add(next);
+        } while (written.size() < batchSize && (next = this.impl$queue.poll()) != null);
+
+        for (final Map<ChunkPos, QueuedChunk> regionChunks : chunksByRegion.values()) {
+            final List<QueuedChunk> failed = new ArrayList<>();
+            final ChunkPos first = regionChunks.keySet().iterator().next();
+            RegionWriteBatch batch;
             try {
-                // this.field_193415_c.add(chunkpos);
-                final NBTTagCompound nbttagcompound = chunk.compound;
-
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (final Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (final InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
+                batch = RegionWriteBatch.forRegion(this.chunkSaveLocation, first.x, first.z);
+            } catch (final IOException e) {
+                batch = null;
+            }
+            for (final QueuedChunk queued : regionChunks.values()) {
+                if (queued.compound == null) {
+                    continue;
                 }
-
-                synchronized (this.impl$lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
+                try {
+                    if (batch == null) {
+                        failed.add(queued);
+                    } else {
+                        batch.add(queued);
                     }
+                } catch (final IOException e) {
+                    failed.add(queued);
+                }
+            }
+            if (batch != null && !batch.isEmpty()) {
+                failed.addAll(batch.write());
+            }
+            for (final QueuedChunk queued : regionChunks.values()) {
+                if (queued.compound != null && !failed.contains(queued)) {
+                    this.impl$postSaveChunkEvent(queued.coords);
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
             }
+            // Fall back to writing failed chunks one at a time
+            for (final QueuedChunk queued : failed) {
+                this.impl$writeChunkWithRetries(queued.coords, queued.compound);
+            }
+        }
+
+        for (final QueuedChunk queued : written) {
+            this.impl$onChunkWritten(queued);
+        }
+        return true;
+    }
+
+    private void impl$writeChunkWithRetries(final ChunkPos chunkpos, @Nullable final NBTTagCompound nbttagcompound) {
+        if (nbttagcompound == null) {
+            return;
+        }
+        int attempts = 0;
+        Exception laste = null;
+        while (attempts++ < 5) {
+            try {
+                this.writeChunkData(chunkpos, nbttagcompound);
+                laste = null;
+                break;
+            } catch (final Exception exception) {
+                // LOGGER.error((String)"Failed to save chunk",
+                // (Throwable)exception);
+                laste = exception;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (final InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        if (laste != null) {
+            laste.printStackTrace();
+        }
+    }
 
-            return lvt_3_1_;
+    private void impl$onChunkWritten(final QueuedChunk chunk) {
+        synchronized (this.impl$lock) {
+            // Sponge - This will not equal if a newer version is still
+            // pending
+            if (this.chunksToSave.get(chunk.coords) == chunk.compound) {
+                this.chunksToSave.remove(chunk.coords);
+            }
+        }
+        if (this.impl$readAhead != null) {
+            this.impl$readAhead.invalidate(chunk.coords.x, chunk.coords.z);
         }
     }
 
@@ -319,6 +509,10 @@ public boolean writeNextIO() {
 
     @Inject(method = "writeChunkData", at = @At("RETURN"))
     private void impl$callSaveChunkEventPost(final ChunkPos pos, final NBTTagCompound compound, final CallbackInfo ci) {
+        this.impl$postSaveChunkEvent(pos);
+    }
+
+    private void impl$postSaveChunkEvent(final ChunkPos pos) {
         if (ShouldFire.SAVE_CHUNK_EVENT_POST) {
             final Cause cause = Cause.of(EventContext.empty(), Collections.singleton(SpongeImpl.getServer()));
             final Optional<UUID> worldUUID;
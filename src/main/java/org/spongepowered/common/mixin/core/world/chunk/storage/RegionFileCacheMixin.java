@@ -30,11 +30,18 @@
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.world.storage.MappedRegionFileCache;
+import org.spongepowered.common.world.storage.TemplateRegionFiles;
 
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 
+import javax.annotation.Nullable;
+
 @Mixin(RegionFileCache.class)
 public abstract class RegionFileCacheMixin {
 
@@ -49,6 +56,23 @@ public abstract class RegionFileCacheMixin {
     @Overwrite
     public static DataInputStream getChunkInputStream(File worldDir, int chunkX, int chunkZ) {
         // Sponge start
+        final DataInputStream stream = impl$readChunk(worldDir, chunkX, chunkZ);
+        if (stream == null) {
+            // Chunks a world copied from a template has not saved itself are read from the template
+            final File templateDir = TemplateRegionFiles.getTemplateDir(worldDir);
+            if (templateDir != null) {
+                return TemplateRegionFiles.readChunk(templateDir, chunkX, chunkZ);
+            }
+        }
+        return stream;
+        // Sponge end
+    }
+
+    @Nullable
+    private static DataInputStream impl$readChunk(final File worldDir, final int chunkX, final int chunkZ) {
+        if (MappedRegionFileCache.isEnabled(worldDir)) {
+            return MappedRegionFileCache.getChunkInputStream(worldDir, chunkX, chunkZ);
+        }
         // Use getRegionFileIfExists instead of createOrLoadRegionFile
         RegionFile regionfile = getRegionFileIfExists(worldDir, chunkX, chunkZ);
         if (regionfile == null) {
@@ -56,7 +80,39 @@ public static DataInputStream getChunkInputStream(File worldDir, int chunkX, int
             // already returns null if the file does not exist.
             return null;
         }
-        // Sponge end
         return regionfile.getChunkDataInputStream(chunkX & 31, chunkZ & 31);
     }
+
+    @Inject(method = "getChunkOutputStream", at = @At("HEAD"), cancellable = true)
+    private static void impl$useMappedRegionForOutput(final File worldDir, final int chunkX, final int chunkZ,
+            final CallbackInfoReturnable<DataOutputStream> cir) {
+        if (MappedRegionFileCache.isEnabled(worldDir)) {
+            cir.setReturnValue(MappedRegionFileCache.getChunkOutputStream(worldDir, chunkX, chunkZ));
+        }
+    }
+
+    @Inject(method = "chunkExists", at = @At("HEAD"), cancellable = true, require = 0, expect = 0)
+    private static void impl$useMappedRegionForExists(final File worldDir, final int chunkX, final int chunkZ,
+            final CallbackInfoReturnable<Boolean> cir) {
+        final File templateDir = TemplateRegionFiles.getTemplateDir(worldDir);
+        if (templateDir != null) {
+            cir.setReturnValue(impl$isChunkSaved(worldDir, chunkX, chunkZ) || TemplateRegionFiles.isChunkSaved(templateDir, chunkX, chunkZ));
+        } else if (MappedRegionFileCache.isEnabled(worldDir)) {
+            cir.setReturnValue(MappedRegionFileCache.chunkExists(worldDir, chunkX, chunkZ));
+        }
+    }
+
+    private static boolean impl$isChunkSaved(final File worldDir, final int chunkX, final int chunkZ) {
+        if (MappedRegionFileCache.isEnabled(worldDir)) {
+            return MappedRegionFileCache.chunkExists(worldDir, chunkX, chunkZ);
+        }
+        final RegionFile regionFile = getRegionFileIfExists(worldDir, chunkX, chunkZ);
+        return regionFile != null && regionFile.isChunkSaved(chunkX & 31, chunkZ & 31);
+    }
+
+    @Inject(method = "clearRegionFileReferences", at = @At("HEAD"))
+    private static void impl$clearMappedRegions(final CallbackInfo ci) {
+        MappedRegionFileCache.clear();
+        TemplateRegionFiles.clear();
+    }
 }
@@ -26,6 +26,7 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.util.math.ChunkPos;
@@ -57,6 +58,7 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
 import org.spongepowered.common.config.category.WorldCategory;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.IPhaseState;
@@ -65,12 +67,16 @@
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.ChunkDeadlineQueue;
 import org.spongepowered.common.world.SpongeEmptyChunk;
+import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.storage.MappedRegionFileCache;
+import org.spongepowered.common.world.storage.TemplateRegionFiles;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.PrintStream;
-import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -84,6 +90,14 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
     private long impl$chunkUnloadDelay = Constants.World.DEFAULT_CHUNK_UNLOAD_DELAY;
     private int impl$maxChunkUnloads = Constants.World.MAX_CHUNK_UNLOADS;
     private int impl$maxChunkLifetime = Constants.World.MAX_CHUNK_LIFETIME;
+    // Chunks queued for unload, due by System#currentTimeMillis
+    private final ChunkDeadlineQueue impl$unloadQueue = new ChunkDeadlineQueue();
+    // Chunks to check against the max chunk lifetime, due by world time
+    private final ChunkDeadlineQueue impl$saveQueue = new ChunkDeadlineQueue();
+    // Modified chunks queued by an auto-save, drained by tick within the per tick budget
+    private final LongLinkedOpenHashSet impl$pendingSaves = new LongLinkedOpenHashSet();
+    private int impl$autoSaveChunksPerTick = 0;
+    private boolean impl$spreadingSaves = false;
 
     @Shadow @Final private WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -110,6 +124,12 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
         this.impl$chunkUnloadDelay = worldCategory.getChunkUnloadDelay() * 1000;
         this.impl$maxChunkUnloads = worldCategory.getMaxChunkUnloads();
         this.impl$maxChunkLifetime = worldCategory.getMaxChunkLifetime();
+        this.impl$autoSaveChunksPerTick = worldCategory.getAutoSaveChunksPerTick();
+        if (chunkLoaderIn instanceof AnvilChunkLoaderBridge) {
+            final File chunkDir = ((AnvilChunkLoaderBridge) chunkLoaderIn).bridge$getWorldDir().toFile();
+            MappedRegionFileCache.setEnabled(chunkDir, "mapped".equalsIgnoreCase(worldCategory.getRegionStorage()));
+            TemplateRegionFiles.setTemplateDir(chunkDir, WorldManager.getTemplateChunkDirectory(worldObjIn, chunkDir));
+        }
     }
 
     @Override
@@ -131,9 +151,35 @@ public void queueUnload(final Chunk chunkIn)
             // Sponge - we avoid using the queue and simply check the unloaded flag during unloads
             //this.droppedChunksSet.add(Long.valueOf(ChunkPos.asLong(chunkIn.x, chunkIn.z)));
             chunkIn.unloadQueued = true;
+            this.impl$unloadQueue.schedule(ChunkPos.asLong(chunkIn.x, chunkIn.z), this.impl$getUnloadDeadline(chunkIn, System.currentTimeMillis()));
+        }
+    }
+
+    private long impl$getUnloadDeadline(final Chunk chunk, final long now) {
+        final long scheduled = ((ChunkBridge) chunk).bridge$getScheduledForUnload();
+        if (this.impl$chunkUnloadDelay <= 0 || scheduled == -1) {
+            return now;
+        }
+        return scheduled + this.impl$chunkUnloadDelay;
+    }
+
+    @Override
+    public void bridge$scheduleLifetimeSave(final Chunk chunk) {
+        if (this.impl$maxChunkLifetime > 0) {
+            this.impl$saveQueue.schedule(ChunkPos.asLong(chunk.x, chunk.z), ((ChunkBridge) chunk).bridge$getLastSaveTime() + this.impl$maxChunkLifetime);
         }
     }
 
+    @Override
+    public int bridge$getUnloadQueueSize() {
+        return this.impl$unloadQueue.size();
+    }
+
+    @Override
+    public void bridge$setSpreadingSaves(final boolean spread) {
+        this.impl$spreadingSaves = spread;
+    }
+
 
 
     @Redirect(method = "provideChunk",
@@ -249,8 +295,8 @@ public void queueUnload(final Chunk chunkIn)
     /**
      * @author blood - October 20th, 2016
      * @reason Refactors entire method to not use the droppedChunksSet by
-     * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * only looking at the chunks whose unload or max lifetime save is due,
+     * in the order they became due.
      *
      * @return true if unload queue was processed
      */
@@ -267,38 +313,76 @@ public boolean tick()
         if (this.shadow$canSave() && !((WorldBridge) this.world).bridge$isFake())
         {
             ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.startTiming();
-            final Iterator<Chunk> iterator = this.loadedChunks.values().iterator();
             int chunksUnloaded = 0;
             final long now = System.currentTimeMillis();
             final long world_time = this.world.getTotalWorldTime();
-            while (chunksUnloaded < this.impl$maxChunkUnloads && iterator.hasNext()) {
-                final Chunk chunk = iterator.next();
+            while (chunksUnloaded < this.impl$maxChunkUnloads && this.impl$unloadQueue.hasDue(now)) {
+                final long queuedDeadline = this.impl$unloadQueue.peekDeadline();
+                final long chunkPos = this.impl$unloadQueue.poll();
+                final Chunk chunk = this.loadedChunks.get(chunkPos);
+                // The chunk was unloaded or marked active again since it was queued
+                if (chunk == null) {
+                    continue;
+                }
+                if (!chunk.unloadQueued) {
+                    ((WorldServerBridge) this.world).bridge$addChunkGCCandidate(chunk.x, chunk.z);
+                    continue;
+                }
                 final ChunkBridge spongeChunk = (ChunkBridge) chunk;
-                if (chunk == null || spongeChunk.bridge$isPersistedChunk()) {
+                if (spongeChunk.bridge$isPersistedChunk()) {
+                    this.impl$unloadQueue.schedule(chunkPos, now + Math.max(this.impl$chunkUnloadDelay, 1000));
                     continue;
                 }
-                if (chunk.unloadQueued) {
-                    if (this.bridge$getChunkUnloadDelay() > 0) {
-                        if ((now - spongeChunk.bridge$getScheduledForUnload()) < this.impl$chunkUnloadDelay) {
-                            continue;
-                        }
-                        spongeChunk.bridge$setScheduledForUnload(-1);
-                    }
-                    chunk.onUnload();
+                final long deadline = this.impl$getUnloadDeadline(chunk, queuedDeadline);
+                if (deadline > now) { // rescheduled since it was queued
+                    this.impl$unloadQueue.schedule(chunkPos, deadline);
+                    continue;
                 }
-                // max lifetime only applies to chunks that should stay loaded but still need saving once in a while
-                else if (this.impl$maxChunkLifetime <= 0 // if setting is disabled
-                        || !spongeChunk.bridge$isChunkDirty() // no need to save non-dirty chunks
-                        || world_time - spongeChunk.bridge$getLastSaveTime() < this.impl$maxChunkLifetime) {
-                    continue;  // don't save chunk data
+                if (this.bridge$getChunkUnloadDelay() > 0) {
+                    spongeChunk.bridge$setScheduledForUnload(-1);
                 }
+                chunk.onUnload();
                 this.saveChunkData(chunk);
                 this.saveChunkExtraData(chunk);
-                if (chunk.unloadQueued) {  // chunks not queued to unload stay loaded
-                    iterator.remove();
+                this.loadedChunks.remove(chunkPos);
+                this.impl$saveQueue.remove(chunkPos);
+                ChunkDeadlineQueue.recordUnload(now - deadline);
+                chunksUnloaded++;
+            }
+            // max lifetime only applies to chunks that should stay loaded but still need saving once in a while
+            while (chunksUnloaded < this.impl$maxChunkUnloads && this.impl$saveQueue.hasDue(world_time)) {
+                final long chunkPos = this.impl$saveQueue.poll();
+                final Chunk chunk = this.loadedChunks.get(chunkPos);
+                if (chunk == null) {
+                    continue;
                 }
+                final ChunkBridge spongeChunk = (ChunkBridge) chunk;
+                final long deadline = spongeChunk.bridge$getLastSaveTime() + this.impl$maxChunkLifetime;
+                if (deadline > world_time) { // saved since it was queued
+                    this.impl$saveQueue.schedule(chunkPos, deadline);
+                    continue;
+                }
+                // Chunks that were not modified are checked again once the max lifetime passed again
+                this.impl$saveQueue.schedule(chunkPos, world_time + this.impl$maxChunkLifetime);
+                if (chunk.unloadQueued || spongeChunk.bridge$isPersistedChunk() || !spongeChunk.bridge$isChunkDirty()) {
+                    continue;  // don't save chunk data
+                }
+                this.saveChunkData(chunk);
+                this.saveChunkExtraData(chunk);
                 chunksUnloaded++;
             }
+            int chunksSaved = 0;
+            while (chunksSaved < this.impl$autoSaveChunksPerTick && !this.impl$pendingSaves.isEmpty()) {
+                final Chunk chunk = this.loadedChunks.get(this.impl$pendingSaves.removeFirstLong());
+                // Unloaded chunks were saved when they were unloaded
+                if (chunk == null || !chunk.needsSaving(true)) {
+                    continue;
+                }
+                this.saveChunkExtraData(chunk);
+                this.saveChunkData(chunk);
+                chunk.setModified(false);
+                chunksSaved++;
+            }
             ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.stopTiming();
         }
 
@@ -335,6 +419,11 @@ else if (this.impl$maxChunkLifetime <= 0 // if setting is disabled
         }
     }
 
+    @Override
+    public IChunkLoader bridge$getChunkLoader() {
+        return this.chunkLoader;
+    }
+
     @Override
     public void bridge$unloadChunkAndSave(final Chunk chunk) {
         boolean saveChunk = false;
@@ -348,7 +437,10 @@ else if (this.impl$maxChunkLifetime <= 0 // if setting is disabled
             this.saveChunkData(chunk);
         }
 
-        this.loadedChunks.remove(ChunkPos.asLong(chunk.x, chunk.z));
+        final long chunkPos = ChunkPos.asLong(chunk.x, chunk.z);
+        this.loadedChunks.remove(chunkPos);
+        this.impl$unloadQueue.remove(chunkPos);
+        this.impl$saveQueue.remove(chunkPos);
         ((ChunkBridge) chunk).bridge$setScheduledForUnload(-1);
     }
 
@@ -368,6 +460,23 @@ else if (this.impl$maxChunkLifetime <= 0 // if setting is disabled
         }
     }
 
+    /**
+     * Queues the modified chunks of an auto-save instead of saving them all
+     * at once. Full saves still save every chunk immediately.
+     */
+    @Inject(method = "saveChunks", at = @At("HEAD"), cancellable = true)
+    private void impl$queueAutoSavedChunks(final boolean all, final CallbackInfoReturnable<Boolean> cir) {
+        if (!this.impl$spreadingSaves || !all || this.impl$autoSaveChunksPerTick <= 0) {
+            return;
+        }
+        for (final Chunk chunk : this.loadedChunks.values()) {
+            if (chunk.needsSaving(true)) {
+                this.impl$pendingSaves.add(ChunkPos.asLong(chunk.x, chunk.z));
+            }
+        }
+        cir.setReturnValue(true);
+    }
+
     @Inject(method = "saveChunkData", at = @At("HEAD"), cancellable = true)
     private void impl$callSaveChunkEventPre(Chunk chunkIn, CallbackInfo ci) {
         if (ShouldFire.SAVE_CHUNK_EVENT_PRE) {
@@ -41,6 +41,7 @@
 import org.spongepowered.api.world.DimensionTypes;
 import org.spongepowered.api.world.PortalAgentType;
 import org.spongepowered.api.world.PortalAgentTypes;
+import org.spongepowered.api.world.SerializationBehavior;
 import org.spongepowered.api.world.SerializationBehaviors;
 import org.spongepowered.api.world.WorldArchetype;
 import org.spongepowered.api.world.gen.WorldGeneratorModifier;
@@ -103,6 +104,9 @@ public abstract class WorldInfoMixin implements WorldInfoBridge {
     @Nullable private Integer impl$dimensionId;
     @Nullable private SpongeConfig<WorldConfig> impl$worldConfig;
     @Nullable private PortalAgentType impl$portalAgentType;
+    @Nullable private String impl$templateWorldName;
+    // Not changed by the forced METADATA_ONLY of a protected template, so it is what gets saved
+    @Nullable private SerializationBehavior impl$templateSerializationBehavior;
 
 
     //     protected WorldInfo()
@@ -165,6 +169,7 @@ public abstract class WorldInfoMixin implements WorldInfoBridge {
         this.bridge$getConfigAdapter(); // Create the config now if it has not yet been created.
         this.impl$portalAgentType = info.impl$portalAgentType;
         this.bridge$setDimensionType(info.impl$dimensionType);
+        this.impl$templateWorldName = info.impl$templateWorldName;
     }
 
     // used in all init methods
@@ -313,6 +318,28 @@ private void setDoesGenerateBonusChest(final boolean state) {
         return this.impl$portalAgentType;
     }
 
+    @Nullable
+    @Override
+    public String bridge$getTemplateWorldName() {
+        return this.impl$templateWorldName;
+    }
+
+    @Override
+    public void bridge$setTemplateWorldName(@Nullable final String templateWorldName) {
+        this.impl$templateWorldName = templateWorldName;
+    }
+
+    @Nullable
+    @Override
+    public SerializationBehavior bridge$getTemplateSerializationBehavior() {
+        return this.impl$templateSerializationBehavior;
+    }
+
+    @Override
+    public void bridge$setTemplateSerializationBehavior(@Nullable final SerializationBehavior behavior) {
+        this.impl$templateSerializationBehavior = behavior;
+    }
+
     @Override
     public SpongeConfig<WorldConfig> bridge$getConfigAdapter() {
         if (this.impl$worldConfig == null) {
@@ -374,6 +401,9 @@ private void setDoesGenerateBonusChest(final boolean state) {
         this.impl$portalAgentType = PortalAgentRegistryModule.getInstance().validatePortalAgent(nbt.getString(Constants.Sponge.World.PORTAL_AGENT_TYPE), this.levelName);
         this.impl$hasCustomDifficulty = nbt.getBoolean(Constants.Sponge.World.HAS_CUSTOM_DIFFICULTY);
         this.impl$trackedUniqueIdCount = 0;
+        if (nbt.hasKey(Constants.Sponge.World.TEMPLATE_WORLD)) {
+            this.impl$templateWorldName = nbt.getString(Constants.Sponge.World.TEMPLATE_WORLD);
+        }
         if (nbt.hasKey(Constants.Sponge.World.WORLD_SERIALIZATION_BEHAVIOR)) {
             final short saveBehavior = nbt.getShort(Constants.Sponge.World.WORLD_SERIALIZATION_BEHAVIOR);
             if (saveBehavior == 1) {
@@ -412,14 +442,19 @@ private void writeSpongeNbt() {
                 this.impl$portalAgentType = PortalAgentTypes.DEFAULT;
             }
             this.impl$spongeNbt.setString(Constants.Sponge.World.PORTAL_AGENT_TYPE, this.impl$portalAgentType.getPortalAgentClass().getName());
+            final SerializationBehavior behavior = this.impl$templateSerializationBehavior != null
+                    ? this.impl$templateSerializationBehavior : ((WorldProperties) this).getSerializationBehavior();
             short saveBehavior = 1;
-            if (((WorldProperties) this).getSerializationBehavior() == SerializationBehaviors.NONE) {
+            if (behavior == SerializationBehaviors.NONE) {
                 saveBehavior = -1;
-            } else if (((WorldProperties) this).getSerializationBehavior() == SerializationBehaviors.MANUAL) {
+            } else if (behavior == SerializationBehaviors.MANUAL) {
                 saveBehavior = 0;
             }
             this.impl$spongeNbt.setShort(Constants.Sponge.World.WORLD_SERIALIZATION_BEHAVIOR, saveBehavior);
             this.impl$spongeNbt.setBoolean(Constants.Sponge.World.HAS_CUSTOM_DIFFICULTY, this.impl$hasCustomDifficulty);
+            if (this.impl$templateWorldName != null) {
+                this.impl$spongeNbt.setString(Constants.Sponge.World.TEMPLATE_WORLD, this.impl$templateWorldName);
+            }
             final Iterator<UUID> iterator = this.impl$pendingUniqueIds.iterator();
             final NBTTagList playerIdList = this.impl$spongeNbt.getTagList(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE, Constants.NBT.TAG_COMPOUND);
             while (iterator.hasNext()) {
@@ -29,8 +29,12 @@
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.GameRules;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.world.LocatableBlock;
 import org.spongepowered.asm.mixin.Final;
@@ -39,18 +43,144 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.mixin.core.world.GameRulesAccessor;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.CollisionsCapability;
+import org.spongepowered.common.world.EntitySectionGrid;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public abstract class ChunkMixin_Collisions {
 
     @Shadow @Final private World world;
+    @Shadow @Final private ClassInheritanceMultiMap<Entity>[] entityLists;
+
+    @Nullable private EntitySectionGrid[] collisionsImpl$grids;
+    @Nullable private GameRules.Value collisionsImpl$crammingRule;
+
+    @Inject(method = "addEntity", at = @At("RETURN"))
+    private void collisionsImpl$addToSectionGrid(final Entity entityIn, final CallbackInfo ci) {
+        if (this.collisionsImpl$grids != null && entityIn.addedToChunk) {
+            final EntitySectionGrid grid = this.collisionsImpl$grids[MathHelper.clamp(entityIn.chunkCoordY, 0, this.entityLists.length - 1)];
+            if (grid != null) {
+                grid.add(entityIn);
+            }
+        }
+    }
+
+    @Inject(method = "removeEntityAtIndex", at = @At("HEAD"))
+    private void collisionsImpl$removeFromSectionGrid(final Entity entityIn, final int index, final CallbackInfo ci) {
+        if (this.collisionsImpl$grids == null) {
+            return;
+        }
+        final int section = MathHelper.clamp(index, 0, this.entityLists.length - 1);
+        final EntitySectionGrid grid = this.collisionsImpl$grids[section];
+        if (grid != null) {
+            grid.remove(entityIn);
+            if (this.entityLists[section].size() <= EntitySectionGrid.MIN_ENTITIES / 2) {
+                grid.clear();
+                this.collisionsImpl$grids[section] = null;
+            }
+        }
+    }
+
+    /**
+     * Looks up the candidates of crowded chunk sections through their
+     * {@link EntitySectionGrid} instead of checking every entity of the
+     * section. Otherwise the same as the vanilla method, including the
+     * collision limits applied by the injection below.
+     */
+    @SuppressWarnings("Guava")
+    @Inject(method = "getEntitiesWithinAABBForEntity", at = @At("HEAD"), cancellable = true)
+    private void collisionsImpl$useSectionGrids(@Nullable final Entity entityIn, final AxisAlignedBB aabb, final List<Entity> listToFill,
+        @Nullable final Predicate<? super Entity> filter, final CallbackInfo ci) {
+        if (!(this.world instanceof WorldServer) || ((WorldBridge) this.world).bridge$isFake()) {
+            return;
+        }
+        final double radius = SpongeImplHooks.getWorldMaxEntityRadius((WorldServer) this.world);
+        final int minSection = MathHelper.clamp(MathHelper.floor((aabb.minY - radius) / 16.0D), 0, this.entityLists.length - 1);
+        final int maxSection = MathHelper.clamp(MathHelper.floor((aabb.maxY + radius) / 16.0D), 0, this.entityLists.length - 1);
+        boolean crowded = false;
+        for (int section = minSection; section <= maxSection; section++) {
+            if (this.entityLists[section].size() >= EntitySectionGrid.MIN_ENTITIES) {
+                crowded = true;
+                break;
+            }
+        }
+        if (!crowded) {
+            return;
+        }
+        ci.cancel();
+
+        final boolean limited = entityIn != null && !(entityIn instanceof EntityPlayer) && entityIn.getParts() == null;
+        final List<Entity> candidates = new ArrayList<>();
+        for (int section = minSection; section <= maxSection; section++) {
+            final ClassInheritanceMultiMap<Entity> entities = this.entityLists[section];
+            if (entities.isEmpty()) {
+                continue;
+            }
+            Iterable<Entity> sectionCandidates = entities;
+            if (entities.size() >= EntitySectionGrid.MIN_ENTITIES) {
+                candidates.clear();
+                collisionsImpl$getOrCreateGrid(section).getCandidates(aabb, candidates);
+                sectionCandidates = candidates;
+            }
+            for (final Entity entity : sectionCandidates) {
+                if (entity.getEntityBoundingBox().intersects(aabb) && entity != entityIn) {
+                    if (filter == null || filter.apply(entity)) {
+                        if (limited && !collisionsImpl$allowEntityCollision(listToFill)) {
+                            return;
+                        }
+                        listToFill.add(entity);
+                    }
+                    final Entity[] parts = entity.getParts();
+                    if (parts != null) {
+                        for (final Entity part : parts) {
+                            if (part != entityIn && part.getEntityBoundingBox().intersects(aabb) && (filter == null || filter.apply(part))) {
+                                if (limited && !collisionsImpl$allowEntityCollision(listToFill)) {
+                                    return;
+                                }
+                                listToFill.add(part);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private EntitySectionGrid collisionsImpl$getOrCreateGrid(final int section) {
+        if (this.collisionsImpl$grids == null) {
+            this.collisionsImpl$grids = new EntitySectionGrid[this.entityLists.length];
+        }
+        EntitySectionGrid grid = this.collisionsImpl$grids[section];
+        if (grid == null) {
+            grid = new EntitySectionGrid(this.entityLists[section]);
+            this.collisionsImpl$grids[section] = grid;
+        }
+        return grid;
+    }
+
+    // The rule value is shared with the world's game rules and updated in place when the rule changes
+    private int collisionsImpl$getMaxEntityCramming() {
+        GameRules.Value rule = this.collisionsImpl$crammingRule;
+        if (rule == null) {
+            rule = ((GameRulesAccessor) this.world.getGameRules()).accessor$getRules().get("maxEntityCramming");
+            if (rule == null) {
+                return 0;
+            }
+            this.collisionsImpl$crammingRule = rule;
+        }
+        return rule.getInt();
+    }
 
     @SuppressWarnings("Guava")
     @Inject(method = "getEntitiesWithinAABBForEntity",
@@ -95,7 +225,7 @@ public abstract class ChunkMixin_Collisions {
                 return true;
             }
 
-            if (listToFill.size() < this.world.getGameRules().getInt("maxEntityCramming")) {
+            if (listToFill.size() < collisionsImpl$getMaxEntityCramming()) {
                 return true;
             }
 
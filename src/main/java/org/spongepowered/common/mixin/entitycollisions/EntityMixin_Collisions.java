@@ -26,6 +26,7 @@
 
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.world.World;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.EntityType;
@@ -45,6 +46,9 @@
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.SpongeEntityType;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.CollisionsCapability;
+import org.spongepowered.common.world.EntitySectionGrid;
+
+import javax.annotation.Nullable;
 
 @Mixin(value = net.minecraft.entity.Entity.class, priority = 1002)
 public class EntityMixin_Collisions implements CollisionsCapability {
@@ -54,6 +58,8 @@ public class EntityMixin_Collisions implements CollisionsCapability {
     private boolean collision$refreshCache = false;
     private String collision$entityName = "unknown";
     private String collision$entityModId = "unknown";
+    @Nullable private EntitySectionGrid collision$grid;
+    private long collision$gridCell;
 
     @SuppressWarnings("ConstantConditions")
     @Inject(method = "<init>", at = @At("RETURN"))
@@ -82,6 +88,13 @@ public class EntityMixin_Collisions implements CollisionsCapability {
         }
     }
 
+    @Inject(method = "setEntityBoundingBox", at = @At("RETURN"))
+    private void collisions$moveInSectionGrid(final AxisAlignedBB bb, final CallbackInfo ci) {
+        if (this.collision$grid != null) {
+            this.collision$grid.move((net.minecraft.entity.Entity) (Object) this);
+        }
+    }
+
     @Override
     public int collision$getMaxCollisions() {
         return this.collision$maxCollisions;
@@ -181,4 +194,21 @@ public class EntityMixin_Collisions implements CollisionsCapability {
         return this.collision$refreshCache;
     }
 
+    @Nullable
+    @Override
+    public EntitySectionGrid collision$getGrid() {
+        return this.collision$grid;
+    }
+
+    @Override
+    public long collision$getGridCell() {
+        return this.collision$gridCell;
+    }
+
+    @Override
+    public void collision$setGrid(@Nullable final EntitySectionGrid grid, final long cell) {
+        this.collision$grid = grid;
+        this.collision$gridCell = cell;
+    }
+
 }
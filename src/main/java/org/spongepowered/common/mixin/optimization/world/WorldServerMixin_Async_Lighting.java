@@ -41,7 +41,8 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.util.math.BlockPosBridge;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
-import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.AsyncLightingMetrics;
+import org.spongepowered.common.world.SectionLightingQueue;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -52,8 +53,13 @@
 @Mixin(value = WorldServer.class)
 public abstract class WorldServerMixin_Async_Lighting extends WorldMixin implements WorldServerBridge_AsyncLighting {
 
+    // Each lighting thread needs its own list, the one of the world would be shared between them
+    private static final ThreadLocal<int[]> asyncLightingImpl$lightUpdateBlockList = ThreadLocal.withInitial(() -> new int[32768]);
+
     private ExecutorService asyncLightingImpl$lightExecutorService =
                 Executors.newFixedThreadPool(SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    private final boolean asyncLightingImpl$recordMetrics =
+                SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().isMetricsEnabled();
 
     @Override
     public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
@@ -67,7 +73,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) currentChunk;
+            final int[] lightUpdateBlockList = asyncLightingImpl$lightUpdateBlockList.get();
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -78,12 +84,12 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             final int k1 = pos.getZ();
 
             if (l > k) {
-                this.lightUpdateBlockList[j++] = 133152;
+                lightUpdateBlockList[j++] = 133152;
             } else if (l < k) {
-                this.lightUpdateBlockList[j++] = 133152 | k << 18;
+                lightUpdateBlockList[j++] = 133152 | k << 18;
 
                 while (i < j) {
-                    final int l1 = this.lightUpdateBlockList[i++];
+                    final int l1 = lightUpdateBlockList[i++];
                     final int i2 = (l1 & 63) - 32 + i1;
                     final int j2 = (l1 >> 6 & 63) - 32 + j1;
                     final int k2 = (l1 >> 12 & 63) - 32 + k1;
@@ -116,8 +122,8 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                                     i3 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
                                     // Sponge end
 
-                                    if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
-                                        this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
+                                    if (i3 == l2 - l4 && j < lightUpdateBlockList.length) {
+                                        lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
                                     }
                                 }
 
@@ -134,7 +140,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             //this.theProfiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
 
             while (i < j) {
-                final int i5 = this.lightUpdateBlockList[i++];
+                final int i5 = lightUpdateBlockList[i++];
                 final int j5 = (i5 & 63) - 32 + i1;
                 final int k5 = (i5 >> 6 & 63) - 32 + j1;
                 final int l5 = (i5 >> 12 & 63) - 32 + k1;
@@ -149,32 +155,32 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                         final int k6 = Math.abs(j5 - i1);
                         final int l6 = Math.abs(k5 - j1);
                         final int i7 = Math.abs(l5 - k1);
-                        final boolean flag = j < this.lightUpdateBlockList.length - 6;
+                        final boolean flag = j < lightUpdateBlockList.length - 6;
 
                         if (k6 + l6 + i7 < 17 && flag) {
                             // Sponge start - use thread safe method asyncLightingImpl$getLightForAsync
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
                             }
                             // Sponge end
                         }
@@ -182,15 +188,6 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).remove((Short) this.asyncLightingImpl$blockPosToShort(pos));
-            spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
-                neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -211,16 +208,98 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             return false;
         }
 
-        final short shortPos = this.asyncLightingImpl$blockPosToShort(pos);
-        if (spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).contains(shortPos)) {
-            return false;
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            // Updates caused by another light update are run right away, unless the position is queued anyway
+            if (SectionLightingQueue.canQueue(pos) && spongeChunk.asyncLightingBridge$getLightingQueue(lightType).isMarked(pos)) {
+                return false;
+            }
+            spongeChunk.asyncLightingBridge$setLightUpdateTime(currentChunk.getWorld().getTotalWorldTime());
+            return this.asyncLightingBridge$checkLightAsync(lightType, pos, currentChunk, this.asyncLightingImpl$getNeighborsForUpdate(spongeChunk));
         }
 
         final Chunk chunk = currentChunk;
-        spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).add(shortPos);
-        spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
+        if (!SectionLightingQueue.canQueue(pos)) {
+            final List<Chunk> neighbors = this.asyncLightingImpl$acquireForUpdate(chunk);
+            this.asyncLightingImpl$lightExecutorService.execute(() -> {
+                try {
+                    this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+                } finally {
+                    this.asyncLightingImpl$releaseAfterUpdate(chunk, neighbors);
+                }
+            });
+            return true;
+        }
+
+        // Queue the position in its section, only the first position queued in a section submits a task
+        final SectionLightingQueue queue = spongeChunk.asyncLightingBridge$getLightingQueue(lightType);
+        if (!queue.mark(pos)) {
+            return false;
+        }
         spongeChunk.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+        if (this.asyncLightingImpl$recordMetrics) {
+            AsyncLightingMetrics.onQueued();
+        }
+        final int section = pos.getY() >> 4;
+        if (queue.trySchedule(section)) {
+            final List<Chunk> neighbors = this.asyncLightingImpl$acquireForUpdate(chunk);
+            final long scheduledTime = System.nanoTime();
+            this.asyncLightingImpl$lightExecutorService.execute(() -> {
+                this.asyncLightingImpl$updateSection(lightType, chunk, neighbors, queue, section, scheduledTime);
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Updates the light of all queued positions in a section of a chunk,
+     * including any position queued while doing so.
+     */
+    private void asyncLightingImpl$updateSection(final EnumSkyBlock lightType, final Chunk chunk, final List<Chunk> neighbors,
+            final SectionLightingQueue queue, final int section, final long scheduledTime) {
+        int updated = 0;
+        try {
+            do {
+                updated += queue.drain(section, index -> this.asyncLightingBridge$checkLightAsync(lightType,
+                        SectionLightingQueue.toBlockPos(chunk.x, chunk.z, section, index), chunk, neighbors));
+            } while (!queue.release(section));
+        } catch (final Throwable t) {
+            updated += queue.abandon(section);
+            throw t;
+        } finally {
+            this.asyncLightingImpl$releaseAfterUpdate(chunk, neighbors);
+            if (this.asyncLightingImpl$recordMetrics) {
+                AsyncLightingMetrics.onBatchCompleted(updated, System.nanoTime() - scheduledTime);
+            }
+        }
+    }
+
+    /**
+     * Marks the chunk and its neighbors as having a pending light update, so
+     * they are not unloaded until it completes.
+     *
+     * @return The neighbors of the chunk, including diagonal ones
+     */
+    private List<Chunk> asyncLightingImpl$acquireForUpdate(final Chunk chunk) {
+        final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) chunk;
+        final List<Chunk> neighbors = this.asyncLightingImpl$getNeighborsForUpdate(spongeChunk);
+        spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
+        for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
+            neighbor.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
+            neighbor.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+        }
+        return neighbors;
+    }
+
+    private void asyncLightingImpl$releaseAfterUpdate(final Chunk chunk, final List<Chunk> neighbors) {
+        ((ChunkBridge_AsyncLighting) chunk).asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+        for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
+            neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+        }
+    }
 
+    private List<Chunk> asyncLightingImpl$getNeighborsForUpdate(final ChunkBridge_AsyncLighting spongeChunk) {
         final List<Chunk> neighbors = spongeChunk.bridge$getNeighbors();
 
         // add diagonal chunks
@@ -246,23 +325,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                 neighbors.add(northWestChunk);
             }
         }
-
-        for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-            final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
-            neighbor.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
-            neighbor.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
-        }
-
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.asyncLightingImpl$lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.asyncLightingImpl$lightExecutorService.execute(() -> {
-                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
-        }
-
-        return true;
+        return neighbors;
     }
 
     @Override
@@ -366,24 +429,4 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             }
         }
     }
-
-    private short asyncLightingImpl$blockPosToShort(final BlockPos pos) {
-        short serialized = (short) asyncLightingImpl$setNibble(0, pos.getX() & Constants.Chunk.XZ_MASK, 0, Constants.Chunk.NUM_XZ_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getY() & Constants.Chunk.Y_SHORT_MASK, 1, Constants.Chunk.NUM_SHORT_Y_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getZ() & Constants.Chunk.XZ_MASK, 3, Constants.Chunk.NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Modifies bits in an integer.
-     *
-     * @param num Integer to modify
-     * @param data Bits of data to add
-     * @param which Index of nibble to start at
-     * @param bitsToReplace The number of bits to replace starting from nibble index
-     * @return The modified integer
-     */
-    private int asyncLightingImpl$setNibble(final int num, final int data, final int which, final int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
-    }
 }
@@ -47,11 +47,10 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.SectionLightingQueue;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -63,9 +62,9 @@
 public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLighting {
 
     // Keeps track of block positions in this chunk currently queued for sky light update
-    private Set<Short> asyncLighting$queuedSkyLightingUpdates = ConcurrentHashMap.newKeySet();
+    private final SectionLightingQueue asyncLighting$queuedSkyLightingUpdates = new SectionLightingQueue();
     // Keeps track of block positions in this chunk currently queued for block light update
-    private Set<Short> asyncLighting$queuedBlockLightingUpdates = ConcurrentHashMap.newKeySet();
+    private final SectionLightingQueue asyncLighting$queuedBlockLightingUpdates = new SectionLightingQueue();
     private AtomicInteger asyncLighting$pendingLightUpdates = new AtomicInteger();
     private long asyncLighting$lightUpdateTime;
     private ExecutorService asyncLighting$lightExecutorService;
@@ -702,13 +701,13 @@ else if (flag && k == 0 && !this.asyncLighting$checkWorldLight(blockpos$mutableb
     }
 
     /**
-     * Gets the list of block positions currently queued for lighting updates.
+     * Gets the block positions currently queued for lighting updates.
      *
      * @param type The light type
-     * @return The list of queued block positions, empty if none
+     * @return The queued block positions
      */
     @Override
-    public Set<Short> asyncLightingBridge$getQueuedLightingUpdates(final EnumSkyBlock type) {
+    public SectionLightingQueue asyncLightingBridge$getLightingQueue(final EnumSkyBlock type) {
         if (type == EnumSkyBlock.SKY) {
             return this.asyncLighting$queuedSkyLightingUpdates;
         }
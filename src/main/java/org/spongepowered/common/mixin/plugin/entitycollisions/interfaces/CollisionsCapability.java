@@ -25,6 +25,9 @@
 package org.spongepowered.common.mixin.plugin.entitycollisions.interfaces;
 
 import net.minecraft.world.World;
+import org.spongepowered.common.world.EntitySectionGrid;
+
+import javax.annotation.Nullable;
 
 public interface CollisionsCapability {
 
@@ -46,4 +49,10 @@ public interface CollisionsCapability {
 
     void collision$setModDataId(String id);
 
+    @Nullable EntitySectionGrid collision$getGrid();
+
+    long collision$getGridCell();
+
+    void collision$setGrid(@Nullable EntitySectionGrid grid, long cell);
+
 }
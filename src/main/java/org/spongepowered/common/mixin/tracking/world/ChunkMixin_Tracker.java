@@ -24,6 +24,10 @@
  */
 package org.spongepowered.common.mixin.tracking.world;
 
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.ITileEntityProvider;
 import net.minecraft.entity.player.EntityPlayer;
@@ -60,7 +64,6 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -78,8 +81,8 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
 
 
     @Nullable private UserStorageService trackerImpl$userStorageService;
-    private Map<Integer, PlayerTracker> trackerImpl$trackedIntBlockPositions = new HashMap<>();
-    private Map<Short, PlayerTracker> trackerImpl$trackedShortBlockPositions = new HashMap<>();
+    private Int2LongMap trackerImpl$trackedIntBlockPositions = tracker$newIntPositionMap();
+    private Short2LongMap trackerImpl$trackedShortBlockPositions = tracker$newShortPositionMap();
 
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"))
     private void tracker$setUpUserService(@Nullable final World worldIn, final int x, final int z, final CallbackInfo ci) {
@@ -137,40 +140,31 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         final int indexForUniqueId = worldInfo.bridge$getIndexForUniqueId(user.getUniqueId());
         if (pos.getY() <= 255) {
             final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker playerTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
+            final Short2LongMap positions = this.trackerImpl$trackedShortBlockPositions;
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                // An existing tracked position is notified by its new owner as well
+                positions.put(blockPos, PlayerTracker.pack(indexForUniqueId, positions.containsKey(blockPos) ? indexForUniqueId : -1));
             } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                positions.put(blockPos, PlayerTracker.pack(PlayerTracker.unpackOwner(positions.get(blockPos)), indexForUniqueId));
             }
         } else {
             final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker playerTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
+            final Int2LongMap positions = this.trackerImpl$trackedIntBlockPositions;
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                positions.put(blockPos, PlayerTracker.pack(indexForUniqueId, positions.containsKey(blockPos) ? indexForUniqueId : -1));
             } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                positions.put(blockPos, PlayerTracker.pack(PlayerTracker.unpackOwner(positions.get(blockPos)), indexForUniqueId));
             }
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() {
+    public Int2LongMap bridge$getTrackedIntPlayerPositions() {
         return this.trackerImpl$trackedIntBlockPositions;
     }
 
     @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() {
+    public Short2LongMap bridge$getTrackedShortPlayerPositions() {
         return this.trackerImpl$trackedShortBlockPositions;
     }
 
@@ -179,20 +173,10 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int intKey = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            final int notifierIndex = intTracker.ownerIndex;
-            return this.tracker$getValidatedUser(intKey, notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int notifierIndex = shortTracker.ownerIndex;
-                return this.tracker$getValidatedUser(shortKey, notifierIndex);
-            }
+        final long tracked = this.tracker$getTrackedIndices(pos);
+        if (tracked != PlayerTracker.NONE) {
+            return this.tracker$getValidatedUser(pos, PlayerTracker.unpackOwner(tracked));
         }
-
         return Optional.empty();
     }
 
@@ -201,20 +185,10 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = intTracker.ownerIndex;
-            return this.tracker$getValidatedUUID(key, ownerIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int ownerIndex = shortTracker.ownerIndex;
-                return this.tracker$getValidatedUUID(shortKey, ownerIndex);
-            }
+        final long tracked = this.tracker$getTrackedIndices(pos);
+        if (tracked != PlayerTracker.NONE) {
+            return this.tracker$getValidatedUUID(pos, PlayerTracker.unpackOwner(tracked));
         }
-
         return Optional.empty();
     }
 
@@ -223,18 +197,10 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int intKey = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            return this.tracker$getValidatedUser(intKey, intTracker.notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.tracker$getValidatedUser(shortKey, shortTracker.notifierIndex);
-            }
+        final long tracked = this.tracker$getTrackedIndices(pos);
+        if (tracked != PlayerTracker.NONE) {
+            return this.tracker$getValidatedUser(pos, PlayerTracker.unpackNotifier(tracked));
         }
-
         return Optional.empty();
     }
 
@@ -243,23 +209,27 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            return this.tracker$getValidatedUUID(key, intTracker.notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.tracker$getValidatedUUID(shortKey, shortTracker.notifierIndex);
-            }
+        final long tracked = this.tracker$getTrackedIndices(pos);
+        if (tracked != PlayerTracker.NONE) {
+            return this.tracker$getValidatedUUID(pos, PlayerTracker.unpackNotifier(tracked));
         }
-
         return Optional.empty();
     }
 
-    private Optional<User> tracker$getValidatedUser(final int key, final int ownerIndex) {
-        final Optional<UUID> uuid = this.tracker$getValidatedUUID(key, ownerIndex);
+    /**
+     * Gets the packed owner and notifier indices tracked at the given
+     * position, or {@link PlayerTracker#NONE} if the position is not tracked.
+     */
+    private long tracker$getTrackedIndices(final BlockPos pos) {
+        final long tracked = this.trackerImpl$trackedIntBlockPositions.get(Constants.Sponge.blockPosToInt(pos));
+        if (tracked != PlayerTracker.NONE) {
+            return tracked;
+        }
+        return this.trackerImpl$trackedShortBlockPositions.get(Constants.Sponge.blockPosToShort(pos));
+    }
+
+    private Optional<User> tracker$getValidatedUser(final BlockPos pos, final int ownerIndex) {
+        final Optional<UUID> uuid = this.tracker$getValidatedUUID(pos, ownerIndex);
         if (uuid.isPresent()) {
             final UUID userUniqueId = uuid.get();
             // get player if online
@@ -273,12 +243,14 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         return Optional.empty();
     }
 
-    private Optional<UUID> tracker$getValidatedUUID(final int key, final int ownerIndex) {
+    private Optional<UUID> tracker$getValidatedUUID(final BlockPos pos, final int ownerIndex) {
         final UUID uuid = (((WorldInfoBridge) this.world.getWorldInfo()).bridge$getUniqueIdForIndex(ownerIndex)).orElse(null);
         if (uuid != null) {
             // Verify id is valid and not invalid
             if (SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getInvalidLookupUuids().contains(uuid)) {
-                this.trackerImpl$trackedIntBlockPositions.remove(key);
+                if (this.trackerImpl$trackedIntBlockPositions.remove(Constants.Sponge.blockPosToInt(pos)) == PlayerTracker.NONE) {
+                    this.trackerImpl$trackedShortBlockPositions.remove(Constants.Sponge.blockPosToShort(pos));
+                }
                 return Optional.empty();
             }
             // player is not online, get or create user from storage
@@ -311,26 +283,15 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return;
         }
+        final int notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
         if (pos.getY() <= 255) {
             final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            final long tracked = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
+            this.trackerImpl$trackedShortBlockPositions.put(blockPos, PlayerTracker.pack(PlayerTracker.unpackOwner(tracked), notifierIndex));
         } else {
             final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            final long tracked = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
+            this.trackerImpl$trackedIntBlockPositions.put(blockPos, PlayerTracker.pack(PlayerTracker.unpackOwner(tracked), notifierIndex));
         }
     }
 
@@ -340,37 +301,42 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return;
         }
+        final int ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
         if (pos.getY() <= 255) {
             final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo())
-                        .bridge$getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            final long tracked = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
+            this.trackerImpl$trackedShortBlockPositions.put(blockPos, PlayerTracker.pack(ownerIndex, PlayerTracker.unpackNotifier(tracked)));
         } else {
             final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo())
-                        .bridge$getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            final long tracked = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
+            this.trackerImpl$trackedIntBlockPositions.put(blockPos, PlayerTracker.pack(ownerIndex, PlayerTracker.unpackNotifier(tracked)));
         }
     }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) {
+    public void bridge$setTrackedIntPlayerPositions(final Int2LongMap trackedPositions) {
+        trackedPositions.defaultReturnValue(PlayerTracker.NONE);
         this.trackerImpl$trackedIntBlockPositions = trackedPositions;
     }
 
     @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) {
+    public void bridge$setTrackedShortPlayerPositions(final Short2LongMap trackedPositions) {
+        trackedPositions.defaultReturnValue(PlayerTracker.NONE);
         this.trackerImpl$trackedShortBlockPositions = trackedPositions;
     }
 
+    private static Int2LongMap tracker$newIntPositionMap() {
+        final Int2LongMap map = new Int2LongOpenHashMap(4);
+        map.defaultReturnValue(PlayerTracker.NONE);
+        return map;
+    }
+
+    private static Short2LongMap tracker$newShortPositionMap() {
+        final Short2LongMap map = new Short2LongOpenHashMap(4);
+        map.defaultReturnValue(PlayerTracker.NONE);
+        return map;
+    }
+
     @Inject(method = "onLoad", at = @At("HEAD"))
     private void trackerImpl$startLoad(final CallbackInfo callbackInfo) {
         final boolean isFake = ((WorldBridge) this.world).bridge$isFake();
@@ -59,6 +59,10 @@ public void init() {
         final TimingsCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getTimings();
         TimingsManager.privacy = category.isServerNamePrivate();
         TimingsManager.hiddenConfigs.addAll(category.getHiddenConfigEntries());
+        TimingsManager.uploadReports = category.isUploadEnabled();
+        TimingsManager.exportReports = category.isLocalExportEnabled();
+        TimingsManager.exportDirectory = SpongeImpl.getGameDir().resolve(category.getExportDirectory());
+        TimingsManager.exportHistoryLength = category.getExportHistoryLength();
         setVerboseTimingsEnabled(category.isVerbose());
         setTimingsEnabled(this.moduleEnabled && category.isEnabled());
         setHistoryInterval(category.getHistoryInterval());
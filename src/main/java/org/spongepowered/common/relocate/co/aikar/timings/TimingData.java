@@ -106,6 +106,10 @@ public JsonArray export() {
         return array;
     }
 
+    int getId() {
+        return id;
+    }
+
     boolean hasData() {
         return count > 0;
     }
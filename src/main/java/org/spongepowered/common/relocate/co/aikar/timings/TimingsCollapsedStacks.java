@@ -0,0 +1,125 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts timing histories into collapsed stacks, one line per stack with
+ * its frames separated by semicolons followed by the time spent in
+ * microseconds, the input format of most flame graph tools.
+ *
+ * <p>Timings only record the time of a child per direct parent, so the
+ * children of a handler are split over its parents in proportion to the
+ * time each parent spent in it.</p>
+ */
+class TimingsCollapsedStacks {
+
+    private static final int MAX_DEPTH = 64;
+
+    private final Int2ObjectMap<String> names;
+    private final Int2LongMap totals = new Int2LongOpenHashMap();
+    private final Int2ObjectMap<Int2LongMap> children = new Int2ObjectOpenHashMap<>();
+
+    TimingsCollapsedStacks(Int2ObjectMap<String> names, TimingHistory[] history) {
+        this.names = names;
+        for (TimingHistory timingHistory : history) {
+            for (TimingHistoryEntry entry : timingHistory.entries) {
+                final int id = entry.data.getId();
+                this.totals.put(id, this.totals.get(id) + entry.data.getTotalTime());
+                if (entry.children.length == 0) {
+                    continue;
+                }
+                Int2LongMap childTotals = this.children.get(id);
+                if (childTotals == null) {
+                    childTotals = new Int2LongOpenHashMap();
+                    this.children.put(id, childTotals);
+                }
+                for (TimingData child : entry.children) {
+                    childTotals.put(child.getId(), childTotals.get(child.getId()) + child.getTotalTime());
+                }
+            }
+        }
+    }
+
+    void write(Writer writer) throws IOException {
+        final IntSet nested = new IntOpenHashSet();
+        for (Int2LongMap childTotals : this.children.values()) {
+            nested.addAll(childTotals.keySet());
+        }
+        final IntSet path = new IntOpenHashSet();
+        for (Int2LongMap.Entry entry : this.totals.int2LongEntrySet()) {
+            if (!nested.contains(entry.getIntKey())) {
+                write(writer, entry.getIntKey(), getName(entry.getIntKey()), entry.getLongValue(), path);
+            }
+        }
+    }
+
+    private void write(Writer writer, int id, String stack, long time, IntSet path) throws IOException {
+        long self = time;
+        final Int2LongMap childTotals = this.children.get(id);
+        final long total = this.totals.get(id);
+        if (childTotals != null && total > 0 && path.size() < MAX_DEPTH) {
+            path.add(id);
+            final double share = (double) time / total;
+            for (Int2LongMap.Entry child : childTotals.int2LongEntrySet()) {
+                if (path.contains(child.getIntKey())) {
+                    // Recursive handlers would never terminate, they are accounted as self time
+                    continue;
+                }
+                final long childTime = Math.round(child.getLongValue() * share);
+                if (childTime <= 0) {
+                    continue;
+                }
+                self -= childTime;
+                write(writer, child.getIntKey(), stack + ';' + getName(child.getIntKey()), childTime, path);
+            }
+            path.remove(id);
+        }
+
+        final long micros = TimeUnit.NANOSECONDS.toMicros(self);
+        if (micros > 0) {
+            writer.write(stack);
+            writer.write(' ');
+            writer.write(Long.toString(micros));
+            writer.write('\n');
+        }
+    }
+
+    private String getName(int id) {
+        final String name = this.names.get(id);
+        // Semicolons separate the frames of a stack
+        return name == null ? "Unknown " + id : name.replace(';', ',');
+    }
+}
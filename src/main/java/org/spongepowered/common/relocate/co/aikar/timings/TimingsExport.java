@@ -34,6 +34,8 @@
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import ninja.leaping.configurate.ConfigurationNode;
 import org.spongepowered.api.Platform;
 import org.spongepowered.api.Sponge;
@@ -57,6 +59,7 @@
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -72,14 +75,16 @@ class TimingsExport extends Thread {
     private final TimingsReportListener listeners;
     private final JsonObject out;
     private final TimingHistory[] history;
+    private final Int2ObjectMap<String> handlerNames;
     private static long lastReport = 0;
     final static List<MessageChannel> requestingReport = Lists.newArrayList();
 
-    TimingsExport(TimingsReportListener listeners, JsonObject out, TimingHistory[] history) {
+    TimingsExport(TimingsReportListener listeners, JsonObject out, TimingHistory[] history, Int2ObjectMap<String> handlerNames) {
         super("Timings paste thread");
         this.listeners = listeners;
         this.out = out;
         this.history = history;
+        this.handlerNames = handlerNames;
     }
 
     private static String getServerName() {
@@ -161,6 +166,7 @@ static void reportTimings() {
         entityTypeSet.addAll(history[i].entityTypeSet);
 
         JsonObjectBuilder handlersBuilder = JSONUtil.objectBuilder();
+        Int2ObjectMap<String> handlerNames = new Int2ObjectOpenHashMap<>();
         for (TimingIdentifier.TimingGroup group : TimingIdentifier.GROUP_MAP.values()) {
             for (TimingHandler id : group.handlers) {
                 if (!id.timed && !id.isSpecial()) {
@@ -169,6 +175,7 @@ static void reportTimings() {
                 handlersBuilder.add(id.id, JSONUtil.arrayOf(
                         group.id,
                         id.name));
+                handlerNames.put(id.id, group.name + "::" + id.name);
             }
         }
 
@@ -201,12 +208,16 @@ static void reportTimings() {
             ).build();
         }));
 
+        // Information about Sponge's own subsystems
+
+        TimingsMetrics.addTo(builder);
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
                 .add("sponge", serializeConfigNode(SpongeImpl.getGlobalConfigAdapter().getRootNode())));
 
-        new TimingsExport(listeners, builder.build(), history).start();
+        new TimingsExport(listeners, builder.build(), history, handlerNames).start();
     }
 
     static long getCost() {
@@ -289,8 +300,31 @@ public synchronized void start() {
     public void run() {
         this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
 
-        String response = null;
         String timingsURL = null;
+        try {
+            if (TimingsManager.exportReports) {
+                exportLocally();
+            }
+            if (TimingsManager.uploadReports) {
+                timingsURL = upload();
+            }
+        } finally {
+            this.listeners.done(timingsURL);
+        }
+    }
+
+    private void exportLocally() {
+        try {
+            Path report = TimingsLocalExport.write(this.out, this.history, this.handlerNames);
+            this.listeners.send(Text.of(TextColors.GREEN, "Timings Report written to: ", report.toAbsolutePath().toString()));
+        } catch (IOException ex) {
+            this.listeners.send(Text.of(TextColors.RED, "Error writing timings, check your logs for more information"));
+            SpongeImpl.getLogger().error("Could not write timings to " + TimingsManager.exportDirectory, ex);
+        }
+    }
+
+    private String upload() {
+        String response = null;
         try {
             String hostname = "localhost";
             if (!TimingsManager.privacy) {
@@ -326,23 +360,23 @@ public void run() {
                 if (response != null) {
                     SpongeImpl.getLogger().fatal(response);
                 }
-                return;
+                return null;
             }
 
-            timingsURL = con.getHeaderField("Location");
+            String timingsURL = con.getHeaderField("Location");
             this.listeners.send(Text.of(TextColors.GREEN, "View Timings Report: ", TextActions.openUrl(new URL(timingsURL)), timingsURL));
 
             if (response != null && !response.isEmpty()) {
                 SpongeImpl.getLogger().info("Timing Response: " + response);
             }
+            return timingsURL;
         } catch (IOException ex) {
             this.listeners.send(Text.of(TextColors.RED, "Error uploading timings, check your logs for more information"));
             if (response != null) {
                 SpongeImpl.getLogger().fatal(response);
             }
             SpongeImpl.getLogger().fatal("Could not paste timings", ex);
-        } finally {
-            this.listeners.done(timingsURL);
+            return null;
         }
     }
 
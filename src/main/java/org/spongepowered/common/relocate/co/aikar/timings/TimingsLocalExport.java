@@ -0,0 +1,105 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.relocate.co.aikar.util.JSONUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes timings reports to the local export directory, keeping a rolling
+ * history of the last reports so they can be compared across restarts.
+ */
+final class TimingsLocalExport {
+
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final String PREFIX = "timings-";
+    private static final String REPORT_SUFFIX = ".json.gz";
+    private static final String STACKS_SUFFIX = ".collapsed.txt";
+
+    private TimingsLocalExport() {
+    }
+
+    /**
+     * Writes the report and the collapsed stacks of the given history.
+     *
+     * @return The path of the written report
+     */
+    static Path write(JsonObject out, TimingHistory[] history, Int2ObjectMap<String> handlerNames) throws IOException {
+        final Path directory = TimingsManager.exportDirectory;
+        Files.createDirectories(directory);
+
+        final String name = PREFIX + FILE_DATE_FORMAT.format(LocalDateTime.now());
+        final Path report = directory.resolve(name + REPORT_SUFFIX);
+        try (OutputStream stream = new GZIPOutputStream(Files.newOutputStream(report))) {
+            stream.write(JSONUtil.toString(out).getBytes(StandardCharsets.UTF_8));
+        }
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(name + STACKS_SUFFIX), StandardCharsets.UTF_8)) {
+            new TimingsCollapsedStacks(handlerNames, history).write(writer);
+        }
+
+        pruneHistory(directory);
+        return report;
+    }
+
+    private static void pruneHistory(Path directory) throws IOException {
+        if (TimingsManager.exportHistoryLength <= 0) {
+            return;
+        }
+        final List<String> reports = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + REPORT_SUFFIX)) {
+            for (Path path : stream) {
+                reports.add(path.getFileName().toString());
+            }
+        }
+        // The file names sort chronologically
+        Collections.sort(reports);
+        for (int i = 0; i < reports.size() - TimingsManager.exportHistoryLength; i++) {
+            final String report = reports.get(i);
+            final String name = report.substring(0, report.length() - REPORT_SUFFIX.length());
+            try {
+                Files.deleteIfExists(directory.resolve(report));
+                Files.deleteIfExists(directory.resolve(name + STACKS_SUFFIX));
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not delete old timings report {}", report, e);
+            }
+        }
+    }
+}
@@ -32,6 +32,8 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.relocate.co.aikar.util.LoadingMap;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -53,6 +55,10 @@ public final class TimingsManager {
     public static final Timing PLUGIN_GROUP_HANDLER = SpongeTimingsFactory.ofSafe("Plugins");
     public static List<String> hiddenConfigs = new ArrayList<>();
     public static boolean privacy = false;
+    public static boolean uploadReports = true;
+    public static boolean exportReports = false;
+    public static Path exportDirectory = Paths.get("timings");
+    public static int exportHistoryLength = 10;
 
     static final Collection<TimingHandler> HANDLERS = new ArrayDeque<>();
     static final ArrayDeque<TimingHistory.MinuteReport> MINUTE_REPORTS = new ArrayDeque<>();
@@ -0,0 +1,157 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.gson.JsonElement;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.data.ImmutableDataCachingUtil;
+import org.spongepowered.common.data.util.ProcessorDispatchTable;
+import org.spongepowered.common.relocate.co.aikar.util.JSONUtil;
+import org.spongepowered.common.relocate.co.aikar.util.JSONUtil.JsonObjectBuilder;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
+import org.spongepowered.common.world.AsyncLightingMetrics;
+import org.spongepowered.common.world.ChunkDeadlineQueue;
+import org.spongepowered.common.world.WorldManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The metrics of Sponge's own subsystems that are added to timings reports,
+ * each under its own key, in the order they were registered.
+ */
+public final class TimingsMetrics {
+
+    private static final Map<String, Supplier<JsonElement>> METRICS = new LinkedHashMap<>();
+
+    static {
+        // Information about the asynchronous task execution of plugins
+        register("scheduler", () -> JSONUtil.mapArrayToObject(SpongeImpl.getScheduler().getAsyncStatistics(), (statistics) -> {
+            return JSONUtil.singleObjectPair(statistics.getPlugin().getId(), JSONUtil.objectBuilder()
+                    .add("queued", statistics.getQueueDepth())
+                    .add("running", statistics.getRunning())
+                    .add("submitted", statistics.getSubmitted())
+                    .add("completed", statistics.getCompleted())
+                    .add("rejected", statistics.getRejected())
+                    .add("avgqueuelatency", statistics.getAverageQueueLatency(TimeUnit.MICROSECONDS))
+                    .add("maxqueuelatency", statistics.getMaxQueueLatency(TimeUnit.MICROSECONDS))
+                    .add("avgexecutiontime", statistics.getAverageExecutionTime(TimeUnit.MICROSECONDS))
+                    .build());
+        }));
+
+        // Information about batched asynchronous light updates
+        register("asynclighting", () -> {
+            if (!SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().isMetricsEnabled()) {
+                return null;
+            }
+            return JSONUtil.objectBuilder()
+                    .add("queued", AsyncLightingMetrics.getQueueDepth())
+                    .add("maxqueued", AsyncLightingMetrics.getMaxQueueDepth())
+                    .add("batches", AsyncLightingMetrics.getBatches())
+                    .add("updated", AsyncLightingMetrics.getProcessed())
+                    .add("avglatency", AsyncLightingMetrics.getAverageLatency(TimeUnit.MICROSECONDS))
+                    .add("maxlatency", AsyncLightingMetrics.getMaxLatency(TimeUnit.MICROSECONDS))
+                    .build();
+        });
+
+        // Information about the interning of immutable data
+        register("immutabledata", () -> JSONUtil.objectBuilder()
+                .add("manipulators", cacheStats(ImmutableDataCachingUtil.getManipulatorCacheStats(),
+                        ImmutableDataCachingUtil.getManipulatorCacheSize()))
+                .add("values", cacheStats(ImmutableDataCachingUtil.getValueCacheStats(),
+                        ImmutableDataCachingUtil.getValueCacheSize()))
+                .build());
+
+        // Information about the processor dispatch tables
+        register("dataprocessors", () -> JSONUtil.objectBuilder()
+                .add("dispatchHits", ProcessorDispatchTable.getHits())
+                .add("dispatchMisses", ProcessorDispatchTable.getMisses())
+                .build());
+
+        // Information about the resolved permission cache
+        register("permissions", () -> JSONUtil.objectBuilder()
+                .add("cacheHits", SpongeBaseSubject.getPermissionCacheHits())
+                .add("cacheMisses", SpongeBaseSubject.getPermissionCacheMisses())
+                .build());
+
+        // Information about chunk unloads
+        register("chunkunloads", () -> {
+            int queuedUnloads = 0;
+            for (final WorldServer world : WorldManager.getWorlds()) {
+                queuedUnloads += ((ChunkProviderServerBridge) world.getChunkProvider()).bridge$getUnloadQueueSize();
+            }
+            return JSONUtil.objectBuilder()
+                    .add("queued", queuedUnloads)
+                    .add("unloaded", ChunkDeadlineQueue.getUnloadedChunks())
+                    .add("latencyMillis", ChunkDeadlineQueue.getUnloadLatency())
+                    .build();
+        });
+    }
+
+    private TimingsMetrics() {
+    }
+
+    /**
+     * Registers metrics to add to timings reports. The supplier is called on
+     * the main thread for every report and may return null to leave the
+     * metrics out of it.
+     *
+     * @param key The key of the metrics in the report
+     * @param metrics The supplier of the metrics
+     */
+    public static synchronized void register(final String key, final Supplier<JsonElement> metrics) {
+        METRICS.put(key, metrics);
+    }
+
+    /**
+     * Creates the metrics of a cache.
+     *
+     * @param stats The cache stats
+     * @param size The estimated size of the cache
+     * @return The metrics
+     */
+    public static JsonElement cacheStats(final CacheStats stats, final long size) {
+        return JSONUtil.objectBuilder()
+                .add("size", size)
+                .add("hits", stats.hitCount())
+                .add("misses", stats.missCount())
+                .add("evictions", stats.evictionCount())
+                .build();
+    }
+
+    static synchronized void addTo(final JsonObjectBuilder builder) {
+        for (final Map.Entry<String, Supplier<JsonElement>> entry : METRICS.entrySet()) {
+            final JsonElement metrics = entry.getValue().get();
+            if (metrics != null) {
+                builder.add(entry.getKey(), metrics);
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executes the asynchronous tasks of plugins on a shared worker pool, while
+ * limiting the amount of tasks a single plugin may run at once and the amount
+ * of tasks of a single plugin that may wait for a worker.
+ */
+final class AsyncTaskExecutor {
+
+    // Asynchronous tasks mostly block on I/O, so the bounded pool is larger than the amount of processors
+    private static final int DEFAULT_MAX_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+    enum Mode {
+        CACHED,
+        BOUNDED,
+        VIRTUAL
+    }
+
+    private final ExecutorService workers;
+    private final int queueLimit;
+    private final int defaultConcurrency;
+    private final SchedulerCategory config;
+    private final ConcurrentMap<PluginContainer, PluginLane> lanes = new ConcurrentHashMap<>();
+
+    AsyncTaskExecutor(SchedulerCategory config) {
+        this.config = config;
+        this.queueLimit = config.getAsyncQueueLimit() <= 0 ? Integer.MAX_VALUE : config.getAsyncQueueLimit();
+        this.defaultConcurrency = config.getDefaultPluginConcurrency() <= 0 ? Integer.MAX_VALUE : config.getDefaultPluginConcurrency();
+        Mode mode;
+        try {
+            mode = Mode.valueOf(config.getAsyncExecutionMode().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            SpongeImpl.getLogger().warn("Unknown async execution mode '{}', falling back to 'cached'.", config.getAsyncExecutionMode());
+            mode = Mode.CACHED;
+        }
+        this.workers = createWorkers(mode, config.getAsyncMaxThreads() <= 0 ? DEFAULT_MAX_THREADS : config.getAsyncMaxThreads());
+    }
+
+    private static ExecutorService createWorkers(Mode mode, int maxThreads) {
+        // Plugin classes are only visible through the class loader that loaded the scheduler
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (mode == Mode.VIRTUAL) {
+            try {
+                final MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                        MethodType.methodType(ExecutorService.class));
+                return (ExecutorService) factory.invoke();
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                SpongeImpl.getLogger().warn("Virtual threads are not supported by this JVM, falling back to the 'bounded' async execution mode.");
+                mode = Mode.BOUNDED;
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("Could not create a virtual thread executor, falling back to the 'bounded' async execution mode.", t);
+                mode = Mode.BOUNDED;
+            }
+        }
+        // Like the cached pool the scheduler always used, the worker threads are not daemon threads
+        if (mode == Mode.BOUNDED) {
+            final AtomicInteger threadId = new AtomicInteger();
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "Sponge Async Scheduler Worker #" + threadId.incrementAndGet());
+                        thread.setContextClassLoader(classLoader);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+        return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat("Sponge Async Scheduler Worker #%d")
+                .build());
+    }
+
+    /**
+     * Gets an executor which runs tasks on behalf of the given plugin. Tasks
+     * submitted while the plugin's queue limit is reached are rejected with
+     * a {@link RejectedExecutionException}.
+     *
+     * @param plugin The plugin
+     * @return The executor
+     */
+    Executor forPlugin(PluginContainer plugin) {
+        return runnable -> this.execute(plugin, runnable);
+    }
+
+    /**
+     * Executes the runnable on behalf of the given plugin, limited by the
+     * queue limit and the concurrency limit of the plugin.
+     *
+     * @param plugin The plugin
+     * @param runnable The runnable to execute
+     * @throws RejectedExecutionException If the queue limit of the plugin is reached
+     */
+    void execute(PluginContainer plugin, Runnable runnable) {
+        final PluginLane lane = this.lanes.computeIfAbsent(plugin, this::createLane);
+        lane.submitted.increment();
+        final int queued = lane.queued.incrementAndGet();
+        if (queued > this.queueLimit) {
+            lane.queued.decrementAndGet();
+            lane.reject();
+            throw new RejectedExecutionException("The asynchronous task queue of plugin " + plugin.getId() + " is full");
+        }
+        lane.offer(new Execution(lane, runnable));
+    }
+
+    private PluginLane createLane(PluginContainer plugin) {
+        final Integer limit = this.config.getPluginConcurrency().get(plugin.getId());
+        return new PluginLane(plugin, limit == null ? this.defaultConcurrency : limit <= 0 ? Integer.MAX_VALUE : limit);
+    }
+
+    List<AsyncTaskStatistics> getStatistics() {
+        final ImmutableList.Builder<AsyncTaskStatistics> statistics = ImmutableList.builder();
+        for (PluginLane lane : this.lanes.values()) {
+            statistics.add(lane.snapshot());
+        }
+        return statistics.build();
+    }
+
+    private void dispatch(Execution execution) {
+        try {
+            this.workers.execute(execution);
+        } catch (RejectedExecutionException e) {
+            // The pool is shut down
+            execution.lane.drop();
+        }
+    }
+
+    /**
+     * The tasks of a single plugin, which are held back while the plugin
+     * already runs as many tasks as it is allowed to.
+     */
+    private final class PluginLane {
+
+        private final PluginContainer plugin;
+        private final int concurrencyLimit;
+        // Guarded by this lane
+        private final Queue<Execution> backlog = new ArrayDeque<>();
+        private int running;
+
+        final AtomicInteger queued = new AtomicInteger();
+        final LongAdder submitted = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder totalQueueLatency = new LongAdder();
+        final AtomicLong maxQueueLatency = new AtomicLong();
+        final LongAdder totalExecutionTime = new LongAdder();
+
+        PluginLane(PluginContainer plugin, int concurrencyLimit) {
+            this.plugin = plugin;
+            this.concurrencyLimit = concurrencyLimit;
+        }
+
+        void offer(Execution execution) {
+            synchronized (this) {
+                if (this.running >= this.concurrencyLimit) {
+                    this.backlog.add(execution);
+                    return;
+                }
+                this.running++;
+            }
+            AsyncTaskExecutor.this.dispatch(execution);
+        }
+
+        void reject() {
+            this.rejected.increment();
+            final long rejected = this.rejected.sum();
+            // Log the first rejection and then every thousandth, a flooding plugin would spam the log otherwise
+            if (rejected == 1 || rejected % 1000 == 0) {
+                SpongeImpl.getLogger().error("Rejected an asynchronous task of plugin {} as {} of its tasks are already waiting to be "
+                        + "executed. {} tasks of this plugin have been rejected so far.", this.plugin.getId(),
+                        AsyncTaskExecutor.this.queueLimit, rejected);
+            }
+        }
+
+        /**
+         * Drops the execution that failed to be dispatched and the backlog
+         * of this lane, as the worker pool is shut down.
+         */
+        void drop() {
+            final int dropped;
+            synchronized (this) {
+                dropped = 1 + this.backlog.size();
+                this.backlog.clear();
+                this.running--;
+            }
+            this.queued.addAndGet(-dropped);
+            SpongeImpl.getLogger().error("Dropped {} asynchronous tasks of plugin {} as the scheduler is shut down.", dropped,
+                    this.plugin.getId());
+        }
+
+        void onComplete() {
+            final Execution next;
+            synchronized (this) {
+                next = this.backlog.poll();
+                if (next == null) {
+                    this.running--;
+                    return;
+                }
+            }
+            AsyncTaskExecutor.this.dispatch(next);
+        }
+
+        void recordQueueLatency(long latency) {
+            this.totalQueueLatency.add(latency);
+            this.maxQueueLatency.accumulateAndGet(latency, Math::max);
+        }
+
+        AsyncTaskStatistics snapshot() {
+            final int running;
+            synchronized (this) {
+                running = this.running;
+            }
+            return new AsyncTaskStatistics(this.plugin, this.queued.get(), running, this.submitted.sum(), this.completed.sum(),
+                    this.rejected.sum(), this.totalQueueLatency.sum(), this.maxQueueLatency.get(), this.totalExecutionTime.sum());
+        }
+    }
+
+    private final class Execution implements Runnable {
+
+        final PluginLane lane;
+        private final Runnable runnable;
+        private final long submitTime = System.nanoTime();
+
+        Execution(PluginLane lane, Runnable runnable) {
+            this.lane = lane;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            this.lane.queued.decrementAndGet();
+            this.lane.recordQueueLatency(start - this.submitTime);
+            try {
+                this.runnable.run();
+            } finally {
+                this.lane.totalExecutionTime.add(System.nanoTime() - start);
+                this.lane.completed.increment();
+                this.lane.onComplete();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the asynchronous task execution statistics of a single
+ * plugin.
+ */
+public final class AsyncTaskStatistics {
+
+    private final PluginContainer plugin;
+    private final int queued;
+    private final int running;
+    private final long submitted;
+    private final long completed;
+    private final long rejected;
+    private final long totalQueueLatency;
+    private final long maxQueueLatency;
+    private final long totalExecutionTime;
+
+    AsyncTaskStatistics(PluginContainer plugin, int queued, int running, long submitted, long completed, long rejected,
+            long totalQueueLatency, long maxQueueLatency, long totalExecutionTime) {
+        this.plugin = plugin;
+        this.queued = queued;
+        this.running = running;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.totalQueueLatency = totalQueueLatency;
+        this.maxQueueLatency = maxQueueLatency;
+        this.totalExecutionTime = totalExecutionTime;
+    }
+
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets the amount of tasks waiting for a worker or for the concurrency
+     * limit of the plugin.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.queued;
+    }
+
+    public int getRunning() {
+        return this.running;
+    }
+
+    public long getSubmitted() {
+        return this.submitted;
+    }
+
+    public long getCompleted() {
+        return this.completed;
+    }
+
+    /**
+     * Gets the amount of tasks that were rejected because the queue limit of
+     * the plugin was reached.
+     *
+     * @return The amount of rejected tasks
+     */
+    public long getRejected() {
+        return this.rejected;
+    }
+
+    public long getAverageQueueLatency(TimeUnit unit) {
+        return this.completed == 0 ? 0 : unit.convert(this.totalQueueLatency / this.completed, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxQueueLatency(TimeUnit unit) {
+        return unit.convert(this.maxQueueLatency, TimeUnit.NANOSECONDS);
+    }
+
+    public long getAverageExecutionTime(TimeUnit unit) {
+        return this.completed == 0 ? 0 : unit.convert(this.totalExecutionTime / this.completed, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("plugin", this.plugin.getId())
+                .add("queued", this.queued)
+                .add("running", this.running)
+                .add("submitted", this.submitted)
+                .add("completed", this.completed)
+                .add("rejected", this.rejected)
+                .add("avgQueueLatencyMs", getAverageQueueLatency(TimeUnit.MILLISECONDS))
+                .add("maxQueueLatencyMs", getMaxQueueLatency(TimeUnit.MILLISECONDS))
+                .toString();
+    }
+
+}
@@ -36,6 +36,8 @@
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -58,6 +60,20 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    // The scheduler this task was submitted to, notified when the task is
+    // cancelled so it can be dropped from its queue right away.
+    @Nullable private SchedulerBase scheduler;
+
+    // Intrusive links of the timing wheel this task is queued in, guarded by
+    // the queue lock of the owning scheduler.
+    @Nullable TimingWheel wheel;
+    @Nullable ScheduledTask wheelPrev;
+    @Nullable ScheduledTask wheelNext;
+    long wheelDeadline;
+    int wheelSlot = TimingWheel.NOT_QUEUED;
+    // Whether this task became due while its previous execution was still in
+    // progress, it is queued again once that execution completes.
+    boolean awaitingCompletion;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -141,6 +157,10 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        final SchedulerBase scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.removeTask(this);
+        }
         return success;
     }
 
@@ -182,6 +202,10 @@ long nextExecutionTimestamp() {
         return this.timestamp + this.offset;
     }
 
+    void setScheduler(SchedulerBase scheduler) {
+        this.scheduler = scheduler;
+    }
+
     void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
@@ -28,6 +28,7 @@
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.math.LongMath;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
@@ -35,17 +36,31 @@
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
 abstract class SchedulerBase {
 
+    // Real time tasks are bucketed per millisecond
+    private static final long WALL_CLOCK_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(1);
+
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Guards the timing wheels, tasks may be added or cancelled from any thread
+    private final Object queueLock = new Object();
+    // The pending tasks ordered by their next execution, tasks which are
+    // currently executing are not queued.
+    private final TimingWheel wallClockWheel = new TimingWheel(System.nanoTime(), WALL_CLOCK_RESOLUTION);
+    // The tasks which became due during the current tick, only used by the
+    // thread running the ticks.
+    private final List<ScheduledTask> dueTasks = new ArrayList<>();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -72,24 +87,78 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets the timing wheel which orders the task by the current timestamp
+     * type of the task, see {@link #getTimestamp(ScheduledTask)}.
+     *
+     * @param task The task
+     * @return The timing wheel for the task
+     */
+    protected TimingWheel getWheel(ScheduledTask task) {
+        return this.wallClockWheel;
+    }
+
+    /**
+     * Advances every timing wheel to the current time, collecting the tasks
+     * that became due. Called while holding the queue lock.
+     *
+     * @param due The list to add the due tasks to
+     */
+    protected void collectDueTasks(List<ScheduledTask> due) {
+        this.wallClockWheel.advance(System.nanoTime(), due);
+    }
+
+    /**
+     * Gets the real time timestamp at which the next queued task becomes due.
+     *
+     * @return The next deadline, or {@link Long#MAX_VALUE} if no task is queued
+     */
+    protected long getNextDeadline() {
+        synchronized (this.queueLock) {
+            return this.wallClockWheel.nextDeadline();
+        }
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
-     * next call to {@link #runTick}.
+     * first call to {@link #runTick} after it becomes due.
      *
      * @param task The task to add
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.setScheduler(this);
         this.taskMap.put(task.getUniqueId(), task);
+        this.queueTask(task);
     }
 
     /**
-     * Removes the task from the task map.
+     * Removes the task from the task map and the queue.
      *
      * @param task The task to remove
      */
     protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
+        synchronized (this.queueLock) {
+            if (task.wheel != null) {
+                task.wheel.remove(task);
+            }
+        }
+    }
+
+    /**
+     * Queues the task until its next execution timestamp.
+     *
+     * @param task The task to queue
+     */
+    private void queueTask(ScheduledTask task) {
+        synchronized (this.queueLock) {
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED || task.wheel != null) {
+                return;
+            }
+            final long threshold = task.getState().isActive ? task.period : task.offset;
+            this.getWheel(task).add(task, LongMath.saturatedAdd(task.getTimestamp(), threshold));
+        }
     }
 
     protected Optional<Task> getTask(UUID id) {
@@ -103,15 +172,21 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks which are due.
      */
     protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            synchronized (this.queueLock) {
+                this.collectDueTasks(this.dueTasks);
+            }
+            for (int i = 0; i < this.dueTasks.size(); i++) {
+                this.processTask(this.dueTasks.get(i));
+            }
             this.postTick();
         } finally {
+            this.dueTasks.clear();
             this.finallyPostTick();
         }
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.stopTimingIfSync();
@@ -137,7 +212,7 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes a task which became due.
      *
      * @param task The task to process
      */
@@ -148,34 +223,33 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
-        // If the task is already being processed, we wait for the previous
-        // occurrence to terminate.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
-            return;
-        }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
+        synchronized (this.queueLock) {
+            // If the task is already being processed, we wait for the previous
+            // occurrence to terminate, it is queued again on completion.
+            final ScheduledTask.ScheduledTaskState state = task.getState();
+            if (state == ScheduledTask.ScheduledTaskState.EXECUTING || state == ScheduledTask.ScheduledTaskState.SWITCHING) {
+                task.awaitingCompletion = true;
+                return;
+            }
         }
+        long threshold = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.offset : task.period;
         // This moment is 'now'
         long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
-        // Repeating tasks get a reset-timestamp each time they are set RUNNING
-        // If the task has a period of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        // The wheel rounds deadlines up, this only fails to hold if the task
+        // switched timestamp types while it was queued.
+        if (threshold > (now - task.getTimestamp())) {
+            this.queueTask(task);
+            return;
+        }
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        startTask(task);
+        // If task is one time shot, remove it from the map, otherwise queue
+        // it until the next interval has passed.
+        if (task.period == 0L) {
+            this.removeTask(task);
+        } else {
+            this.queueTask(task);
         }
     }
 
@@ -229,7 +303,12 @@ protected PhaseContext<?> createContext(ScheduledTask task, PluginContainer cont
      * the {@link ScheduledTask.ScheduledTaskState#RUNNING} state
      */
     protected void onTaskCompletion(ScheduledTask task) {
-        // no-op for sync methods.
+        synchronized (this.queueLock) {
+            if (task.awaitingCompletion) {
+                task.awaitingCompletion = false;
+                this.queueTask(task);
+            }
+        }
     }
 
 }
@@ -43,6 +43,7 @@
 import org.spongepowered.common.bridge.entity.player.InventoryPlayerBridge;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -50,6 +51,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -199,7 +201,23 @@ public void tickSyncScheduler() {
     }
 
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
+        try {
+            return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor().forPlugin(SpongeImpl.getPlugin()));
+        } catch (RejectedExecutionException e) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    /**
+     * Gets the execution statistics of the asynchronous tasks of every plugin
+     * that submitted one.
+     *
+     * @return The statistics per plugin
+     */
+    public List<AsyncTaskStatistics> getAsyncStatistics() {
+        return this.asyncScheduler.getExecutor().getStatistics();
     }
 
     public Future<?> callSync(Runnable runnable) {
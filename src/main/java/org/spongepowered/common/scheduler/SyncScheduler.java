@@ -28,12 +28,16 @@
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.List;
+
 import javax.annotation.Nullable;
 
 public class SyncScheduler extends SchedulerBase {
 
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // The pending tasks whose current timestamp is measured in ticks
+    private final TimingWheel tickWheel = new TimingWheel(0L, 1L);
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
@@ -65,6 +69,21 @@ protected long getTimestamp(ScheduledTask task) {
         return 0L;
     }
 
+    @Override
+    protected TimingWheel getWheel(ScheduledTask task) {
+        final boolean isTicks = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks;
+        if (isTicks) {
+            return this.tickWheel;
+        }
+        return super.getWheel(task);
+    }
+
+    @Override
+    protected void collectDueTasks(List<ScheduledTask> due) {
+        this.tickWheel.advance(this.counter, due);
+        super.collectDueTasks(due);
+    }
+
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         try (BasicPluginContext context = createContext(task)) {
@@ -0,0 +1,265 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.math.LongMath;
+
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel holding the pending {@link ScheduledTask}s of a
+ * scheduler, ordered by the timestamp at which they next become due.
+ *
+ * <p>Timestamps are bucketed into units of the wheel resolution (one tick for
+ * tick based tasks, a millisecond for real time tasks). Every level has 64
+ * slots, each spanning 64 times the units of a slot on the level below it,
+ * and a task is placed on the lowest level on which its deadline still
+ * differs from the current time. Advancing the wheel only visits the occupied
+ * slots that were passed, and adding or removing a task is a constant time
+ * operation on an intrusive list.</p>
+ *
+ * <p>Deadlines are rounded up to the next unit, a task is therefore never
+ * reported as due before its timestamp has been reached.</p>
+ *
+ * <p>This class is not thread safe, the owning {@link SchedulerBase} guards
+ * every access.</p>
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+    // The extra list of tasks which were already due when they were added
+    private static final int EXPIRED = LEVELS * SLOTS;
+    static final int NOT_QUEUED = -1;
+
+    private final long origin;
+    private final long resolution;
+    private final ScheduledTask[] heads = new ScheduledTask[EXPIRED + 1];
+    // A bit set of the non empty slots on each level
+    private final long[] occupied = new long[LEVELS];
+    // The current time of the wheel, in units since the origin
+    private long current;
+    private int size;
+
+    /**
+     * Creates a new timing wheel.
+     *
+     * @param origin The timestamp at which the wheel starts, no timestamp
+     *     passed to {@link #advance} may be before it
+     * @param resolution The amount of timestamp units per wheel unit
+     */
+    TimingWheel(long origin, long resolution) {
+        checkArgument(resolution > 0, "Resolution must be positive");
+        this.origin = origin;
+        this.resolution = resolution;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Adds the task to this wheel, it will be returned by {@link #advance}
+     * once the given deadline has passed.
+     *
+     * @param task The task to add
+     * @param deadline The timestamp at which the task becomes due
+     */
+    void add(ScheduledTask task, long deadline) {
+        checkState(task.wheel == null, "Task %s is already queued", task);
+        task.wheel = this;
+        task.wheelDeadline = LongMath.divide(LongMath.saturatedSubtract(deadline, this.origin), this.resolution, RoundingMode.CEILING);
+        this.link(task);
+        this.size++;
+    }
+
+    /**
+     * Removes the task from this wheel.
+     *
+     * @param task The task to remove
+     * @return True if the task was queued in this wheel
+     */
+    boolean remove(ScheduledTask task) {
+        if (task.wheel != this) {
+            return false;
+        }
+        this.unlink(task);
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to the given timestamp and collects every task
+     * whose deadline has passed, removing them from the wheel.
+     *
+     * @param timestamp The current timestamp
+     * @param due The list to add the due tasks to
+     */
+    void advance(long timestamp, List<ScheduledTask> due) {
+        this.drain(EXPIRED, due);
+        final long now = LongMath.divide(LongMath.saturatedSubtract(timestamp, this.origin), this.resolution, RoundingMode.FLOOR);
+        if (now <= this.current) {
+            return;
+        }
+        final long previous = this.current;
+        this.current = now;
+        // Lower levels first, so that tasks cascading down from a higher level
+        // always land in slots which are still ahead of the current time.
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = level * SLOT_BITS;
+            final long from = previous >>> shift;
+            final long to = now >>> shift;
+            if (from == to) {
+                // Higher levels did not move either
+                break;
+            }
+            final int fromSlot = (int) from & SLOT_MASK;
+            // Within the same rotation only the passed slots are due, otherwise
+            // the remainder of the previous rotation is.
+            final int toSlot = (from >>> SLOT_BITS) == (to >>> SLOT_BITS) ? (int) to & SLOT_MASK : SLOT_MASK;
+            long passed = this.occupied[level] & rangeMask(fromSlot + 1, toSlot);
+            while (passed != 0) {
+                final int slot = Long.numberOfTrailingZeros(passed);
+                passed &= passed - 1;
+                this.drain(level * SLOTS + slot, due);
+            }
+        }
+    }
+
+    /**
+     * Gets the earliest timestamp at which {@link #advance} may return a task.
+     * This is exact for tasks due within the next 64 units, and the point at
+     * which the next level will be cascaded otherwise.
+     *
+     * @return The next deadline, or {@link Long#MAX_VALUE} if empty
+     */
+    long nextDeadline() {
+        if (this.heads[EXPIRED] != null) {
+            return this.toTimestamp(this.current);
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            final long occupied = this.occupied[level];
+            if (occupied != 0) {
+                final int shift = level * SLOT_BITS;
+                final int rotationShift = shift + SLOT_BITS;
+                final long rotation = rotationShift >= Long.SIZE ? 0L : (this.current >>> rotationShift) << rotationShift;
+                return this.toTimestamp(rotation | ((long) Long.numberOfTrailingZeros(occupied) << shift));
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private long toTimestamp(long units) {
+        return LongMath.saturatedAdd(this.origin, LongMath.saturatedMultiply(units, this.resolution));
+    }
+
+    private void drain(int index, List<ScheduledTask> due) {
+        ScheduledTask task = this.heads[index];
+        if (task == null) {
+            return;
+        }
+        this.heads[index] = null;
+        if (index != EXPIRED) {
+            this.occupied[index / SLOTS] &= ~(1L << (index & SLOT_MASK));
+        }
+        while (task != null) {
+            final ScheduledTask next = task.wheelNext;
+            if (task.wheelDeadline <= this.current) {
+                task.wheel = null;
+                task.wheelPrev = null;
+                task.wheelNext = null;
+                task.wheelSlot = NOT_QUEUED;
+                this.size--;
+                due.add(task);
+            } else {
+                this.link(task);
+            }
+            task = next;
+        }
+    }
+
+    private void link(ScheduledTask task) {
+        final long deadline = task.wheelDeadline;
+        final int index;
+        if (deadline <= this.current) {
+            index = EXPIRED;
+        } else {
+            // The highest group of bits in which the deadline differs from now
+            final int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(deadline ^ this.current)) / SLOT_BITS;
+            final int slot = (int) (deadline >>> (level * SLOT_BITS)) & SLOT_MASK;
+            index = level * SLOTS + slot;
+            this.occupied[level] |= 1L << slot;
+        }
+        final ScheduledTask head = this.heads[index];
+        task.wheelPrev = null;
+        task.wheelNext = head;
+        if (head != null) {
+            head.wheelPrev = task;
+        }
+        this.heads[index] = task;
+        task.wheelSlot = index;
+    }
+
+    private void unlink(ScheduledTask task) {
+        final int index = task.wheelSlot;
+        if (task.wheelPrev != null) {
+            task.wheelPrev.wheelNext = task.wheelNext;
+        } else {
+            this.heads[index] = task.wheelNext;
+            if (task.wheelNext == null && index != EXPIRED) {
+                this.occupied[index / SLOTS] &= ~(1L << (index & SLOT_MASK));
+            }
+        }
+        if (task.wheelNext != null) {
+            task.wheelNext.wheelPrev = task.wheelPrev;
+        }
+        task.wheel = null;
+        task.wheelPrev = null;
+        task.wheelNext = null;
+        task.wheelSlot = NOT_QUEUED;
+    }
+
+    /**
+     * Gets a mask with the bits {@code from} up to and including {@code to}
+     * set, or no bits if the range is empty.
+     */
+    private static long rangeMask(int from, int to) {
+        if (from > to) {
+            return 0L;
+        }
+        return (-1L >>> (Long.SIZE - 1 - to)) & (-1L << from);
+    }
+
+}
@@ -58,7 +58,12 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String pe
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.setPermission(contexts, permission, value);
+        return invalidating(super.setPermission(contexts, permission, value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearPermissions() {
+        return invalidating(super.clearPermissions());
     }
 
     @Override
@@ -66,7 +71,7 @@ public CompletableFuture<Boolean> clearPermissions(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearPermissions(contexts);
+        return invalidating(super.clearPermissions(contexts));
     }
 
     @Override
@@ -74,7 +79,7 @@ public CompletableFuture<Boolean> addParent(Set<Context> contexts, SubjectRefere
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.addParent(contexts, parent);
+        return invalidating(super.addParent(contexts, parent));
     }
 
     @Override
@@ -82,7 +87,12 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, SubjectRef
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.removeParent(contexts, parent);
+        return invalidating(super.removeParent(contexts, parent));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearParents() {
+        return invalidating(super.clearParents());
     }
 
     @Override
@@ -90,6 +100,12 @@ public CompletableFuture<Boolean> clearParents(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearParents(contexts);
+        return invalidating(super.clearParents(contexts));
+    }
+
+    private static CompletableFuture<Boolean> invalidating(CompletableFuture<Boolean> result) {
+        // Invalidated after the change, so values resolved meanwhile aren't stored
+        SpongeBaseSubject.invalidatePermissionCache();
+        return result;
     }
 }
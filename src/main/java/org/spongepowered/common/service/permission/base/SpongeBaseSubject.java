@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
@@ -31,13 +32,42 @@
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public abstract class SpongeBaseSubject implements Subject {
 
+    private static final AtomicInteger permissionCacheGeneration = new AtomicInteger();
+    private static final LongAdder permissionCacheHits = new LongAdder();
+    private static final LongAdder permissionCacheMisses = new LongAdder();
+
+    private final Map<Set<Context>, Map<String, Tristate>> resolvedPermissions = new ConcurrentHashMap<>();
+    private volatile int resolvedPermissionsGeneration = permissionCacheGeneration.get();
+
+    /**
+     * Invalidates the resolved permissions of all subjects. Resolved values
+     * depend on parents and defaults, so any change to subject data or to
+     * the op levels invalidates every subject.
+     */
+    public static void invalidatePermissionCache() {
+        permissionCacheGeneration.incrementAndGet();
+    }
+
+    public static long getPermissionCacheHits() {
+        return permissionCacheHits.sum();
+    }
+
+    public static long getPermissionCacheMisses() {
+        return permissionCacheMisses.sum();
+    }
+
     public abstract PermissionService getService();
 
     @Override
@@ -60,9 +90,59 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        if (!isPermissionCacheable()) {
+            return resolvePermissionValue(contexts, permission);
+        }
+        final int generation = permissionCacheGeneration.get();
+        if (this.resolvedPermissionsGeneration != generation) {
+            this.resolvedPermissions.clear();
+            this.resolvedPermissionsGeneration = generation;
+        }
+        Map<String, Tristate> permissions = this.resolvedPermissions.get(contexts);
+        if (permissions == null) {
+            final Map<String, Tristate> created = new ConcurrentHashMap<>();
+            permissions = this.resolvedPermissions.putIfAbsent(ImmutableSet.copyOf(contexts), created);
+            if (permissions == null) {
+                permissions = created;
+            }
+        }
+        Tristate value = permissions.get(permission);
+        if (value != null) {
+            permissionCacheHits.increment();
+            return value;
+        }
+        permissionCacheMisses.increment();
+        value = resolvePermissionValue(contexts, permission);
+        // Don't store values resolved against data that changed in the meantime
+        if (permissionCacheGeneration.get() == generation) {
+            permissions.put(permission, value);
+        }
+        return value;
+    }
+
+    /**
+     * Resolves the permission value without going through the resolved
+     * permission cache.
+     *
+     * @param contexts The contexts to check with
+     * @param permission The permission to check
+     * @return The permission value
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
         return getDataPermissionValue(getTransientSubjectData(), permission);
     }
 
+    /**
+     * Gets whether resolved permission values of this subject can be
+     * cached, which requires all data they depend on to invalidate the
+     * cache when changed.
+     *
+     * @return True if resolved values can be cached
+     */
+    protected boolean isPermissionCacheable() {
+        return getService() instanceof SpongePermissionService && getTransientSubjectData() instanceof GlobalMemorySubjectData;
+    }
+
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
         Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
 
@@ -271,6 +271,7 @@ public static final class World {
             public static final String HAS_CUSTOM_DIFFICULTY = "HasCustomDifficulty";
             public static final String PORTAL_AGENT_TYPE = "portalAgentType";
             public static final String WORLD_SERIALIZATION_BEHAVIOR = "serializationBehavior";
+            public static final String TEMPLATE_WORLD = "templateWorld";
             public static final DataQuery WORLD_CUSTOM_SETTINGS = DataQuery.of("customSettings");
             public static final String LEVEL_SPONGE_DAT = "level_sponge.dat";
             public static final String LEVEL_SPONGE_DAT_OLD = "level_sponge.dat_old";
@@ -378,6 +379,7 @@ public static final class World {
 
 
         public static final int CHUNK_GC_TICK_INTERVAL = 600;
+        public static final int CHUNK_GC_MAX_CHECKS_PER_TICK = 1000;
 
         public static final Vector3i BLOCK_MIN = new Vector3i(-30000000, 0, -30000000);
         public static final Vector3i BIOME_MIN = new Vector3i(Constants.World.BLOCK_MIN.getX(), 0, Constants.World.BLOCK_MIN.getZ());
@@ -428,6 +430,8 @@ public static final class Chunk {
         public static final int Y_INT_MASK = 0xFFFFFF;
         public static final String CHUNK_DATA_LEVEL = "Level";
         public static final String CHUNK_DATA_SECTIONS = "Sections";
+        public static final String CHUNK_DATA_INHABITED_TIME = "InhabitedTime";
+        public static final String CHUNK_DATA_LAST_UPDATE = "LastUpdate";
         private static final int Y_SHIFT = Constants.Chunk.NUM_XZ_BITS;
     }
     public static final class Networking {
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue depth and latency of the batched asynchronous light updates of all
+ * worlds, recorded when enabled in the async lighting config.
+ */
+public final class AsyncLightingMetrics {
+
+    private static final LongAdder QUEUED = new LongAdder();
+    private static final LongAdder BATCHES = new LongAdder();
+    private static final LongAdder PROCESSED = new LongAdder();
+    private static final LongAdder TOTAL_LATENCY = new LongAdder();
+    private static final AtomicLong MAX_LATENCY = new AtomicLong();
+    private static final AtomicLong MAX_QUEUE_DEPTH = new AtomicLong();
+
+    private AsyncLightingMetrics() {
+    }
+
+    public static void onQueued() {
+        QUEUED.increment();
+    }
+
+    /**
+     * Records a completed batch. The maximum queue depth is sampled here,
+     * on the lighting thread, rather than for every queued position.
+     *
+     * @param positions The amount of positions updated by the batch
+     * @param latency The time in nanoseconds from scheduling the batch to its
+     *     completion
+     */
+    public static void onBatchCompleted(final int positions, final long latency) {
+        MAX_QUEUE_DEPTH.accumulateAndGet(QUEUED.sum(), Math::max);
+        QUEUED.add(-positions);
+        BATCHES.increment();
+        PROCESSED.add(positions);
+        TOTAL_LATENCY.add(latency);
+        MAX_LATENCY.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Gets the amount of positions queued but not yet updated.
+     *
+     * @return The queue depth
+     */
+    public static long getQueueDepth() {
+        return Math.max(0, QUEUED.sum());
+    }
+
+    public static long getMaxQueueDepth() {
+        return MAX_QUEUE_DEPTH.get();
+    }
+
+    public static long getBatches() {
+        return BATCHES.sum();
+    }
+
+    public static long getProcessed() {
+        return PROCESSED.sum();
+    }
+
+    public static long getAverageLatency(final TimeUnit unit) {
+        final long batches = BATCHES.sum();
+        return batches == 0 ? 0 : unit.convert(TOTAL_LATENCY.sum() / batches, TimeUnit.NANOSECONDS);
+    }
+
+    public static long getMaxLatency(final TimeUnit unit) {
+        return unit.convert(MAX_LATENCY.get(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A queue of chunk positions ordered by the time they are due, used by
+ * chunk providers to only look at chunks that need to be unloaded or saved
+ * instead of scanning every loaded chunk on every tick.
+ *
+ * <p>Each chunk has at most one deadline. Scheduling a chunk again replaces
+ * its previous deadline, and {@link #remove(long) removing} a chunk drops
+ * it. Replaced entries are skipped once they reach the head of the queue.</p>
+ */
+public final class ChunkDeadlineQueue {
+
+    private static final long NOT_SCHEDULED = Long.MIN_VALUE;
+
+    private static final LongAdder unloadedChunks = new LongAdder();
+    private static final LongAdder unloadLatency = new LongAdder();
+
+    private final Long2LongOpenHashMap scheduled = new Long2LongOpenHashMap();
+    private long[] deadlines = new long[64];
+    private long[] chunks = new long[64];
+    private int size;
+
+    public ChunkDeadlineQueue() {
+        this.scheduled.defaultReturnValue(NOT_SCHEDULED);
+    }
+
+    /**
+     * Schedules the chunk at the given packed position to be due at the
+     * given deadline, replacing any previous deadline of the chunk.
+     *
+     * @param chunkPos The packed chunk position
+     * @param deadline The time the chunk is due
+     */
+    public void schedule(final long chunkPos, final long deadline) {
+        if (this.scheduled.put(chunkPos, deadline) == deadline) {
+            return;
+        }
+        if (this.size == this.deadlines.length) {
+            this.deadlines = Arrays.copyOf(this.deadlines, this.size * 2);
+            this.chunks = Arrays.copyOf(this.chunks, this.size * 2);
+        }
+        int index = this.size++;
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (this.deadlines[parent] <= deadline) {
+                break;
+            }
+            this.deadlines[index] = this.deadlines[parent];
+            this.chunks[index] = this.chunks[parent];
+            index = parent;
+        }
+        this.deadlines[index] = deadline;
+        this.chunks[index] = chunkPos;
+    }
+
+    public void remove(final long chunkPos) {
+        this.scheduled.remove(chunkPos);
+    }
+
+    /**
+     * Gets whether a chunk is due at the given time, discarding replaced
+     * entries at the head of the queue on the way.
+     *
+     * @param now The current time
+     * @return True if {@link #poll()} will return a due chunk
+     */
+    public boolean hasDue(final long now) {
+        while (this.size > 0 && this.deadlines[0] <= now) {
+            if (this.scheduled.get(this.chunks[0]) == this.deadlines[0]) {
+                return true;
+            }
+            this.removeHead();
+        }
+        return false;
+    }
+
+    /**
+     * Gets the deadline of the head of the queue. Only valid after
+     * {@link #hasDue(long)} returned true.
+     *
+     * @return The deadline of the next due chunk
+     */
+    public long peekDeadline() {
+        return this.deadlines[0];
+    }
+
+    /**
+     * Removes the head of the queue and unschedules its chunk. Only valid
+     * after {@link #hasDue(long)} returned true.
+     *
+     * @return The packed position of the next due chunk
+     */
+    public long poll() {
+        final long chunkPos = this.chunks[0];
+        this.removeHead();
+        this.scheduled.remove(chunkPos);
+        return chunkPos;
+    }
+
+    /**
+     * Gets the number of chunks that are currently scheduled.
+     *
+     * @return The number of scheduled chunks
+     */
+    public int size() {
+        return this.scheduled.size();
+    }
+
+    public void clear() {
+        this.scheduled.clear();
+        this.size = 0;
+    }
+
+    private void removeHead() {
+        final int last = --this.size;
+        final long deadline = this.deadlines[last];
+        final long chunkPos = this.chunks[last];
+        int index = 0;
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= last) {
+                break;
+            }
+            if (child + 1 < last && this.deadlines[child + 1] < this.deadlines[child]) {
+                child++;
+            }
+            if (deadline <= this.deadlines[child]) {
+                break;
+            }
+            this.deadlines[index] = this.deadlines[child];
+            this.chunks[index] = this.chunks[child];
+            index = child;
+        }
+        this.deadlines[index] = deadline;
+        this.chunks[index] = chunkPos;
+    }
+
+    public static void recordUnload(final long latencyMillis) {
+        ChunkDeadlineQueue.unloadedChunks.increment();
+        ChunkDeadlineQueue.unloadLatency.add(latencyMillis);
+    }
+
+    public static long getUnloadedChunks() {
+        return ChunkDeadlineQueue.unloadedChunks.sum();
+    }
+
+    public static long getUnloadLatency() {
+        return ChunkDeadlineQueue.unloadLatency.sum();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+
+/**
+ * The chunk positions the chunk GC of a world checks on its next
+ * collection, in the order they were added.
+ *
+ * <p>Chunks are added when they may have become unwatched, so a
+ * collection does not have to look at every loaded chunk. Only the first
+ * collection and the first one after {@link #requestSweep()} do a full
+ * sweep, which adds every loaded chunk, to pick up the chunks loaded before
+ * the chunk GC was enabled or that the new configuration may drop.</p>
+ */
+public final class ChunkGCCandidates {
+
+    private final LongLinkedOpenHashSet candidates = new LongLinkedOpenHashSet();
+    private boolean sweepRequested = true;
+
+    public void add(final long chunkPos) {
+        this.candidates.add(chunkPos);
+    }
+
+    /**
+     * Makes the next collection add every loaded chunk, for example after
+     * the chunk GC configuration changed.
+     */
+    public void requestSweep() {
+        this.sweepRequested = true;
+    }
+
+    /**
+     * Starts a collection, adding every loaded chunk if a sweep is due.
+     *
+     * @param loadedChunks The packed positions of the loaded chunks
+     * @return True if every loaded chunk was added
+     */
+    public boolean startCollection(final LongCollection loadedChunks) {
+        if (!this.sweepRequested) {
+            return false;
+        }
+        this.sweepRequested = false;
+        this.candidates.addAll(loadedChunks);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return this.candidates.isEmpty();
+    }
+
+    /**
+     * Removes the oldest candidate. Only valid if there is a candidate.
+     *
+     * @return The packed position of the oldest candidate
+     */
+    public long poll() {
+        return this.candidates.removeFirstLong();
+    }
+
+    public boolean contains(final long chunkPos) {
+        return this.candidates.contains(chunkPos);
+    }
+
+    public int size() {
+        return this.candidates.size();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.CollisionsCapability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A spatial hash of the entities of a single chunk section, used to find
+ * the entities that may intersect a bounding box without iterating the
+ * whole section. Entities are hashed by the minimum corner of their
+ * bounding box into cells of four blocks and moved between
+ * cells whenever their bounding box changes.
+ */
+public final class EntitySectionGrid {
+
+    /**
+     * The amount of entities a chunk section needs before a grid is used
+     * for its lookups.
+     */
+    public static final int MIN_ENTITIES = 32;
+    private static final int CELL_SHIFT = 2;
+
+    private final Long2ObjectMap<List<Entity>> cells = new Long2ObjectOpenHashMap<>();
+    // Largest extents of the bounding boxes of the contained entities, the
+    // minimum corner of an intersecting box is at most this far away
+    private double maxWidth;
+    private double maxHeight;
+
+    public EntitySectionGrid(Iterable<Entity> entities) {
+        for (Entity entity : entities) {
+            add(entity);
+        }
+    }
+
+    public void add(Entity entity) {
+        final AxisAlignedBB box = entity.getEntityBoundingBox();
+        final long cell = cellOf(box.minX, box.minY, box.minZ);
+        this.cells.computeIfAbsent(cell, key -> new ArrayList<>(4)).add(entity);
+        growExtents(box);
+        ((CollisionsCapability) entity).collision$setGrid(this, cell);
+    }
+
+    public void remove(Entity entity) {
+        final CollisionsCapability capability = (CollisionsCapability) entity;
+        if (capability.collision$getGrid() != this) {
+            return;
+        }
+        removeFromCell(entity, capability.collision$getGridCell());
+        capability.collision$setGrid(null, 0);
+    }
+
+    /**
+     * Moves the entity to the cell of its current bounding box.
+     *
+     * @param entity The entity that moved
+     */
+    public void move(Entity entity) {
+        final CollisionsCapability capability = (CollisionsCapability) entity;
+        final AxisAlignedBB box = entity.getEntityBoundingBox();
+        final long cell = cellOf(box.minX, box.minY, box.minZ);
+        growExtents(box);
+        final long oldCell = capability.collision$getGridCell();
+        if (cell == oldCell) {
+            return;
+        }
+        removeFromCell(entity, oldCell);
+        this.cells.computeIfAbsent(cell, key -> new ArrayList<>(4)).add(entity);
+        capability.collision$setGrid(this, cell);
+    }
+
+    /**
+     * Unlinks all entities from this grid, after which it can no longer
+     * be used.
+     */
+    public void clear() {
+        for (List<Entity> entities : this.cells.values()) {
+            for (Entity entity : entities) {
+                ((CollisionsCapability) entity).collision$setGrid(null, 0);
+            }
+        }
+        this.cells.clear();
+    }
+
+    /**
+     * Adds all entities that may intersect the bounding box to the list,
+     * the intersection itself still has to be checked.
+     *
+     * @param box The bounding box
+     * @param candidates The list to add candidates to
+     */
+    public void getCandidates(AxisAlignedBB box, List<Entity> candidates) {
+        final int minX = MathHelper.floor(box.minX - this.maxWidth) >> CELL_SHIFT;
+        final int minY = MathHelper.floor(box.minY - this.maxHeight) >> CELL_SHIFT;
+        final int minZ = MathHelper.floor(box.minZ - this.maxWidth) >> CELL_SHIFT;
+        final int maxX = MathHelper.floor(box.maxX) >> CELL_SHIFT;
+        final int maxY = MathHelper.floor(box.maxY) >> CELL_SHIFT;
+        final int maxZ = MathHelper.floor(box.maxZ) >> CELL_SHIFT;
+        final long range = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (range > this.cells.size()) {
+            // Fewer occupied cells than cells in range, check them all
+            for (List<Entity> entities : this.cells.values()) {
+                candidates.addAll(entities);
+            }
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    final List<Entity> entities = this.cells.get(pack(x, y, z));
+                    if (entities != null) {
+                        candidates.addAll(entities);
+                    }
+                }
+            }
+        }
+    }
+
+    private void removeFromCell(Entity entity, long cell) {
+        final List<Entity> entities = this.cells.get(cell);
+        if (entities != null && entities.remove(entity) && entities.isEmpty()) {
+            this.cells.remove(cell);
+        }
+    }
+
+    private void growExtents(AxisAlignedBB box) {
+        this.maxWidth = Math.max(this.maxWidth, Math.max(box.maxX - box.minX, box.maxZ - box.minZ));
+        this.maxHeight = Math.max(this.maxHeight, box.maxY - box.minY);
+    }
+
+    private static long cellOf(double x, double y, double z) {
+        return pack(MathHelper.floor(x) >> CELL_SHIFT, MathHelper.floor(y) >> CELL_SHIFT, MathHelper.floor(z) >> CELL_SHIFT);
+    }
+
+    private static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | ((long) y & 0xFFFL);
+    }
+}
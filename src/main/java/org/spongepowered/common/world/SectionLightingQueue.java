@@ -0,0 +1,194 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.util.math.BlockPos;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * The positions of a chunk queued for an asynchronous light update of one
+ * light type, kept as a dirty bitmap per 16x16x16 section.
+ *
+ * <p>Instead of submitting a task per position, the first position queued in
+ * a section {@link #trySchedule(int) schedules} the section. The task
+ * scheduled for it {@link #drain(int, IntConsumer) drains} every position
+ * queued in the meantime, and keeps draining until it can
+ * {@link #release(int) release} the section without losing a position queued
+ * concurrently.</p>
+ */
+public final class SectionLightingQueue {
+
+    private static final int SECTIONS = 16;
+    private static final int WORDS_PER_SECTION = 4096 / Long.SIZE;
+
+    private final AtomicReferenceArray<AtomicLongArray> bitmaps = new AtomicReferenceArray<>(SECTIONS);
+    private final AtomicIntegerArray scheduled = new AtomicIntegerArray(SECTIONS);
+
+    /**
+     * Gets whether the given position can be queued, which is the case for
+     * positions within the height of a chunk.
+     *
+     * @param pos The position
+     * @return True if the position can be queued
+     */
+    public static boolean canQueue(final BlockPos pos) {
+        return pos.getY() >= 0 && pos.getY() < SECTIONS * 16;
+    }
+
+    /**
+     * Gets the position within its chunk section of the given bitmap index.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param section The section index
+     * @param index The bitmap index
+     * @return The block position
+     */
+    public static BlockPos toBlockPos(final int chunkX, final int chunkZ, final int section, final int index) {
+        return new BlockPos(chunkX << 4 | index & 15, section << 4 | index >> 8, chunkZ << 4 | index >> 4 & 15);
+    }
+
+    /**
+     * Queues the given position.
+     *
+     * @param pos The position, see {@link #canQueue(BlockPos)}
+     * @return False if the position was already queued
+     */
+    public boolean mark(final BlockPos pos) {
+        final int index = index(pos);
+        final long bit = 1L << index;
+        final AtomicLongArray bitmap = this.getOrCreateBitmap(pos.getY() >> 4);
+        final int word = index >>> 6;
+        while (true) {
+            final long current = bitmap.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (bitmap.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean isMarked(final BlockPos pos) {
+        final AtomicLongArray bitmap = this.bitmaps.get(pos.getY() >> 4);
+        if (bitmap == null) {
+            return false;
+        }
+        final int index = index(pos);
+        return (bitmap.get(index >>> 6) & 1L << index) != 0;
+    }
+
+    /**
+     * Attempts to claim the given section for a batch task.
+     *
+     * @param section The section index
+     * @return True if the caller must schedule a task for the section
+     */
+    public boolean trySchedule(final int section) {
+        return this.scheduled.compareAndSet(section, 0, 1);
+    }
+
+    /**
+     * Removes all positions currently queued in the given section and passes
+     * their bitmap index to the consumer.
+     *
+     * @param section The section index
+     * @param consumer The consumer of bitmap indices
+     * @return The amount of drained positions
+     */
+    public int drain(final int section, final IntConsumer consumer) {
+        final AtomicLongArray bitmap = this.bitmaps.get(section);
+        if (bitmap == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int word = 0; word < WORDS_PER_SECTION; word++) {
+            long bits = bitmap.get(word) == 0 ? 0 : bitmap.getAndSet(word, 0);
+            while (bits != 0) {
+                final int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                consumer.accept(word << 6 | bit);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Releases a section claimed by {@link #trySchedule(int)}.
+     *
+     * @param section The section index
+     * @return True if the section was released, false if positions were
+     *     queued concurrently and the section has been claimed again, in
+     *     which case the caller must drain it again
+     */
+    public boolean release(final int section) {
+        this.scheduled.set(section, 0);
+        return this.isEmpty(section) || !this.scheduled.compareAndSet(section, 0, 1);
+    }
+
+    /**
+     * Discards all queued positions of a section and releases it, used when
+     * its batch task failed.
+     *
+     * @param section The section index
+     * @return The amount of discarded positions
+     */
+    public int abandon(final int section) {
+        final int discarded = this.drain(section, index -> { });
+        this.scheduled.set(section, 0);
+        return discarded;
+    }
+
+    private boolean isEmpty(final int section) {
+        final AtomicLongArray bitmap = this.bitmaps.get(section);
+        if (bitmap != null) {
+            for (int word = 0; word < WORDS_PER_SECTION; word++) {
+                if (bitmap.get(word) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private AtomicLongArray getOrCreateBitmap(final int section) {
+        final AtomicLongArray bitmap = this.bitmaps.get(section);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        this.bitmaps.compareAndSet(section, null, new AtomicLongArray(WORDS_PER_SECTION));
+        return this.bitmaps.get(section);
+    }
+
+    private static int index(final BlockPos pos) {
+        return (pos.getY() & 15) << 8 | (pos.getZ() & 15) << 4 | pos.getX() & 15;
+    }
+}
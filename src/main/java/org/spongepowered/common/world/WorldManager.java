@@ -66,6 +66,7 @@
 import org.spongepowered.api.util.file.DeleteFileVisitor;
 import org.spongepowered.api.util.file.ForwardingFileVisitor;
 import org.spongepowered.api.world.DimensionTypes;
+import org.spongepowered.api.world.SerializationBehavior;
 import org.spongepowered.api.world.SerializationBehaviors;
 import org.spongepowered.api.world.WorldArchetype;
 import org.spongepowered.api.world.storage.WorldProperties;
@@ -118,6 +119,7 @@
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
@@ -140,6 +142,8 @@ public final class WorldManager {
     private static final IntSet usedDimensionIds = new IntOpenHashSet();
     private static final Map<WorldServer, WorldServer> weakWorldByWorld = new MapMaker().weakKeys().weakValues().concurrencyLevel(1).makeMap();
     private static final Queue<WorldServer> unloadQueue = new ArrayDeque<>();
+    // Copies sharing the region files of a template, including the ones that are not registered yet
+    private static final Map<String, String> templateWorldByCopyFolderName = new ConcurrentHashMap<>();
     private static final Comparator<WorldServer>
             WORLD_SERVER_COMPARATOR =
             (world1, world2) -> {
@@ -870,6 +874,9 @@ private static WorldServer createWorldFromProperties(
         final int dimensionId, final ISaveHandler saveHandler, final WorldInfo worldInfo, @Nullable final WorldSettings
         worldSettings) {
         final MinecraftServer server = SpongeImpl.getServer();
+        if (isTemplateInUse(worldInfo.getWorldName())) {
+            protectTemplate((WorldProperties) worldInfo);
+        }
         final WorldServer worldServer = new WorldServer(server, saveHandler, worldInfo, dimensionId, server.profiler);
 
         worldByDimensionId.put(dimensionId, worldServer);
@@ -1065,6 +1072,10 @@ private static void registerExistingSpongeDimensions(final Path rootPath) {
 
                 spongeDataCompound = DataUtil.spongeDataFixer.process(FixTypes.LEVEL, spongeDataCompound);
 
+                if (spongeDataCompound.hasKey(Constants.Sponge.World.TEMPLATE_WORLD)) {
+                    templateWorldByCopyFolderName.put(worldFolderName, spongeDataCompound.getString(Constants.Sponge.World.TEMPLATE_WORLD));
+                }
+
                 final int dimensionId = spongeDataCompound.getInteger(Constants.Sponge.World.DIMENSION_ID);
                 // We do not handle Vanilla dimensions, skip them
                 if (dimensionId == 0 || dimensionId == -1 || dimensionId == 1) {
@@ -1157,6 +1168,10 @@ public static Optional<WorldProperties> renameWorld(final WorldProperties worldP
         checkNotNull(worldProperties);
         checkNotNull(newName);
         checkState(!worldByDimensionId.containsKey(((WorldInfoBridge) worldProperties).bridge$getDimensionId()), "World is still loaded!");
+        if (isTemplateInUse(worldProperties.getWorldName())) {
+            SpongeImpl.getLogger().error("Cannot rename world " + worldProperties.getWorldName() + " as copies of it share its region files");
+            return Optional.empty();
+        }
 
         final Path oldWorldFolder = getCurrentSavesDirectory().get().resolve(worldProperties.getWorldName());
         final Path newWorldFolder = oldWorldFolder.resolveSibling(newName);
@@ -1172,6 +1187,10 @@ public static Optional<WorldProperties> renameWorld(final WorldProperties worldP
         }
 
         unregisterWorldProperties(worldProperties, false);
+        final String templateName = templateWorldByCopyFolderName.remove(worldProperties.getWorldName());
+        if (templateName != null) {
+            templateWorldByCopyFolderName.put(newName, templateName);
+        }
 
         final WorldInfo info = new WorldInfo((WorldInfo) worldProperties);
         info.setWorldName(newName);
@@ -1194,9 +1213,88 @@ public static CompletableFuture<Boolean> deleteWorld(final WorldProperties world
         checkNotNull(worldProperties);
         checkArgument(worldPropertiesByWorldUuid.containsKey(worldProperties.getUniqueId()), "World properties not registered!");
         checkState(!worldByDimensionId.containsKey(((WorldInfoBridge) worldProperties).bridge$getDimensionId()), "World not unloaded!");
+        if (isTemplateInUse(worldProperties.getWorldName())) {
+            SpongeImpl.getLogger().error("Cannot delete world " + worldProperties.getWorldName() + " as copies of it share its region files");
+            return CompletableFuture.completedFuture(false);
+        }
         return SpongeImpl.getScheduler().submitAsyncTask(new DeleteWorldTask(worldProperties));
     }
 
+    private static boolean isTemplateInUse(final String worldName) {
+        if (templateWorldByCopyFolderName.containsValue(worldName)) {
+            return true;
+        }
+        for (final WorldProperties properties : worldPropertiesByFolderName.values()) {
+            if (worldName.equals(((WorldInfoBridge) properties).bridge$getTemplateWorldName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops a template world from saving its chunks while copies share its
+     * region files. Its metadata is still saved, with the behavior it had
+     * before instead of the forced {@link SerializationBehaviors#METADATA_ONLY},
+     * so the world saves as before once it is loaded without copies.
+     */
+    private static void protectTemplate(final WorldProperties template) {
+        final SerializationBehavior behavior = template.getSerializationBehavior();
+        if (behavior == SerializationBehaviors.AUTOMATIC || behavior == SerializationBehaviors.MANUAL) {
+            SpongeImpl.getLogger().warn("World [{}] is a template whose region files are shared with copies, its chunks will not be saved.",
+                    template.getWorldName());
+            ((WorldInfoBridge) template).bridge$setTemplateSerializationBehavior(behavior);
+            template.setSerializationBehavior(SerializationBehaviors.METADATA_ONLY);
+        }
+    }
+
+    /**
+     * Restores the serialization behavior of a template world once the last
+     * copy sharing its region files is gone.
+     */
+    private static void releaseTemplate(final String templateName) {
+        if (isTemplateInUse(templateName)) {
+            return;
+        }
+        getWorldProperties(templateName).ifPresent(template -> {
+            final SerializationBehavior behavior = ((WorldInfoBridge) template).bridge$getTemplateSerializationBehavior();
+            if (behavior != null) {
+                ((WorldInfoBridge) template).bridge$setTemplateSerializationBehavior(null);
+                template.setSerializationBehavior(behavior);
+                SpongeImpl.getLogger().info("World [{}] has no copies sharing its region files left, its chunks will be saved again.", templateName);
+            }
+        });
+    }
+
+    /**
+     * Gets the chunk directory of the template world whose region files a
+     * world copied from it shares.
+     *
+     * @param worldServer The world
+     * @param chunkDir The chunk directory of the world
+     * @return The chunk directory of the template, or null if the world has no template
+     */
+    @Nullable
+    public static File getTemplateChunkDirectory(final WorldServer worldServer, final File chunkDir) {
+        final String templateName = ((WorldInfoBridge) worldServer.getWorldInfo()).bridge$getTemplateWorldName();
+        if (templateName == null) {
+            return null;
+        }
+        final WorldProperties template = worldPropertiesByFolderName.get(templateName);
+        if (template == null) {
+            SpongeImpl.getLogger().error("Template world " + templateName + " of world " + worldServer.getWorldInfo().getWorldName()
+                    + " is not registered, chunks shared with it cannot be loaded!");
+            return null;
+        }
+        final Path savesDir = getCurrentSavesDirectory().get();
+        final Integer templateDimensionId = ((WorldInfoBridge) template).bridge$getDimensionId();
+        final Path templateFolder = templateDimensionId != null && templateDimensionId == 0 ? savesDir : savesDir.resolve(templateName);
+        // The template has the same dimension type, so its chunks are in the same sub directory
+        final Path relativeChunkDir = worldServer.getSaveHandler().getWorldDirectory().toPath().toAbsolutePath()
+                .relativize(chunkDir.toPath().toAbsolutePath());
+        return templateFolder.resolve(relativeChunkDir).toFile();
+    }
+
     /**
      * Called when the server wants to update the difficulty on all worlds.
      *
@@ -1249,7 +1347,29 @@ public Optional<WorldProperties> call() throws Exception {
                 return Optional.empty();
             }
 
+            // Copies of a template share its region files, unless the world is itself a copy of a template
+            boolean shareRegionFiles = ((WorldInfoBridge) this.oldInfo).bridge$getTemplateWorldName() == null
+                    && ((WorldInfoBridge) this.oldInfo).bridge$getConfigAdapter().getConfig().getWorld().shareRegionFilesWithCopies();
+            if (shareRegionFiles && ((WorldInfoBridge) this.oldInfo).bridge$getDimensionId() == 0) {
+                // Sharing would stop the default world, which is always loaded, from saving its chunks
+                SpongeImpl.getLogger().warn("World [{}] is the default world and cannot share its region files, [{}] will be a full copy.",
+                        this.oldInfo.getWorldName(), this.newName);
+                shareRegionFiles = false;
+            }
+
             FileVisitor<Path> visitor = new CopyFileVisitor(newWorldFolder);
+            if (shareRegionFiles) {
+                visitor = new ForwardingFileVisitor<Path>(visitor) {
+
+                    @Override
+                    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+                        if ("region".equals(dir.getFileName().toString())) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        return super.preVisitDirectory(dir, attrs);
+                    }
+                };
+            }
             if (((WorldInfoBridge) this.oldInfo).bridge$getDimensionId() == 0) {
                 oldWorldFolder = getCurrentSavesDirectory().get();
                 visitor = new ForwardingFileVisitor<Path>(visitor) {
@@ -1276,6 +1396,13 @@ public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttribut
 
             ((WorldInfoBridge) info).bridge$setDimensionId(WorldManager.getNextFreeDimensionId());
             ((WorldInfoBridge) info).bridge$setUniqueId(UUID.randomUUID());
+            if (shareRegionFiles) {
+                ((WorldInfoBridge) info).bridge$setTemplateWorldName(this.oldInfo.getWorldName());
+                templateWorldByCopyFolderName.put(this.newName, this.oldInfo.getWorldName());
+                if (getWorld(this.oldInfo.getWorldName()).isPresent()) {
+                    protectTemplate((WorldProperties) this.oldInfo);
+                }
+            }
 
             ((WorldInfoBridge) info).bridge$createWorldConfig();
             new AnvilSaveHandler(WorldManager.getCurrentSavesDirectory().get().toFile(), this.newName, true, ((MinecraftServerAccessor) SpongeImpl.getServer()).accessor$getDataFixer())
@@ -1298,13 +1425,13 @@ private static class DeleteWorldTask implements Callable<Boolean> {
         public Boolean call() {
             final Path worldFolder = getCurrentSavesDirectory().get().resolve(this.props.getWorldName());
             if (!Files.exists(worldFolder)) {
-                unregisterWorldProperties(this.props, true);
+                this.unregister();
                 return true;
             }
 
             try {
                 Files.walkFileTree(worldFolder, DeleteFileVisitor.INSTANCE);
-                unregisterWorldProperties(this.props, true);
+                this.unregister();
                 return true;
             } catch (IOException e) {
                 e.printStackTrace();
@@ -1312,6 +1439,14 @@ public Boolean call() {
             }
         }
 
+        private void unregister() {
+            unregisterWorldProperties(this.props, true);
+            final String templateName = templateWorldByCopyFolderName.remove(this.props.getWorldName());
+            if (templateName != null) {
+                releaseTemplate(templateName);
+            }
+        }
+
     }
 
     public static void sendDimensionRegistration(final EntityPlayerMP playerMP, final WorldProvider provider) {
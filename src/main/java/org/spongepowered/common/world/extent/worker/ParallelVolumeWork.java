@@ -0,0 +1,172 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ParallelVolumeWorkerCategory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * Splits the work of volume workers into chunk aligned columns that are
+ * worked on by a shared fork join pool. Results are always merged or
+ * applied on the calling thread, in column order.
+ */
+final class ParallelVolumeWork {
+
+    private static final int COLUMN_SIZE = 16;
+
+    @Nullable private static volatile ForkJoinPool pool;
+
+    private ParallelVolumeWork() {
+    }
+
+    static final class Column {
+
+        final int xMin;
+        final int xMax;
+        final int zMin;
+        final int zMax;
+
+        Column(int xMin, int xMax, int zMin, int zMax) {
+            this.xMin = xMin;
+            this.xMax = xMax;
+            this.zMin = zMin;
+            this.zMax = zMax;
+        }
+
+        int getArea() {
+            return (this.xMax - this.xMin + 1) * (this.zMax - this.zMin + 1);
+        }
+    }
+
+    static boolean isEnabled(Vector3i size) {
+        final ParallelVolumeWorkerCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+                .getParallelVolumeWorkerCategory();
+        return category.isEnabled() && (long) size.getX() * size.getY() * size.getZ() >= category.getMinVolume();
+    }
+
+    /**
+     * Splits the area between the positions into columns aligned to
+     * chunk boundaries, each spanning the full height.
+     *
+     * @param min The minimum position
+     * @param max The maximum position
+     * @return The columns, ordered by z then x
+     */
+    static List<Column> columns(Vector3i min, Vector3i max) {
+        final List<Column> columns = new ArrayList<>();
+        for (int z = min.getZ(); z <= max.getZ(); z = (z & ~(COLUMN_SIZE - 1)) + COLUMN_SIZE) {
+            final int zEnd = Math.min(max.getZ(), z | (COLUMN_SIZE - 1));
+            for (int x = min.getX(); x <= max.getX(); x = (x & ~(COLUMN_SIZE - 1)) + COLUMN_SIZE) {
+                columns.add(new Column(x, Math.min(max.getX(), x | (COLUMN_SIZE - 1)), z, zEnd));
+            }
+        }
+        return columns;
+    }
+
+    static <T> T reduce(List<Column> columns, Function<Column, T> reducer, BiFunction<T, T, T> merge, T identity) {
+        final ForkJoinPool pool = getPool();
+        final List<ForkJoinTask<T>> tasks = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            final Callable<T> task = () -> reducer.apply(column);
+            tasks.add(pool.submit(task));
+        }
+        T reduction = identity;
+        try {
+            for (ForkJoinTask<T> task : tasks) {
+                reduction = merge.apply(reduction, task.join());
+            }
+        } finally {
+            for (ForkJoinTask<T> task : tasks) {
+                task.cancel(false);
+            }
+        }
+        return reduction;
+    }
+
+    /**
+     * Produces a buffer for each column on the pool and applies the
+     * buffers on the calling thread in column order. Only a limited amount
+     * of buffers are produced ahead of the ones being applied.
+     *
+     * @param columns The columns
+     * @param producer The producer of the buffer of a column
+     * @param applier The consumer applying the buffer of a column
+     * @param <B> The type of the buffer
+     */
+    static <B> void produceAndApply(List<Column> columns, Function<Column, B> producer, BiConsumer<Column, B> applier) {
+        final ForkJoinPool pool = getPool();
+        final int window = pool.getParallelism() * 2;
+        final ArrayDeque<ForkJoinTask<B>> pending = new ArrayDeque<>(window);
+        int next = 0;
+        try {
+            for (Column column : columns) {
+                while (next < columns.size() && pending.size() < window) {
+                    final Column nextColumn = columns.get(next++);
+                    final Callable<B> task = () -> producer.apply(nextColumn);
+                    pending.add(pool.submit(task));
+                }
+                applier.accept(column, pending.poll().join());
+            }
+        } finally {
+            for (ForkJoinTask<B> task : pending) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    private static ForkJoinPool getPool() {
+        ForkJoinPool pool = ParallelVolumeWork.pool;
+        if (pool == null) {
+            synchronized (ParallelVolumeWork.class) {
+                pool = ParallelVolumeWork.pool;
+                if (pool == null) {
+                    final int threads = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+                            .getParallelVolumeWorkerCategory().getNumThreads();
+                    pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), forkJoinPool -> {
+                        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                        thread.setName("Sponge - Volume Worker #" + thread.getPoolIndex());
+                        return thread;
+                    }, null, false);
+                    ParallelVolumeWork.pool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+}
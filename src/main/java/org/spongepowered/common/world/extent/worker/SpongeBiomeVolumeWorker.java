@@ -29,6 +29,7 @@
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.world.biome.BiomeType;
 import org.spongepowered.api.world.extent.BiomeVolume;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
 import org.spongepowered.api.world.extent.MutableBiomeVolume;
 import org.spongepowered.api.world.extent.UnmodifiableBiomeVolume;
 import org.spongepowered.api.world.extent.worker.BiomeVolumeWorker;
@@ -36,9 +37,13 @@
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeMerger;
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeReducer;
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeVisitor;
+import org.spongepowered.common.util.gen.AbstractBiomeBuffer;
 
+import java.util.List;
 import java.util.function.BiFunction;
 
+import javax.annotation.Nullable;
+
 /**
  *
  */
@@ -68,6 +73,22 @@ public void map(BiomeVolumeMapper mapper, MutableBiomeVolume destination) {
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
+        final List<ParallelVolumeWork.Column> columns = getParallelColumns(true, this.volume);
+        if (columns != null) {
+            ParallelVolumeWork.produceAndApply(columns, column -> {
+                final BiomeType[] biomes = new BiomeType[column.getArea() * (yMax - yMin + 1)];
+                int index = 0;
+                for (int z = column.zMin; z <= column.zMax; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = column.xMin; x <= column.xMax; x++) {
+                            biomes[index++] = mapper.map(unmodifiableArea, x, y, z);
+                        }
+                    }
+                }
+                return biomes;
+            }, (column, biomes) -> setBiomes(destination, column, yMin, yMax, xOffset, yOffset, zOffset, biomes));
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -96,6 +117,24 @@ public void merge(BiomeVolume second, BiomeVolumeMerger merger, MutableBiomeVolu
         final int yMax = firstUnmodifiableArea.getBiomeMax().getY();
         final int zMax = firstUnmodifiableArea.getBiomeMax().getZ();
         final UnmodifiableBiomeVolume secondUnmodifiableArea = second.getUnmodifiableBiomeView();
+        final List<ParallelVolumeWork.Column> columns = getParallelColumns(true, this.volume, second);
+        if (columns != null) {
+            ParallelVolumeWork.produceAndApply(columns, column -> {
+                final BiomeType[] biomes = new BiomeType[column.getArea() * (yMax - yMin + 1)];
+                int index = 0;
+                for (int z = column.zMin; z <= column.zMax; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = column.xMin; x <= column.xMax; x++) {
+                            biomes[index++] = merger.merge(firstUnmodifiableArea, x, y, z, secondUnmodifiableArea, x + xOffsetSecond,
+                                    y + yOffsetSecond, z + zOffsetSecond);
+                        }
+                    }
+                }
+                return biomes;
+            }, (column, biomes) -> setBiomes(destination, column, yMin, yMax, xOffsetDestination, yOffsetDestination, zOffsetDestination,
+                    biomes));
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -133,6 +172,20 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
+        final List<ParallelVolumeWork.Column> columns = getParallelColumns(false, this.volume);
+        if (columns != null) {
+            return ParallelVolumeWork.reduce(columns, column -> {
+                T reduction = identity;
+                for (int z = column.zMin; z <= column.zMax; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = column.xMin; x <= column.xMax; x++) {
+                            reduction = reducer.reduce(unmodifiableArea, x, y, z, reduction);
+                        }
+                    }
+                }
+                return reduction;
+            }, merge, identity);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -144,6 +197,42 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    /**
+     * Gets the columns to work on in parallel, if parallel volume workers
+     * are enabled and the volume is large enough. Sources must be detached
+     * from any world, and immutable if biomes are written while they are
+     * read, as the destination could be a view of a source.
+     *
+     * @param writes Whether biomes are written to a destination
+     * @param sources The volumes read from
+     * @return The columns, or null to work sequentially
+     */
+    @Nullable
+    private List<ParallelVolumeWork.Column> getParallelColumns(boolean writes, BiomeVolume... sources) {
+        for (BiomeVolume source : sources) {
+            if (!(source instanceof ImmutableBiomeVolume) && (writes || !(source instanceof AbstractBiomeBuffer))) {
+                return null;
+            }
+        }
+        if (!ParallelVolumeWork.isEnabled(this.volume.getBiomeSize())) {
+            return null;
+        }
+        final List<ParallelVolumeWork.Column> columns = ParallelVolumeWork.columns(this.volume.getBiomeMin(), this.volume.getBiomeMax());
+        return columns.size() > 1 ? columns : null;
+    }
+
+    private static void setBiomes(MutableBiomeVolume destination, ParallelVolumeWork.Column column, int yMin, int yMax,
+            int xOffset, int yOffset, int zOffset, BiomeType[] biomes) {
+        int index = 0;
+        for (int z = column.zMin; z <= column.zMax; z++) {
+            for (int y = yMin; y <= yMax; y++) {
+                for (int x = column.xMin; x <= column.xMax; x++) {
+                    destination.setBiome(x + xOffset, y + yOffset, z + zOffset, biomes[index++]);
+                }
+            }
+        }
+    }
+
     private Vector3i align(BiomeVolume other) {
         final Vector3i thisSize = this.volume.getBiomeSize();
         final Vector3i otherSize = other.getBiomeSize();
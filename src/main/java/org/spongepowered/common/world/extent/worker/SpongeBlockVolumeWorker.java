@@ -31,6 +31,7 @@
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
 import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
@@ -40,9 +41,13 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
 
+import java.util.List;
 import java.util.function.BiFunction;
 
+import javax.annotation.Nullable;
+
 /**
  *
  */
@@ -77,6 +82,22 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
             phaseState.buildAndSwitch();
+            final List<ParallelVolumeWork.Column> columns = getParallelColumns(true, this.volume);
+            if (columns != null) {
+                ParallelVolumeWork.produceAndApply(columns, column -> {
+                    final BlockState[] blocks = new BlockState[column.getArea() * (yMax - yMin + 1)];
+                    int index = 0;
+                    for (int z = column.zMin; z <= column.zMax; z++) {
+                        for (int y = yMin; y <= yMax; y++) {
+                            for (int x = column.xMin; x <= column.xMax; x++) {
+                                blocks[index++] = mapper.map(unmodifiableVolume, x, y, z);
+                            }
+                        }
+                    }
+                    return blocks;
+                }, (column, blocks) -> setBlocks(destination, column, yMin, yMax, xOffset, yOffset, zOffset, blocks));
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -110,6 +131,24 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
             context.buildAndSwitch();
+            final List<ParallelVolumeWork.Column> columns = getParallelColumns(true, this.volume, second);
+            if (columns != null) {
+                ParallelVolumeWork.produceAndApply(columns, column -> {
+                    final BlockState[] blocks = new BlockState[column.getArea() * (yMax - yMin + 1)];
+                    int index = 0;
+                    for (int z = column.zMin; z <= column.zMax; z++) {
+                        for (int y = yMin; y <= yMax; y++) {
+                            for (int x = column.xMin; x <= column.xMax; x++) {
+                                blocks[index++] = merger.merge(firstUnmodifiableVolume, x, y, z,
+                                    secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                            }
+                        }
+                    }
+                    return blocks;
+                }, (column, blocks) -> setBlocks(destination, column, yMin, yMax, xOffsetDestination, yOffsetDestination,
+                    zOffsetDestination, blocks));
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -153,6 +192,20 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        final List<ParallelVolumeWork.Column> columns = getParallelColumns(false, this.volume);
+        if (columns != null) {
+            return ParallelVolumeWork.reduce(columns, column -> {
+                T reduction = identity;
+                for (int z = column.zMin; z <= column.zMax; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = column.xMin; x <= column.xMax; x++) {
+                            reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+                        }
+                    }
+                }
+                return reduction;
+            }, merge, identity);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -164,6 +217,42 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    /**
+     * Gets the columns to work on in parallel, if parallel volume workers
+     * are enabled and the volume is large enough. Sources must be detached
+     * from any world, and immutable if blocks are written while they are
+     * read, as the destination could be a view of a source.
+     *
+     * @param writes Whether blocks are written to a destination
+     * @param sources The volumes read from
+     * @return The columns, or null to work sequentially
+     */
+    @Nullable
+    private List<ParallelVolumeWork.Column> getParallelColumns(boolean writes, BlockVolume... sources) {
+        for (BlockVolume source : sources) {
+            if (!(source instanceof ImmutableBlockVolume) && (writes || !(source instanceof AbstractBlockBuffer))) {
+                return null;
+            }
+        }
+        if (!ParallelVolumeWork.isEnabled(this.volume.getBlockSize())) {
+            return null;
+        }
+        final List<ParallelVolumeWork.Column> columns = ParallelVolumeWork.columns(this.volume.getBlockMin(), this.volume.getBlockMax());
+        return columns.size() > 1 ? columns : null;
+    }
+
+    private static void setBlocks(MutableBlockVolume destination, ParallelVolumeWork.Column column, int yMin, int yMax,
+        int xOffset, int yOffset, int zOffset, BlockState[] blocks) {
+        int index = 0;
+        for (int z = column.zMin; z <= column.zMax; z++) {
+            for (int y = yMin; y <= yMax; y++) {
+                for (int x = column.xMin; x <= column.xMax; x++) {
+                    destination.setBlock(x + xOffset, y + yOffset, z + zOffset, blocks[index++]);
+                }
+            }
+        }
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
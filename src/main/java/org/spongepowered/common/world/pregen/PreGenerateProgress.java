@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * The persisted progress of a region based pre-generation task, stored in
+ * the data folder of the world.
+ */
+final class PreGenerateProgress {
+
+    private static final String FILE_NAME = "sponge_pregen.dat";
+    private static final String CENTER_X = "CenterX";
+    private static final String CENTER_Z = "CenterZ";
+    private static final String RADIUS = "Radius";
+    private static final String REGION_INDEX = "RegionIndex";
+    private static final String GENERATED = "Generated";
+    private static final String SKIPPED = "Skipped";
+    private static final String ELAPSED = "Elapsed";
+
+    final int centerX;
+    final int centerZ;
+    final int chunkRadius;
+    final int regionIndex;
+    final int generated;
+    final int skipped;
+    final long elapsedMillis;
+
+    PreGenerateProgress(final int centerX, final int centerZ, final int chunkRadius, final int regionIndex, final int generated,
+            final int skipped, final long elapsedMillis) {
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.chunkRadius = chunkRadius;
+        this.regionIndex = regionIndex;
+        this.generated = generated;
+        this.skipped = skipped;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    static Path getFile(final Path worldDirectory) {
+        return worldDirectory.resolve("data").resolve(FILE_NAME);
+    }
+
+    boolean matches(final int centerX, final int centerZ, final int chunkRadius) {
+        return this.centerX == centerX && this.centerZ == centerZ && this.chunkRadius == chunkRadius;
+    }
+
+    static Optional<PreGenerateProgress> read(final Path file) {
+        if (Files.notExists(file)) {
+            return Optional.empty();
+        }
+        try (InputStream stream = Files.newInputStream(file)) {
+            final NBTTagCompound compound = CompressedStreamTools.readCompressed(stream);
+            return Optional.of(new PreGenerateProgress(compound.getInteger(CENTER_X), compound.getInteger(CENTER_Z), compound.getInteger(RADIUS),
+                    compound.getInteger(REGION_INDEX), compound.getInteger(GENERATED), compound.getInteger(SKIPPED), compound.getLong(ELAPSED)));
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not read chunk pre-generation progress from {}, starting from the beginning.", file, e);
+            return Optional.empty();
+        }
+    }
+
+    void write(final Path file) {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger(CENTER_X, this.centerX);
+        compound.setInteger(CENTER_Z, this.centerZ);
+        compound.setInteger(RADIUS, this.chunkRadius);
+        compound.setInteger(REGION_INDEX, this.regionIndex);
+        compound.setInteger(GENERATED, this.generated);
+        compound.setInteger(SKIPPED, this.skipped);
+        compound.setLong(ELAPSED, this.elapsedMillis);
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tempFile = file.resolveSibling(FILE_NAME + ".tmp");
+            try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                CompressedStreamTools.writeCompressed(compound, stream);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not save chunk pre-generation progress to {}.", file, e);
+        }
+    }
+
+    static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not delete chunk pre-generation progress {}.", file, e);
+        }
+    }
+
+}
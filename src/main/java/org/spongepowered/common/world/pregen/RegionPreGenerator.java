@@ -0,0 +1,399 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.server.management.PlayerChunkMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Pre-generates chunks one region file at a time.
+ *
+ * <p>Which chunks of the upcoming regions already exist is determined from
+ * the region file headers on scan threads, so the main thread only loads the
+ * chunks that have to be generated or populated. Chunks are loaded row by
+ * row, and a row is queued for unloading, which hands it to the chunk IO
+ * thread to be written to its region file, as soon as no chunk of the
+ * following rows needs it as a neighbour to be populated. Only three rows
+ * of a region are loaded at once.</p>
+ *
+ * <p>A completed region only becomes a {@link Checkpoint} that may be
+ * persisted once every chunk unloaded for it has been written.</p>
+ */
+final class RegionPreGenerator {
+
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+    private final WorldServer world;
+    @Nullable private final AnvilChunkLoaderBridge chunkLoader;
+    private final int minX;
+    private final int minZ;
+    private final int maxX;
+    private final int maxZ;
+    private final long[] regions;
+    private final int scanThreads;
+    // Only created once a region has to be scanned, and never if the chunks
+    // are not stored in region files since there is nothing to read then.
+    @Nullable private ExecutorService scanExecutor;
+    private final int scanLookahead;
+    private final ArrayDeque<CompletableFuture<RegionScan>> scans = new ArrayDeque<>();
+    // The loaded chunks in the order they were loaded, so rows are unloaded from the head
+    private final ArrayDeque<Chunk> loadedChunks = new ArrayDeque<>();
+    // The chunks unloaded since the last completed region, which have to be saved before it is persisted
+    private LongArrayList unloadedChunks = new LongArrayList();
+    private final ArrayDeque<Checkpoint> unsavedCheckpoints = new ArrayDeque<>();
+    private int currentRow;
+
+    private int regionIndex;
+    private int nextScanIndex;
+    @Nullable private RegionScan current;
+    private int positionIndex;
+
+    private int generated;
+    private int skipped;
+
+    RegionPreGenerator(final WorldServer world, final int centerX, final int centerZ, final int chunkRadius, final int scanThreads) {
+        this.world = world;
+        final Object chunkLoader = ((ChunkProviderServerBridge) world.getChunkProvider()).bridge$getChunkLoader();
+        this.chunkLoader = chunkLoader instanceof AnvilChunkLoaderBridge ? (AnvilChunkLoaderBridge) chunkLoader : null;
+        this.minX = centerX - chunkRadius;
+        this.minZ = centerZ - chunkRadius;
+        this.maxX = centerX + chunkRadius;
+        this.maxZ = centerZ + chunkRadius;
+        this.regions = orderRegions(this.minX >> REGION_SHIFT, this.minZ >> REGION_SHIFT, this.maxX >> REGION_SHIFT,
+                this.maxZ >> REGION_SHIFT, centerX >> REGION_SHIFT, centerZ >> REGION_SHIFT);
+        this.scanThreads = scanThreads;
+        this.scanLookahead = scanThreads * 2;
+    }
+
+    /**
+     * Orders the regions by their distance to the center region, so that
+     * the generated area grows outwards like the spiral does. The order only
+     * depends on the bounds, which allows resuming by region index.
+     */
+    private static long[] orderRegions(final int minRegionX, final int minRegionZ, final int maxRegionX, final int maxRegionZ,
+            final int centerRegionX, final int centerRegionZ) {
+        final List<long[]> ordered = new ArrayList<>();
+        for (int z = minRegionZ; z <= maxRegionZ; z++) {
+            for (int x = minRegionX; x <= maxRegionX; x++) {
+                final int distance = Math.max(Math.abs(x - centerRegionX), Math.abs(z - centerRegionZ));
+                ordered.add(new long[] {distance, ChunkPos.asLong(x, z)});
+            }
+        }
+        // Stable sort, regions of the same distance keep their row-major order
+        ordered.sort(Comparator.comparingLong(entry -> entry[0]));
+        final long[] regions = new long[ordered.size()];
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = ordered.get(i)[1];
+        }
+        return regions;
+    }
+
+    /**
+     * Moves to the given region index, used when resuming a previous run.
+     */
+    void skipTo(final int regionIndex, final int generated, final int skipped) {
+        this.regionIndex = Math.min(regionIndex, this.regions.length);
+        this.nextScanIndex = this.regionIndex;
+        this.generated = generated;
+        this.skipped = skipped;
+    }
+
+    boolean hasNext() {
+        return this.regionIndex < this.regions.length;
+    }
+
+    int getRegionIndex() {
+        return this.regionIndex;
+    }
+
+    int getGenerated() {
+        return this.generated;
+    }
+
+    int getSkipped() {
+        return this.skipped;
+    }
+
+    /**
+     * Loads chunks of the current region while {@code canContinue} allows
+     * it, moving on to following regions once their scans are complete.
+     *
+     * @param canContinue Checked before every chunk that is loaded
+     */
+    void step(final BooleanSupplier canContinue) {
+        while (this.hasNext()) {
+            this.scheduleScans();
+            if (this.current == null) {
+                final CompletableFuture<RegionScan> scan = this.scans.peekFirst();
+                if (scan == null || !scan.isDone()) {
+                    // Wait for the scan threads to catch up
+                    return;
+                }
+                this.scans.pollFirst();
+                this.current = this.getScan(scan);
+                this.skipped += this.current.skipped;
+                this.positionIndex = 0;
+            }
+
+            final long[] positions = this.current.positions;
+            while (this.positionIndex < positions.length) {
+                if (!canContinue.getAsBoolean()) {
+                    return;
+                }
+                final long position = positions[this.positionIndex];
+                final int z = (int) (position >> 32);
+                if (this.positionIndex == 0 || z != this.currentRow) {
+                    // Populating the previous row only needs the rows next to it
+                    this.currentRow = z;
+                    this.unloadRowsBefore(z - 1);
+                }
+                this.loadChunk((int) position, z);
+                if (this.current.counted.get(this.positionIndex)) {
+                    this.generated++;
+                }
+                this.positionIndex++;
+            }
+
+            this.unloadRowsBefore(Integer.MAX_VALUE);
+            this.current = null;
+            this.regionIndex++;
+            this.unsavedCheckpoints.addLast(new Checkpoint(this.regionIndex, this.generated, this.skipped, this.unloadedChunks));
+            this.unloadedChunks = new LongArrayList();
+        }
+    }
+
+    void close() {
+        if (this.scanExecutor != null) {
+            this.scanExecutor.shutdownNow();
+            this.scanExecutor = null;
+        }
+        this.scans.clear();
+        this.unloadRowsBefore(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the newest completed region whose chunks have all been written
+     * since the last call, removing it and any older one.
+     *
+     * @return The checkpoint to persist, or null if none is saved yet
+     */
+    @Nullable
+    Checkpoint pollSavedCheckpoint() {
+        Checkpoint saved = null;
+        while (!this.unsavedCheckpoints.isEmpty()) {
+            final Checkpoint checkpoint = this.unsavedCheckpoints.peekFirst();
+            final LongArrayList chunks = checkpoint.chunks;
+            while (!chunks.isEmpty()) {
+                final long position = chunks.getLong(chunks.size() - 1);
+                if (!this.isChunkWritten((int) position, (int) (position >> 32))) {
+                    return saved;
+                }
+                chunks.removeLong(chunks.size() - 1);
+            }
+            saved = this.unsavedCheckpoints.pollFirst();
+        }
+        return saved;
+    }
+
+    private void scheduleScans() {
+        final int limit = Math.min(this.regions.length, this.regionIndex + this.scanLookahead);
+        for (; this.nextScanIndex < limit; this.nextScanIndex++) {
+            final long region = this.regions[this.nextScanIndex];
+            if (this.chunkLoader == null) {
+                // Every chunk is missing, the scan does not touch the disk
+                this.scans.addLast(CompletableFuture.completedFuture(this.scan(region)));
+            } else {
+                this.scans.addLast(CompletableFuture.supplyAsync(() -> this.scan(region), this.getScanExecutor()));
+            }
+        }
+    }
+
+    private ExecutorService getScanExecutor() {
+        if (this.scanExecutor == null) {
+            this.scanExecutor = Executors.newFixedThreadPool(this.scanThreads, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge - Chunk Pre-Generate Scan Thread #%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return this.scanExecutor;
+    }
+
+    private RegionScan getScan(final CompletableFuture<RegionScan> scan) {
+        try {
+            return scan.join();
+        } catch (CompletionException e) {
+            SpongeImpl.getLogger().error("Could not scan region {} of world {}, scanning it on the main thread instead.",
+                    this.regionIndex, this.world.getWorldInfo().getWorldName(), e.getCause());
+            return this.scan(this.regions[this.regionIndex]);
+        }
+    }
+
+    private void loadChunk(final int x, final int z) {
+        final ChunkProviderServer chunkProvider = this.world.getChunkProvider();
+        Chunk chunk = chunkProvider.getLoadedChunk(x, z);
+        if (chunk == null) {
+            chunk = chunkProvider.provideChunk(x, z);
+        }
+        this.loadedChunks.addLast(chunk);
+    }
+
+    private void unloadRowsBefore(final int row) {
+        final ChunkProviderServer chunkProvider = this.world.getChunkProvider();
+        final PlayerChunkMap playerChunkMap = this.world.getPlayerChunkMap();
+        while (!this.loadedChunks.isEmpty() && this.loadedChunks.peekFirst().z < row) {
+            final Chunk chunk = this.loadedChunks.pollFirst();
+            // Watched chunks stay loaded, they are written by the next world save
+            if (!playerChunkMap.contains(chunk.x, chunk.z)) {
+                chunkProvider.queueUnload(chunk);
+            }
+            this.unloadedChunks.add(ChunkPos.asLong(chunk.x, chunk.z));
+        }
+    }
+
+    private boolean isChunkWritten(final int x, final int z) {
+        final Chunk chunk = ((ChunkProviderBridge) this.world.getChunkProvider()).bridge$getLoadedChunkWithoutMarkingActive(x, z);
+        if (chunk != null && chunk.needsSaving(false)) {
+            return false;
+        }
+        return this.chunkLoader == null || !this.chunkLoader.bridge$isChunkSavePending(x, z);
+    }
+
+    private boolean isChunkSaved(final int x, final int z) {
+        return this.chunkLoader != null && this.chunkLoader.bridge$isChunkSaved(x, z);
+    }
+
+    private RegionScan scan(final long region) {
+        final int baseX = (int) region << REGION_SHIFT;
+        final int baseZ = (int) (region >> 32) << REGION_SHIFT;
+        // Includes one chunk around the region, a chunk is only populated while its
+        // neighbours are loaded so squares crossing the region border have to be checked too.
+        final int fromX = Math.max(baseX, this.minX) - 1;
+        final int fromZ = Math.max(baseZ, this.minZ) - 1;
+        final int toX = Math.min(baseX + REGION_SIZE - 1, this.maxX) + 1;
+        final int toZ = Math.min(baseZ + REGION_SIZE - 1, this.maxZ) + 1;
+        final int width = toX - fromX + 1;
+        final int depth = toZ - fromZ + 1;
+
+        final BitSet missing = new BitSet(width * depth);
+        for (int z = 0; z < depth; z++) {
+            for (int x = 0; x < width; x++) {
+                if (!this.isChunkSaved(fromX + x, fromZ + z)) {
+                    missing.set(z * width + x);
+                }
+            }
+        }
+
+        // Same rule as the spiral, a 2x2 square can only be skipped if all of its chunks exist
+        final BitSet load = new BitSet(width * depth);
+        for (int z = 0; z < depth - 1; z++) {
+            for (int x = 0; x < width - 1; x++) {
+                final int index = z * width + x;
+                if (missing.get(index) || missing.get(index + 1) || missing.get(index + width) || missing.get(index + width + 1)) {
+                    load.set(index);
+                    load.set(index + 1);
+                    load.set(index + width);
+                    load.set(index + width + 1);
+                }
+            }
+        }
+
+        final long[] positions = new long[load.cardinality()];
+        final BitSet counted = new BitSet(positions.length);
+        int skipped = 0;
+        int next = 0;
+        for (int z = 0; z < depth; z++) {
+            for (int x = 0; x < width; x++) {
+                final int index = z * width + x;
+                final boolean inRegion = x > 0 && z > 0 && x < width - 1 && z < depth - 1;
+                if (load.get(index)) {
+                    if (inRegion && missing.get(index)) {
+                        counted.set(next);
+                    }
+                    positions[next++] = ChunkPos.asLong(fromX + x, fromZ + z);
+                }
+                if (inRegion && !missing.get(index)) {
+                    skipped++;
+                }
+            }
+        }
+        return new RegionScan(positions, counted, skipped);
+    }
+
+    /**
+     * The progress after a completed region.
+     */
+    static final class Checkpoint {
+
+        final int regionIndex;
+        final int generated;
+        final int skipped;
+        // The chunks that still have to be written
+        final LongArrayList chunks;
+
+        Checkpoint(final int regionIndex, final int generated, final int skipped, final LongArrayList chunks) {
+            this.regionIndex = regionIndex;
+            this.generated = generated;
+            this.skipped = skipped;
+            this.chunks = chunks;
+        }
+    }
+
+    private static final class RegionScan {
+
+        final long[] positions;
+        final BitSet counted;
+        final int skipped;
+
+        RegionScan(final long[] positions, final BitSet counted, final int skipped) {
+            this.positions = positions;
+            this.counted = counted;
+            this.skipped = skipped;
+        }
+    }
+
+}
@@ -32,6 +32,7 @@
 import com.flowpowered.math.vector.Vector3i;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
+import net.minecraft.world.WorldServer;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -45,8 +46,10 @@
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.config.category.ChunkPreGenerateCategory;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -63,6 +66,7 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
+    private static final double ADAPTIVE_GROWTH_FACTOR = 1.25;
 
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
@@ -88,6 +92,16 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
 
+    // Only present in the 'region' mode, see ChunkPreGenerateCategory
+    @Nullable private final RegionPreGenerator regionGenerator;
+    @Nullable private final Path progressFile;
+    private final boolean adaptiveTickBudget;
+    private final double targetTps;
+    private final long minAdaptiveTimeLimit;
+    private final long maxAdaptiveTimeLimit;
+    private long adaptiveTimeLimit;
+    private long resumedTime = 0;
+
     private Vector3i currentPosition;
     private int currentGenCount;
     private int currentLayer;
@@ -142,6 +156,29 @@ private SpongeChunkPreGenerateTask(Object plugin,
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
+        final ChunkPreGenerateCategory config = SpongeImpl.getGlobalConfigAdapter().getConfig().getChunkPreGenerate();
+        if (config.isRegionMode() && world instanceof WorldServer && world.getWorldStorage() instanceof ChunkProviderServerBridge) {
+            this.regionGenerator = new RegionPreGenerator((WorldServer) world, this.currentPosition.getX(), this.currentPosition.getZ(),
+                    this.chunkRadius, config.getScanThreads());
+            this.progressFile = config.isResumeEnabled() ? PreGenerateProgress.getFile(world.getDirectory()) : null;
+            if (this.progressFile != null) {
+                PreGenerateProgress.read(this.progressFile)
+                        .filter(progress -> progress.matches(this.currentPosition.getX(), this.currentPosition.getZ(), this.chunkRadius))
+                        .ifPresent(this::resume);
+            }
+            this.adaptiveTickBudget = config.isAdaptiveTickBudget() && tickPercent > 0;
+        } else {
+            this.regionGenerator = null;
+            this.progressFile = null;
+            this.adaptiveTickBudget = false;
+        }
+        this.targetTps = config.getTargetTps();
+        this.adaptiveTimeLimit = this.tickTimeLimit;
+        this.minAdaptiveTimeLimit = Math.max(1, this.tickTimeLimit / 8);
+        // The tick time limit already is the budget of a single tick, a step
+        // never runs over it regardless of the interval between steps.
+        this.maxAdaptiveTimeLimit = this.tickTimeLimit;
+
         this.spongeTask = this.scheduler
                 .createTaskBuilder()
                 .intervalTicks(tickInterval)
@@ -156,6 +193,13 @@ private SpongeChunkPreGenerateTask(Object plugin,
         }
     }
 
+    private void resume(final PreGenerateProgress progress) {
+        checkNotNull(this.regionGenerator).skipTo(progress.regionIndex, progress.generated, progress.skipped);
+        this.chunksGenerated = progress.generated;
+        this.chunksSkipped = progress.skipped;
+        this.resumedTime = progress.elapsedMillis;
+    }
+
     Task getSpongeTask() {
         return this.spongeTask;
     }
@@ -208,6 +252,7 @@ public void cancel() {
             }
             this.spongeTask.cancel();
             this.isCancelled = true;
+            closeRegionGenerator();
         }
     }
 
@@ -215,7 +260,7 @@ public void cancel() {
     public void accept(Task task) {
         final long stepStartTime = System.currentTimeMillis();
         if (this.generationStartTime == 0) {
-            this.generationStartTime = stepStartTime;
+            this.generationStartTime = stepStartTime - this.resumedTime;
         }
 
         // Create and fire event.
@@ -237,6 +282,11 @@ public void accept(Task task) {
             return;
         }
 
+        if (this.regionGenerator != null) {
+            acceptRegionStep(task, stepStartTime);
+            return;
+        }
+
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
@@ -266,6 +316,36 @@ public void accept(Task task) {
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
 
+        completeStep(task, stepStartTime, count, skipped, hasNextChunkPosition());
+    }
+
+    private void acceptRegionStep(final Task task, final long stepStartTime) {
+        final RegionPreGenerator generator = checkNotNull(this.regionGenerator);
+        if (this.adaptiveTickBudget) {
+            updateAdaptiveTimeLimit();
+        }
+
+        final int generatedBefore = generator.getGenerated();
+        final int skippedBefore = generator.getSkipped();
+        generator.step(() -> checkChunkCount(generator.getGenerated() - generatedBefore)
+                && checkTickTime(System.currentTimeMillis() - stepStartTime));
+
+        final int count = generator.getGenerated() - generatedBefore;
+        final int skipped = generator.getSkipped() - skippedBefore;
+        this.chunksGenerated = generator.getGenerated();
+        this.chunksSkipped = generator.getSkipped();
+
+        // Only regions whose chunks have all been written are persisted, a crash must not skip unsaved chunks
+        final RegionPreGenerator.Checkpoint checkpoint = generator.pollSavedCheckpoint();
+        if (checkpoint != null && generator.hasNext() && this.progressFile != null) {
+            new PreGenerateProgress(this.currentPosition.getX(), this.currentPosition.getZ(), this.chunkRadius, checkpoint.regionIndex,
+                    checkpoint.generated, checkpoint.skipped, System.currentTimeMillis() - this.generationStartTime).write(this.progressFile);
+        }
+
+        completeStep(task, stepStartTime, count, skipped, generator.hasNext());
+    }
+
+    private void completeStep(final Task task, final long stepStartTime, final int count, final int skipped, final boolean hasNext) {
         final long deltaTime = System.currentTimeMillis() - stepStartTime;
         this.generationEndTime = System.currentTimeMillis();
 
@@ -282,7 +362,7 @@ public void accept(Task task) {
             return;
         }
 
-        if (!hasNextChunkPosition()) {
+        if (!hasNext) {
             // Generation has completed.
             Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(
                     this.cause,
@@ -293,6 +373,29 @@ public void accept(Task task) {
             this.isCancelled = true;
             unregisterListener();
             task.cancel();
+            closeRegionGenerator();
+            if (this.progressFile != null) {
+                PreGenerateProgress.delete(this.progressFile);
+            }
+        }
+    }
+
+    /**
+     * Grows the time limit of a step by a quarter while the server keeps
+     * up with the target tps, and halves it when it falls behind.
+     */
+    private void updateAdaptiveTimeLimit() {
+        if (Sponge.getServer().getTicksPerSecond() >= this.targetTps) {
+            final long grown = Math.max(this.adaptiveTimeLimit + 1, (long) (this.adaptiveTimeLimit * ADAPTIVE_GROWTH_FACTOR));
+            this.adaptiveTimeLimit = Math.min(this.maxAdaptiveTimeLimit, grown);
+        } else {
+            this.adaptiveTimeLimit = Math.max(this.minAdaptiveTimeLimit, this.adaptiveTimeLimit / 2);
+        }
+    }
+
+    private void closeRegionGenerator() {
+        if (this.regionGenerator != null) {
+            this.regionGenerator.close();
         }
     }
 
@@ -316,6 +419,7 @@ private void cancelTask(Task task) {
 
         this.isCancelled = true;
         unregisterListener();
+        closeRegionGenerator();
     }
 
     private boolean hasNextChunkPosition() {
@@ -349,7 +453,7 @@ private boolean checkChunkCount(int count) {
     }
 
     private boolean checkTickTime(long tickTime) {
-        return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
+        return this.tickPercent <= 0 || tickTime < (this.adaptiveTickBudget ? this.adaptiveTimeLimit : this.tickTimeLimit);
     }
 
     private boolean checkChunkExistsAnvil(Vector3i v) {
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.util.Constants;
+
+import javax.annotation.Nullable;
+
+/**
+ * Selects the chunks read by a {@link SpongeChunkDataStream}.
+ *
+ * <p>Positions and save times are checked against the region file header,
+ * so rejected chunks are neither read nor decompressed. The inhabited time
+ * and the last update tick are stored in the chunk data itself, they are
+ * checked before the chunk is translated to a data container, which is why
+ * {@link SpongeChunkDataStream#available()} only is an upper bound when
+ * they are used.</p>
+ */
+public final class ChunkDataFilter {
+
+    public static final ChunkDataFilter ALL = new ChunkDataFilter(null, 0, Long.MIN_VALUE, Long.MIN_VALUE);
+
+    @FunctionalInterface
+    public interface PositionPredicate {
+
+        boolean test(int chunkX, int chunkZ);
+    }
+
+    @Nullable private final PositionPredicate positions;
+    private final int minSaveTime;
+    private final long minInhabitedTime;
+    private final long minLastUpdate;
+
+    private ChunkDataFilter(@Nullable final PositionPredicate positions, final int minSaveTime, final long minInhabitedTime,
+            final long minLastUpdate) {
+        this.positions = positions;
+        this.minSaveTime = minSaveTime;
+        this.minInhabitedTime = minInhabitedTime;
+        this.minLastUpdate = minLastUpdate;
+    }
+
+    /**
+     * Only accepts chunks at positions matching the given predicate.
+     *
+     * @param positions The predicate, tested with chunk coordinates
+     * @return The new filter
+     */
+    public ChunkDataFilter withPositions(final PositionPredicate positions) {
+        final PositionPredicate current = this.positions;
+        return new ChunkDataFilter(current == null ? positions : (x, z) -> current.test(x, z) && positions.test(x, z),
+                this.minSaveTime, this.minInhabitedTime, this.minLastUpdate);
+    }
+
+    /**
+     * Only accepts chunks last saved at or after the given time.
+     *
+     * @param epochSeconds The save time, in seconds since the epoch
+     * @return The new filter
+     */
+    public ChunkDataFilter savedSince(final int epochSeconds) {
+        return new ChunkDataFilter(this.positions, Math.max(this.minSaveTime, epochSeconds), this.minInhabitedTime, this.minLastUpdate);
+    }
+
+    /**
+     * Only accepts chunks in which players spent at least the given time.
+     *
+     * @param ticks The inhabited time, in ticks
+     * @return The new filter
+     */
+    public ChunkDataFilter inhabitedFor(final long ticks) {
+        return new ChunkDataFilter(this.positions, this.minSaveTime, Math.max(this.minInhabitedTime, ticks), this.minLastUpdate);
+    }
+
+    /**
+     * Only accepts chunks last updated at or after the given world tick.
+     *
+     * @param worldTime The total world time
+     * @return The new filter
+     */
+    public ChunkDataFilter updatedSince(final long worldTime) {
+        return new ChunkDataFilter(this.positions, this.minSaveTime, this.minInhabitedTime, Math.max(this.minLastUpdate, worldTime));
+    }
+
+    boolean testHeader(final int chunkX, final int chunkZ, final int saveTime) {
+        return saveTime >= this.minSaveTime && (this.positions == null || this.positions.test(chunkX, chunkZ));
+    }
+
+    boolean testLevel(final NBTTagCompound level) {
+        return (this.minInhabitedTime == Long.MIN_VALUE || level.getLong(Constants.Chunk.CHUNK_DATA_INHABITED_TIME) >= this.minInhabitedTime)
+                && (this.minLastUpdate == Long.MIN_VALUE || level.getLong(Constants.Chunk.CHUNK_DATA_LAST_UPDATE) >= this.minLastUpdate);
+    }
+}
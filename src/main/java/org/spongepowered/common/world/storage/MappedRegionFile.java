@@ -0,0 +1,350 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * An alternative to the vanilla {@link net.minecraft.world.chunk.storage.RegionFile}
+ * using the same on-disk format.
+ *
+ * <p>The vanilla implementation synchronizes every read and write on the
+ * region, so loading one chunk blocks saving another. Here the header is
+ * memory-mapped and chunk data is accessed with positional {@link FileChannel}
+ * reads and writes, which may run concurrently. Each chunk slot is guarded by
+ * one of a fixed number of striped read/write locks, and only the allocation
+ * of sectors is serialized.</p>
+ */
+public final class MappedRegionFile implements Closeable {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int HEADER_SECTORS = 2;
+    private static final int CHUNKS = 1024;
+    private static final int MAX_CHUNK_SECTORS = 255;
+    private static final int LOCK_STRIPES = 32;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+
+    private final File file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final IntBuffer offsets;
+    private final IntBuffer timestamps;
+    private final ReadWriteLock[] locks = new ReadWriteLock[LOCK_STRIPES];
+    private final Object allocationLock = new Object();
+    private final BitSet usedSectors = new BitSet();
+    private volatile int sectorCount;
+    // The number of callers using this region, or -1 once it is closed
+    private final AtomicInteger leases = new AtomicInteger();
+    private volatile boolean retired;
+    private volatile long lastUsed = System.nanoTime();
+
+    public MappedRegionFile(final File file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final long size = this.channel.size();
+            // Pad the file to whole sectors, the same way the vanilla region file does
+            final long paddedSize = Math.max(HEADER_SECTORS * SECTOR_BYTES, (size + SECTOR_BYTES - 1) / SECTOR_BYTES * SECTOR_BYTES);
+            if (paddedSize > size) {
+                this.writeFully(ByteBuffer.allocate((int) (paddedSize - size)), size);
+            }
+            this.sectorCount = (int) (paddedSize / SECTOR_BYTES);
+            this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SECTORS * SECTOR_BYTES);
+        } catch (final IOException e) {
+            this.channel.close();
+            throw e;
+        }
+        this.offsets = ((ByteBuffer) this.header.duplicate().position(0).limit(SECTOR_BYTES)).slice().asIntBuffer();
+        this.timestamps = ((ByteBuffer) this.header.duplicate().position(SECTOR_BYTES)).slice().asIntBuffer();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new ReentrantReadWriteLock();
+        }
+        this.usedSectors.set(0, HEADER_SECTORS);
+        for (int i = 0; i < CHUNKS; i++) {
+            final int offset = this.offsets.get(i);
+            final int sector = offset >>> 8;
+            final int count = offset & 0xFF;
+            if (offset != 0 && sector + count <= this.sectorCount) {
+                this.usedSectors.set(sector, sector + count);
+            }
+        }
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Leases this region to a caller, which must {@link #release()} it once
+     * done. A leased region is never closed.
+     *
+     * @return False if this region is already closed
+     */
+    boolean acquire() {
+        while (true) {
+            final int leases = this.leases.get();
+            if (leases < 0) {
+                return false;
+            }
+            if (this.leases.compareAndSet(leases, leases + 1)) {
+                this.lastUsed = System.nanoTime();
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        if (this.leases.decrementAndGet() == 0 && this.retired) {
+            this.closeIfIdle();
+        }
+    }
+
+    boolean isInUse() {
+        return this.leases.get() != 0;
+    }
+
+    long getLastUsed() {
+        return this.lastUsed;
+    }
+
+    /**
+     * Closes this region now if no caller is using it, or once the last
+     * caller released it.
+     */
+    void retire() {
+        this.retired = true;
+        this.closeIfIdle();
+    }
+
+    /**
+     * Closes this region if no caller is using it.
+     *
+     * @return True if the region was closed
+     */
+    boolean closeIfIdle() {
+        if (!this.leases.compareAndSet(0, -1)) {
+            return false;
+        }
+        try {
+            this.close();
+        } catch (final IOException e) {
+            SpongeImpl.getLogger().error("Failed to close region file {}", this.file, e);
+        }
+        return true;
+    }
+
+    /**
+     * Gets whether data is stored for the given chunk.
+     *
+     * @param x The chunk x coordinate, relative to the region
+     * @param z The chunk z coordinate, relative to the region
+     * @return True if the chunk is saved
+     */
+    public boolean isChunkSaved(final int x, final int z) {
+        return this.offsets.get(index(x, z)) != 0;
+    }
+
+    /**
+     * Gets the first sector of the given chunk, or {@link Integer#MAX_VALUE}
+     * if no sectors are allocated for it.
+     *
+     * @param x The chunk x coordinate, relative to the region
+     * @param z The chunk z coordinate, relative to the region
+     * @return The first sector
+     */
+    public int getSector(final int x, final int z) {
+        final int offset = this.offsets.get(index(x, z));
+        return offset == 0 ? Integer.MAX_VALUE : offset >>> 8;
+    }
+
+    /**
+     * Reads the decompressed data stream of the given chunk.
+     *
+     * @param x The chunk x coordinate, relative to the region
+     * @param z The chunk z coordinate, relative to the region
+     * @return The data stream, or null if the chunk is not saved or invalid
+     * @throws IOException If the chunk could not be read
+     */
+    @Nullable
+    public DataInputStream read(final int x, final int z) throws IOException {
+        final int index = index(x, z);
+        final Lock lock = this.locks[index % LOCK_STRIPES].readLock();
+        final ByteBuffer buffer;
+        lock.lock();
+        try {
+            final int offset = this.offsets.get(index);
+            final int sector = offset >>> 8;
+            final int count = offset & 0xFF;
+            if (offset == 0 || sector + count > this.sectorCount) {
+                return null;
+            }
+            buffer = ByteBuffer.allocate(count * SECTOR_BYTES);
+            this.readFully(buffer, (long) sector * SECTOR_BYTES);
+        } finally {
+            lock.unlock();
+        }
+        buffer.flip();
+        final int length = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            return null;
+        }
+        final byte version = buffer.get();
+        final InputStream data = new ByteArrayInputStream(buffer.array(), buffer.position(), length - 1);
+        if (version == VERSION_GZIP) {
+            return new DataInputStream(new BufferedInputStream(new GZIPInputStream(data)));
+        }
+        if (version == VERSION_DEFLATE) {
+            return new DataInputStream(new BufferedInputStream(new InflaterInputStream(data)));
+        }
+        return null;
+    }
+
+    /**
+     * Writes already deflated data for the given chunk.
+     *
+     * @param x The chunk x coordinate, relative to the region
+     * @param z The chunk z coordinate, relative to the region
+     * @param data The deflated chunk data
+     * @param length The length of the data
+     * @throws IOException If the chunk could not be written
+     */
+    public void write(final int x, final int z, final byte[] data, final int length) throws IOException {
+        final int sectorsNeeded = (length + 5) / SECTOR_BYTES + 1;
+        if (sectorsNeeded > MAX_CHUNK_SECTORS) {
+            throw new IOException(String.format("Chunk %d, %d in %s is too large to be saved (%d bytes)", x, z, this.file, length));
+        }
+        final int index = index(x, z);
+        final Lock lock = this.locks[index % LOCK_STRIPES].writeLock();
+        lock.lock();
+        try {
+            final int oldOffset = this.offsets.get(index);
+            final int oldSector = oldOffset >>> 8;
+            final int oldCount = oldOffset & 0xFF;
+            // Readers of this chunk are excluded by the stripe lock, so the sectors can be overwritten in place
+            final boolean inPlace = oldOffset != 0 && sectorsNeeded <= oldCount;
+            final int sector = inPlace ? oldSector : this.allocate(sectorsNeeded);
+
+            final ByteBuffer buffer = ByteBuffer.allocate(length + 5);
+            buffer.putInt(length + 1);
+            buffer.put(VERSION_DEFLATE);
+            buffer.put(data, 0, length);
+            buffer.flip();
+            this.writeFully(buffer, (long) sector * SECTOR_BYTES);
+
+            this.offsets.put(index, sector << 8 | sectorsNeeded);
+            this.timestamps.put(index, (int) (System.currentTimeMillis() / 1000L));
+            if (inPlace) {
+                if (sectorsNeeded < oldCount) {
+                    synchronized (this.allocationLock) {
+                        this.usedSectors.clear(oldSector + sectorsNeeded, oldSector + oldCount);
+                    }
+                }
+            } else if (oldOffset != 0) {
+                synchronized (this.allocationLock) {
+                    this.usedSectors.clear(oldSector, oldSector + oldCount);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int allocate(final int count) throws IOException {
+        synchronized (this.allocationLock) {
+            int start = this.usedSectors.nextClearBit(HEADER_SECTORS);
+            while (true) {
+                final int end = this.usedSectors.nextSetBit(start);
+                if (end == -1) {
+                    // The free run extends to the end of the file, grow it if needed
+                    final int required = start + count;
+                    if (required > this.sectorCount) {
+                        this.writeFully(ByteBuffer.allocate((required - this.sectorCount) * SECTOR_BYTES), (long) this.sectorCount * SECTOR_BYTES);
+                        this.sectorCount = required;
+                    }
+                    this.usedSectors.set(start, required);
+                    return start;
+                }
+                if (end - start >= count) {
+                    this.usedSectors.set(start, start + count);
+                    return start;
+                }
+                start = this.usedSectors.nextClearBit(end);
+            }
+        }
+    }
+
+    private void readFully(final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = this.channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of region file " + this.file);
+            }
+            position += read;
+        }
+    }
+
+    private void writeFully(final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += this.channel.write(buffer, position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.header.force();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private static int index(final int x, final int z) {
+        return (x & 31) + (z & 31) * 32;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * The {@link MappedRegionFile} counterpart of the vanilla
+ * {@link net.minecraft.world.chunk.storage.RegionFileCache}.
+ *
+ * <p>Worlds opt in through their config, after which the static methods of
+ * the vanilla cache delegate here for their world directory.</p>
+ */
+public final class MappedRegionFileCache {
+
+    private static final int MAX_OPEN_REGIONS = 256;
+
+    // Holds both the directories as given and normalized, so lookups never have to normalize
+    private static final Set<File> ENABLED_WORLD_DIRS = ConcurrentHashMap.newKeySet();
+    private static final Map<File, MappedRegionFile> REGIONS_BY_FILE = new ConcurrentHashMap<>();
+
+    private MappedRegionFileCache() {
+    }
+
+    public static void setEnabled(final File worldDir, final boolean enabled) {
+        final File normalized = worldDir.toPath().toAbsolutePath().normalize().toFile();
+        if (enabled) {
+            ENABLED_WORLD_DIRS.add(worldDir);
+            ENABLED_WORLD_DIRS.add(normalized);
+        } else {
+            ENABLED_WORLD_DIRS.remove(worldDir);
+            ENABLED_WORLD_DIRS.remove(normalized);
+        }
+    }
+
+    /**
+     * Checks whether a world uses mapped region files. The directory has to
+     * be the one given to {@link #setEnabled}, which is the chunk directory
+     * the world's chunk loader passes to the vanilla cache, or its
+     * normalized absolute path.
+     *
+     * @param worldDir The world directory
+     * @return Whether the world uses mapped region files
+     */
+    public static boolean isEnabled(final File worldDir) {
+        return !ENABLED_WORLD_DIRS.isEmpty() && ENABLED_WORLD_DIRS.contains(worldDir);
+    }
+
+    /**
+     * Gets the region file containing the given chunk, leased to the caller.
+     * The caller must {@link MappedRegionFile#release() release} it once done,
+     * until then the region is never closed.
+     *
+     * @param worldDir The world directory
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param create Whether to create the region file if it does not exist
+     * @return The leased region file, or null if it does not exist and was not created
+     * @throws IOException If the region file could not be opened
+     */
+    @Nullable
+    public static MappedRegionFile acquireRegionFile(final File worldDir, final int chunkX, final int chunkZ, final boolean create)
+            throws IOException {
+        final File regionDir = new File(worldDir, "region");
+        final File file = new File(regionDir, "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca");
+        while (true) {
+            MappedRegionFile regionFile = REGIONS_BY_FILE.get(file);
+            if (regionFile == null) {
+                if (!create && !file.exists()) {
+                    return null;
+                }
+                if (REGIONS_BY_FILE.size() >= MAX_OPEN_REGIONS) {
+                    evictIdleRegions();
+                }
+                regionDir.mkdirs();
+                try {
+                    regionFile = REGIONS_BY_FILE.computeIfAbsent(file, key -> {
+                        try {
+                            return new MappedRegionFile(key);
+                        } catch (final IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (final UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+            if (regionFile.acquire()) {
+                return regionFile;
+            }
+            // Closed by an eviction since it was looked up
+            REGIONS_BY_FILE.remove(file, regionFile);
+        }
+    }
+
+    @Nullable
+    public static DataInputStream getChunkInputStream(final File worldDir, final int chunkX, final int chunkZ) {
+        try {
+            final MappedRegionFile regionFile = acquireRegionFile(worldDir, chunkX, chunkZ, false);
+            if (regionFile == null) {
+                return null;
+            }
+            try {
+                // The returned stream reads from a copy of the chunk data
+                return regionFile.read(chunkX, chunkZ);
+            } finally {
+                regionFile.release();
+            }
+        } catch (final IOException e) {
+            SpongeImpl.getLogger().error("Failed to read chunk {}, {} from {}", chunkX, chunkZ, worldDir, e);
+            return null;
+        }
+    }
+
+    public static DataOutputStream getChunkOutputStream(final File worldDir, final int chunkX, final int chunkZ) {
+        final MappedRegionFile regionFile;
+        try {
+            regionFile = acquireRegionFile(worldDir, chunkX, chunkZ, true);
+        } catch (final IOException e) {
+            // The vanilla signature does not allow checked exceptions
+            throw new UncheckedIOException(e);
+        }
+        // The lease is released once the chunk buffer is closed
+        return new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(new ChunkBuffer(regionFile, chunkX, chunkZ))));
+    }
+
+    public static boolean chunkExists(final File worldDir, final int chunkX, final int chunkZ) {
+        try {
+            final MappedRegionFile regionFile = acquireRegionFile(worldDir, chunkX, chunkZ, false);
+            if (regionFile == null) {
+                return false;
+            }
+            try {
+                return regionFile.isChunkSaved(chunkX, chunkZ);
+            } finally {
+                regionFile.release();
+            }
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the least recently used regions that are not in use, until the
+     * cache is below its limit. Regions in use are never closed, so the
+     * cache may temporarily exceed the limit.
+     */
+    private static synchronized void evictIdleRegions() {
+        while (REGIONS_BY_FILE.size() >= MAX_OPEN_REGIONS) {
+            Map.Entry<File, MappedRegionFile> eldest = null;
+            for (final Map.Entry<File, MappedRegionFile> entry : REGIONS_BY_FILE.entrySet()) {
+                if (!entry.getValue().isInUse() && (eldest == null || entry.getValue().getLastUsed() < eldest.getValue().getLastUsed())) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            if (eldest.getValue().closeIfIdle()) {
+                REGIONS_BY_FILE.remove(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes all regions from the cache. Regions that are still in use are
+     * closed once they are released.
+     */
+    public static void clear() {
+        for (final Map.Entry<File, MappedRegionFile> entry : REGIONS_BY_FILE.entrySet()) {
+            if (REGIONS_BY_FILE.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().retire();
+            }
+        }
+    }
+
+    /**
+     * Collects the deflated data of a chunk and writes it once closed, like
+     * the vanilla region file's chunk buffer.
+     */
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+
+        private final MappedRegionFile regionFile;
+        private final int chunkX;
+        private final int chunkZ;
+        private boolean closed;
+
+        ChunkBuffer(final MappedRegionFile regionFile, final int chunkX, final int chunkZ) {
+            super(8096);
+            this.regionFile = regionFile;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            try {
+                this.regionFile.write(this.chunkX, this.chunkZ, this.buf, this.count);
+            } finally {
+                this.regionFile.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.common.bridge.world.chunk.BlockStateContainerBridge;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * The {@code Sections} list of a saved chunk, holding snapshots of the
+ * chunk's block storage until the list is {@link #complete() completed}.
+ *
+ * <p>Taking the snapshots on the main thread only copies the packed block
+ * states, the palette and the light arrays of each section. Converting them
+ * into the block id, metadata and add arrays of the chunk format, which is
+ * the expensive part of writing a chunk, happens when the list is completed
+ * on the thread writing the chunk to disk.</p>
+ *
+ * <p>Pending lists must be completed through {@link #complete(NBTTagCompound)}
+ * before a queued chunk compound is written or read back.</p>
+ */
+public final class PendingSectionsTagList extends NBTTagList {
+
+    private static final IBlockState AIR = Blocks.AIR.getDefaultState();
+
+    @Nullable private Section[] sections;
+
+    public PendingSectionsTagList(final ExtendedBlockStorage[] storageArray, final boolean hasSkyLight) {
+        int count = 0;
+        final Section[] sections = new Section[storageArray.length];
+        for (final ExtendedBlockStorage storage : storageArray) {
+            if (storage != Chunk.NULL_BLOCK_STORAGE) {
+                sections[count++] = new Section(storage, hasSkyLight);
+            }
+        }
+        this.sections = count == sections.length ? sections : Arrays.copyOf(sections, count);
+    }
+
+    /**
+     * Completes the pending sections of a queued chunk compound, if any.
+     *
+     * @param chunkCompound The root compound of the chunk
+     */
+    public static void complete(@Nullable final NBTTagCompound chunkCompound) {
+        if (chunkCompound == null) {
+            return;
+        }
+        final NBTBase sections = chunkCompound.getCompoundTag("Level").getTag("Sections");
+        if (sections instanceof PendingSectionsTagList) {
+            ((PendingSectionsTagList) sections).complete();
+        }
+    }
+
+    public synchronized void complete() {
+        final Section[] sections = this.sections;
+        if (sections == null) {
+            return;
+        }
+        for (final Section section : sections) {
+            this.appendTag(section.write());
+        }
+        this.sections = null;
+    }
+
+    private static final class Section {
+
+        private final byte y;
+        private final int bits;
+        private final long[] storage;
+        // Null if the section uses the global palette
+        @Nullable private final IBlockState[] palette;
+        private final byte[] blockLight;
+        private final byte[] skyLight;
+
+        Section(final ExtendedBlockStorage storage, final boolean hasSkyLight) {
+            final BlockStateContainerBridge container = (BlockStateContainerBridge) storage.getData();
+            this.y = (byte) (storage.getYLocation() >> 4 & 255);
+            this.bits = container.bridge$getBits();
+            this.storage = container.bridge$getStorage().getBackingLongArray().clone();
+            if (this.bits <= 8) {
+                final IBlockStatePalette palette = container.bridge$getPalette();
+                this.palette = new IBlockState[1 << this.bits];
+                for (int i = 0; i < this.palette.length; i++) {
+                    this.palette[i] = palette.getBlockState(i);
+                }
+            } else {
+                this.palette = null;
+            }
+            this.blockLight = storage.getBlockLight().getData().clone();
+            this.skyLight = hasSkyLight ? storage.getSkyLight().getData().clone() : new byte[this.blockLight.length];
+        }
+
+        // Mirrors AnvilChunkLoader#writeChunkToNBT and BlockStateContainer#getDataForNBT
+        NBTTagCompound write() {
+            final byte[] blocks = new byte[4096];
+            final byte[] data = new byte[2048];
+            byte[] add = null;
+            final long mask = (1L << this.bits) - 1L;
+            for (int i = 0; i < 4096; i++) {
+                final int bitIndex = i * this.bits;
+                final int start = bitIndex >> 6;
+                final int end = ((i + 1) * this.bits - 1) >> 6;
+                final int offset = bitIndex & 63;
+                final int paletteId;
+                if (start == end) {
+                    paletteId = (int) (this.storage[start] >>> offset & mask);
+                } else {
+                    paletteId = (int) ((this.storage[start] >>> offset | this.storage[end] << (64 - offset)) & mask);
+                }
+                IBlockState state = this.palette == null ? Block.BLOCK_STATE_IDS.getByValue(paletteId) : this.palette[paletteId];
+                if (state == null) {
+                    state = AIR;
+                }
+                final int id = Block.BLOCK_STATE_IDS.get(state);
+                final int nibbleShift = (i & 1) << 2;
+                if ((id >> 12 & 15) != 0) {
+                    if (add == null) {
+                        add = new byte[2048];
+                    }
+                    add[i >> 1] |= (id >> 12 & 15) << nibbleShift;
+                }
+                blocks[i] = (byte) (id >> 4 & 255);
+                data[i >> 1] |= (id & 15) << nibbleShift;
+            }
+
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setByte("Y", this.y);
+            compound.setByteArray("Blocks", blocks);
+            compound.setByteArray("Data", data);
+            if (add != null) {
+                compound.setByteArray("Add", add);
+            }
+            compound.setByteArray("BlockLight", this.blockLight);
+            compound.setByteArray("SkyLight", this.skyLight);
+            return compound;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads the chunk data of a world's region files, with each region file as
+ * the unit of splitting.
+ *
+ * <p>Region files are read directly rather than through the region file
+ * cache, so several spliterators may read different regions concurrently.
+ * Once a region is reached, the compressed data of the chunks accepted by
+ * the header checks of the {@link ChunkDataFilter} is read in one pass and
+ * the file is closed again. Chunks are decompressed and translated one at
+ * a time as they are consumed.</p>
+ */
+final class RegionChunkSpliterator implements Spliterator<DataContainer> {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int CHUNKS = 1024;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+    private static final byte[][] NO_CHUNKS = new byte[0][];
+
+    private final Region[] regions;
+    private final ChunkDataFilter filter;
+    private int nextRegion;
+    private int fence;
+    // The version byte followed by the compressed data of each accepted chunk of the current region
+    private byte[][] chunks = NO_CHUNKS;
+    private int chunkIndex;
+
+    private RegionChunkSpliterator(final Region[] regions, final int origin, final int fence, final ChunkDataFilter filter) {
+        this.regions = regions;
+        this.nextRegion = origin;
+        this.fence = fence;
+        this.filter = filter;
+    }
+
+    /**
+     * Creates a spliterator over the region files of a world.
+     *
+     * @param worldDir The chunk directory of the world
+     * @param templateDir The chunk directory of the template the world
+     *     shares its region files with, if any
+     * @param filter The filter selecting the chunks to read
+     * @return The spliterator
+     */
+    static RegionChunkSpliterator of(final Path worldDir, @Nullable final Path templateDir, final ChunkDataFilter filter) {
+        final List<Region> regions = new ArrayList<>();
+        final Set<Path> ownFiles = new HashSet<>();
+        for (final Path file : WorldStorageUtil.listRegionFiles(worldDir)) {
+            final Region region = Region.of(file, null);
+            if (region != null) {
+                regions.add(region);
+                ownFiles.add(file.getFileName());
+            }
+        }
+        if (templateDir != null) {
+            // Chunks saved by the world itself replace the chunks of the template
+            for (final Path file : WorldStorageUtil.listRegionFiles(templateDir)) {
+                final Path fileName = file.getFileName();
+                final Region region = Region.of(file, ownFiles.contains(fileName) ? worldDir.resolve("region").resolve(fileName) : null);
+                if (region != null) {
+                    regions.add(region);
+                }
+            }
+        }
+        return new RegionChunkSpliterator(regions.toArray(new Region[0]), 0, regions.size(), filter);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super DataContainer> action) {
+        while (true) {
+            if (this.chunkIndex < this.chunks.length) {
+                final byte[] data = this.chunks[this.chunkIndex];
+                this.chunks[this.chunkIndex++] = null;
+                final DataContainer container = this.translate(data);
+                if (container != null) {
+                    action.accept(container);
+                    return true;
+                }
+            } else if (this.nextRegion < this.fence) {
+                this.chunks = this.readChunks(this.regions[this.nextRegion++]);
+                this.chunkIndex = 0;
+            } else {
+                return false;
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<DataContainer> trySplit() {
+        final int remaining = this.fence - this.nextRegion;
+        if (remaining < 2) {
+            return null;
+        }
+        final int middle = this.nextRegion + remaining / 2;
+        final RegionChunkSpliterator split = new RegionChunkSpliterator(this.regions, middle, this.fence, this.filter);
+        this.fence = middle;
+        return split;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (long) (this.fence - this.nextRegion) * CHUNKS + this.chunks.length - this.chunkIndex;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+
+    /**
+     * Counts the remaining chunks accepted by the header checks of the
+     * filter, reading only the headers of the remaining region files.
+     *
+     * <p>The count is an upper bound of the chunks {@link #tryAdvance}
+     * supplies. Chunks rejected by the level checks of the filter and chunks
+     * whose data is invalid are only skipped once they are read.</p>
+     *
+     * @return The maximum number of remaining chunks
+     */
+    long countRemaining() {
+        long count = this.chunks.length - this.chunkIndex;
+        for (int i = this.nextRegion; i < this.fence; i++) {
+            final Region region = this.regions[i];
+            try (final FileChannel channel = FileChannel.open(region.file, StandardOpenOption.READ)) {
+                final IntBuffer header = readHeader(channel);
+                final int[] shadowed = region.readShadowedOffsets();
+                for (int index = 0; index < CHUNKS; index++) {
+                    if (this.isAccepted(region, header, shadowed, index)) {
+                        count++;
+                    }
+                }
+            } catch (final IOException e) {
+                // Unreadable regions are skipped when iterating as well
+            }
+        }
+        return count;
+    }
+
+    private boolean isAccepted(final Region region, final IntBuffer header, @Nullable final int[] shadowed, final int index) {
+        return header.get(index) != 0
+                && (shadowed == null || shadowed[index] == 0)
+                && this.filter.testHeader((region.x << 5) + (index & 31), (region.z << 5) + (index >> 5), header.get(CHUNKS + index));
+    }
+
+    private byte[][] readChunks(final Region region) {
+        try (final FileChannel channel = FileChannel.open(region.file, StandardOpenOption.READ)) {
+            final IntBuffer header = readHeader(channel);
+            final int[] shadowed = region.readShadowedOffsets();
+            final long size = channel.size();
+            final List<byte[]> chunks = new ArrayList<>();
+            for (int index = 0; index < CHUNKS; index++) {
+                if (!this.isAccepted(region, header, shadowed, index)) {
+                    continue;
+                }
+                // Mirrors MappedRegionFile#read, without decompressing
+                final int offset = header.get(index);
+                final long position = (long) (offset >>> 8) * SECTOR_BYTES;
+                final long available = Math.min((long) (offset & 0xFF) * SECTOR_BYTES, size - position);
+                if (available <= 5) {
+                    continue;
+                }
+                final ByteBuffer buffer = ByteBuffer.allocate((int) available);
+                readFully(channel, buffer, position);
+                final int length = buffer.getInt(0);
+                if (length <= 1 || length > buffer.position() - 4) {
+                    continue;
+                }
+                chunks.add(Arrays.copyOfRange(buffer.array(), 4, 4 + length));
+            }
+            return chunks.toArray(NO_CHUNKS);
+        } catch (final IOException e) {
+            SpongeImpl.getLogger().error("Failed to read region file {}", region.file, e);
+            return NO_CHUNKS;
+        }
+    }
+
+    @Nullable
+    private DataContainer translate(final byte[] data) {
+        final InputStream compressed = new ByteArrayInputStream(data, 1, data.length - 1);
+        final NBTTagCompound compound;
+        try {
+            final InputStream decompressed;
+            if (data[0] == VERSION_GZIP) {
+                decompressed = new GZIPInputStream(compressed);
+            } else if (data[0] == VERSION_DEFLATE) {
+                decompressed = new InflaterInputStream(compressed);
+            } else {
+                return null;
+            }
+            try (final DataInputStream stream = new DataInputStream(new BufferedInputStream(decompressed))) {
+                compound = CompressedStreamTools.read(stream);
+            }
+        } catch (final IOException e) {
+            SpongeImpl.getLogger().error("Failed to read chunk data", e);
+            return null;
+        }
+        final NBTTagCompound level = WorldStorageUtil.getChunkLevel(compound);
+        if (level == null || !this.filter.testLevel(level)) {
+            return null;
+        }
+        return NbtTranslator.getInstance().translateFrom(level);
+    }
+
+    private static IntBuffer readHeader(final FileChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(2 * SECTOR_BYTES);
+        readFully(channel, header, 0);
+        // Missing parts of the header read as empty
+        header.clear();
+        return header.asIntBuffer();
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return;
+            }
+        }
+    }
+
+    private static final class Region {
+
+        final Path file;
+        // The region file of the world whose chunks replace the chunks of this template region
+        @Nullable final Path shadowingFile;
+        final int x;
+        final int z;
+
+        private Region(final Path file, @Nullable final Path shadowingFile, final int x, final int z) {
+            this.file = file;
+            this.shadowingFile = shadowingFile;
+            this.x = x;
+            this.z = z;
+        }
+
+        @Nullable
+        static Region of(final Path file, @Nullable final Path shadowingFile) {
+            // r.<x>.<z>.mca
+            final String[] parts = file.getFileName().toString().split("\\.");
+            if (parts.length != 4) {
+                return null;
+            }
+            try {
+                return new Region(file, shadowingFile, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Nullable
+        int[] readShadowedOffsets() throws IOException {
+            if (this.shadowingFile == null || !Files.exists(this.shadowingFile)) {
+                return null;
+            }
+            try (final FileChannel channel = FileChannel.open(this.shadowingFile, StandardOpenOption.READ)) {
+                final int[] offsets = new int[CHUNKS];
+                readHeader(channel).get(offsets);
+                return offsets;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Prefetches the decompressed data of chunks surrounding a chunk that had to
+ * be read from disk.
+ *
+ * <p>Chunks are only read from disk when nothing in memory can provide them,
+ * which mostly happens while players move faster than chunks are loaded
+ * around them. Each such read schedules its neighbours within the configured
+ * radius, limited to the same region file, to be read and inflated on a
+ * background thread so the following loads are served from memory.</p>
+ *
+ * <p>Prefetched data must be {@link #invalidate(int, int) invalidated} whenever
+ * a chunk is queued for saving and again once it has been written, so that a
+ * prefetch racing with a write can never publish stale data.</p>
+ */
+public final class RegionReadAhead {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("Sponge - Region Read-Ahead Thread")
+            .setDaemon(true)
+            .build());
+
+    private final File worldDir;
+    private final int radius;
+    private final Predicate<ChunkPos> isPendingSave;
+    private final Cache<Long, byte[]> prefetched;
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new read-ahead for the given world directory.
+     *
+     * @param worldDir The world directory containing the region folder
+     * @param radius The radius of chunks to prefetch
+     * @param capacity The maximum number of prefetched chunks to keep
+     * @param isPendingSave Tests whether a chunk is queued to be saved
+     */
+    public RegionReadAhead(final File worldDir, final int radius, final int capacity, final Predicate<ChunkPos> isPendingSave) {
+        this.worldDir = worldDir;
+        this.radius = radius;
+        this.isPendingSave = isPendingSave;
+        this.prefetched = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Gets the data stream of the given chunk, using prefetched data when
+     * available and reading it from its region file otherwise.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The chunk data stream, or null if the chunk does not exist
+     */
+    @Nullable
+    public DataInputStream read(final int x, final int z) {
+        final long key = ChunkPos.asLong(x, z);
+        final byte[] data = this.prefetched.asMap().remove(key);
+        if (data != null) {
+            return new DataInputStream(new ByteArrayInputStream(data));
+        }
+        final DataInputStream stream = RegionFileCache.getChunkInputStream(this.worldDir, x, z);
+        if (stream != null) {
+            this.scheduleNeighbours(x, z);
+        }
+        return stream;
+    }
+
+    /**
+     * Discards any prefetched or in-flight data of the given chunk.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     */
+    public void invalidate(final int x, final int z) {
+        final long key = ChunkPos.asLong(x, z);
+        synchronized (this) {
+            this.scheduled.remove(key);
+            this.prefetched.invalidate(key);
+        }
+    }
+
+    private void scheduleNeighbours(final int x, final int z) {
+        final int regionX = x >> 5;
+        final int regionZ = z >> 5;
+        for (int dx = -this.radius; dx <= this.radius; dx++) {
+            for (int dz = -this.radius; dz <= this.radius; dz++) {
+                final int chunkX = x + dx;
+                final int chunkZ = z + dz;
+                if ((dx == 0 && dz == 0) || chunkX >> 5 != regionX || chunkZ >> 5 != regionZ) {
+                    continue;
+                }
+                final long key = ChunkPos.asLong(chunkX, chunkZ);
+                if (this.isPendingSave.test(new ChunkPos(chunkX, chunkZ)) || this.prefetched.getIfPresent(key) != null || !this.scheduled.add(key)) {
+                    continue;
+                }
+                EXECUTOR.execute(() -> this.prefetch(chunkX, chunkZ, key));
+            }
+        }
+    }
+
+    private void prefetch(final int x, final int z, final long key) {
+        byte[] data = null;
+        try (final DataInputStream stream = RegionFileCache.getChunkInputStream(this.worldDir, x, z)) {
+            if (stream != null) {
+                data = ByteStreams.toByteArray(stream);
+            }
+        } catch (final IOException ignored) {
+            // The chunk will simply be read again when it is loaded
+        }
+        synchronized (this) {
+            // Only publish if the chunk was not invalidated in the meantime
+            if (this.scheduled.remove(key) && data != null) {
+                this.prefetched.put(key, data);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.bridge.world.chunk.storage.RegionFileAccessor;
+import org.spongepowered.common.util.QueuedChunk;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A group of queued chunks that all live in the same {@link RegionFile}.
+ *
+ * <p>Chunk data is compressed as it is added, without holding the region
+ * file's lock. {@link #write()} then takes the lock once and writes every
+ * chunk in ascending sector order, so that chunks rewritten in place are
+ * written in a single sweep through the file instead of seeking back and
+ * forth. Chunks that have no sectors allocated yet are written last, as
+ * they are appended to the end of the file.</p>
+ *
+ * <p>Worlds using a {@link MappedRegionFile} are written the same way, but
+ * without locking the whole region as it locks chunks individually.</p>
+ */
+public final class RegionWriteBatch {
+
+    private static final int UNALLOCATED = Integer.MAX_VALUE;
+
+    @Nullable private final RegionFile regionFile;
+    // Mapped regions are only leased while writing, see MappedRegionFileCache#acquireRegionFile
+    @Nullable private final File mappedWorldDir;
+    private final int chunkX;
+    private final int chunkZ;
+    private final List<Entry> entries = new ArrayList<>();
+
+    private RegionWriteBatch(@Nullable final RegionFile regionFile, @Nullable final File mappedWorldDir, final int chunkX, final int chunkZ) {
+        this.regionFile = regionFile;
+        this.mappedWorldDir = mappedWorldDir;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+    }
+
+    /**
+     * Creates a batch for the region file containing the given chunk.
+     *
+     * @param worldDir The world directory
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The new batch
+     * @throws IOException If the region file could not be opened
+     */
+    public static RegionWriteBatch forRegion(final File worldDir, final int chunkX, final int chunkZ) throws IOException {
+        if (MappedRegionFileCache.isEnabled(worldDir)) {
+            return new RegionWriteBatch(null, worldDir, chunkX, chunkZ);
+        }
+        return new RegionWriteBatch(RegionFileCache.createOrLoadRegionFile(worldDir, chunkX, chunkZ), null, chunkX, chunkZ);
+    }
+
+    /**
+     * Compresses the given chunk and adds it to this batch.
+     *
+     * @param chunk The queued chunk
+     * @throws IOException If the chunk could not be compressed
+     */
+    public void add(final QueuedChunk chunk) throws IOException {
+        // Same framing as RegionFile#getChunkDataOutputStream, which writes zlib (version 2) data
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8096);
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes)))) {
+            CompressedStreamTools.write(chunk.compound, out);
+        }
+        this.entries.add(new Entry(chunk, bytes.toByteArray()));
+    }
+
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * Writes all chunks of this batch to the region file.
+     *
+     * @return The chunks that failed to be written
+     */
+    public List<QueuedChunk> write() {
+        final List<QueuedChunk> failed = new ArrayList<>();
+        if (this.mappedWorldDir != null) {
+            final MappedRegionFile mapped;
+            try {
+                mapped = MappedRegionFileCache.acquireRegionFile(this.mappedWorldDir, this.chunkX, this.chunkZ, true);
+            } catch (final IOException e) {
+                for (final Entry entry : this.entries) {
+                    failed.add(entry.chunk);
+                }
+                return failed;
+            }
+            try {
+                this.writeEntries(mapped, failed);
+            } finally {
+                mapped.release();
+            }
+            return failed;
+        }
+        synchronized (this.regionFile) {
+            this.writeEntries(null, failed);
+        }
+        return failed;
+    }
+
+    private void writeEntries(@Nullable final MappedRegionFile mapped, final List<QueuedChunk> failed) {
+        final int[] offsets = mapped == null ? ((RegionFileAccessor) this.regionFile).accessor$getOffsets() : null;
+        for (final Entry entry : this.entries) {
+            final ChunkPos pos = entry.chunk.coords;
+            if (mapped != null) {
+                entry.sector = mapped.getSector(pos.x, pos.z);
+            } else {
+                final int offset = offsets[(pos.x & 31) + (pos.z & 31) * 32];
+                entry.sector = offset == 0 ? UNALLOCATED : offset >> 8;
+            }
+        }
+        this.entries.sort(Comparator.comparingInt(entry -> entry.sector));
+        for (final Entry entry : this.entries) {
+            final ChunkPos pos = entry.chunk.coords;
+            try {
+                if (mapped != null) {
+                    mapped.write(pos.x, pos.z, entry.data, entry.data.length);
+                } else {
+                    ((RegionFileAccessor) this.regionFile).accessor$write(pos.x & 31, pos.z & 31, entry.data, entry.data.length);
+                }
+            } catch (final Exception e) {
+                failed.add(entry.chunk);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        final QueuedChunk chunk;
+        final byte[] data;
+        int sector;
+
+        Entry(final QueuedChunk chunk, final byte[] data) {
+            this.chunk = chunk;
+            this.data = data;
+        }
+    }
+}
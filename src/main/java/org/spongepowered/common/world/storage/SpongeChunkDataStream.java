@@ -24,127 +24,102 @@
  */
 package org.spongepowered.common.world.storage;
 
-import com.google.common.collect.Sets;
-import net.minecraft.world.chunk.storage.RegionFile;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.world.storage.ChunkDataStream;
-import org.spongepowered.common.bridge.world.chunk.storage.RegionFileAccessor;
 
-import java.io.DataInputStream;
-import java.io.IOException;
+import java.io.File;
 import java.nio.file.Path;
 import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class SpongeChunkDataStream implements ChunkDataStream {
-
-    private static class RegionFileItr {
-
-        private final RegionFile file;
-        public int index;
+import javax.annotation.Nullable;
 
-        public RegionFileItr(final RegionFile regionFile) {
-            this.file = regionFile;
-        }
-
-        public int getNext() {
-            int index = this.index;
-            final int[] offsets = ((RegionFileAccessor) this.file).accessor$getOffsets();
-            while (index != -1 && index < offsets.length && offsets[index] == 0) {
-                index++;
-            }
-            if (index >= offsets.length) {
-                return -1;
-            }
-            return index;
-        }
-
-        public DataInputStream getStreamAt(final int index) {
-            final int x = index & 31;
-            final int z = index >>> 5;
-            return this.file.getChunkDataInputStream(x, z);
-        }
-
-    }
+/**
+ * Reads the chunks saved in the region files of a world.
+ *
+ * <p>The API only exposes this as a sequential, unfiltered
+ * {@link ChunkDataStream}. Filtering with a {@link ChunkDataFilter} and
+ * {@link #stream(boolean) parallel streams} are implementation details,
+ * available to code that constructs or casts to this class.</p>
+ */
+public class SpongeChunkDataStream implements ChunkDataStream {
 
-    private final Set<Path> openedFiles = Sets.newHashSet();
-    private RegionFileItr regionFileItr;
     private final Path worldDir;
+    private final ChunkDataFilter filter;
+    // The region directory is only listed once chunks are read
+    @Nullable private RegionChunkSpliterator spliterator;
+    @Nullable private DataContainer next;
 
     public SpongeChunkDataStream(final Path worldDir) {
+        this(worldDir, ChunkDataFilter.ALL);
+    }
+
+    public SpongeChunkDataStream(final Path worldDir, final ChunkDataFilter filter) {
         this.worldDir = worldDir;
+        this.filter = filter;
     }
 
-    private boolean itrAvailable() {
-        if (this.regionFileItr != null) {
-            return true;
-        }
-        final Iterable<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
-        for (final Path file : files) {
-            if (!this.openedFiles.contains(file)) {
-                this.regionFileItr = new RegionFileItr(WorldStorageUtil.getRegionFile(file));
-                this.openedFiles.add(file);
-                return true;
-            }
+    private RegionChunkSpliterator getSpliterator() {
+        if (this.spliterator == null) {
+            this.spliterator = this.createSpliterator();
         }
-        return false;
+        return this.spliterator;
     }
 
-    private int getNextIndex() {
-        int next;
-        while (itrAvailable()) {
-            if ((next = this.regionFileItr.getNext()) == -1) {
-                this.regionFileItr = null;
-            } else {
-                return next;
-            }
-        }
-        return -1;
+    private RegionChunkSpliterator createSpliterator() {
+        final File templateDir = TemplateRegionFiles.getTemplateDir(this.worldDir.toFile());
+        return RegionChunkSpliterator.of(this.worldDir, templateDir == null ? null : templateDir.toPath(), this.filter);
+    }
+
+    /**
+     * Gets a stream of the chunk data of the world, independent of the
+     * position of this chunk data stream. A parallel stream reads and
+     * translates the chunks of different region files concurrently.
+     *
+     * @param parallel Whether the stream is parallel
+     * @return The stream of chunk data
+     */
+    public Stream<DataContainer> stream(final boolean parallel) {
+        return StreamSupport.stream(this.createSpliterator(), parallel);
     }
 
     @Override
     public DataContainer next() {
-        final int next = getNextIndex();
-        if (next == -1) {
+        if (!this.hasNext()) {
             throw new NoSuchElementException();
         }
-        this.regionFileItr.index = next + 1;
-        final DataInputStream stream = this.regionFileItr.getStreamAt(next);
-        try {
-            return WorldStorageUtil.readDataFromRegion(stream);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        final DataContainer next = this.next;
+        this.next = null;
+        return next;
     }
 
     @Override
     public boolean hasNext() {
-        return getNextIndex() != -1;
+        if (this.next == null) {
+            this.getSpliterator().tryAdvance(container -> this.next = container);
+        }
+        return this.next != null;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the region file headers are read, so this is an upper bound.
+     * Chunks rejected by the inhabited time or last update checks of the
+     * {@link ChunkDataFilter}, as well as chunks that fail to read, are still
+     * counted.</p>
+     */
     @Override
     public int available() {
-        // Advance to the end of the stream, counting along the way. Store
-        // previous state and reset to it afterwards.
-        final RegionFileItr currentItr = this.regionFileItr;
-        final Set<Path> currentOpenedFiles = Sets.newHashSet(this.openedFiles);
-        int count = 0;
-        int index = getNextIndex();
-        while (index != -1) {
-            count++;
-            this.regionFileItr.index = index + 1;
-            index = getNextIndex();
-        }
-        this.regionFileItr = currentItr;
-        this.openedFiles.clear();
-        this.openedFiles.addAll(currentOpenedFiles);
-        return count;
+        final long available = this.getSpliterator().countRemaining() + (this.next == null ? 0 : 1);
+        return (int) Math.min(available, Integer.MAX_VALUE);
     }
 
     @Override
     public void reset() {
-        this.regionFileItr = null;
-        this.openedFiles.clear();
+        this.spliterator = null;
+        this.next = null;
     }
 
 }
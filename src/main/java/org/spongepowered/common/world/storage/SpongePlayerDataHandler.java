@@ -27,17 +27,19 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import net.minecraft.nbt.CompressedStreamTools;
-import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTSizeTracker;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
 import org.spongepowered.common.SpongeImpl;
-import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.persistence.NbtStreamTranslator;
 import org.spongepowered.common.world.WorldManager;
 
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
@@ -52,12 +54,15 @@
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Nullable;
 
 public final class SpongePlayerDataHandler {
 
     private static final String SPONGE_DATA = "sponge";
+    private static final long MAX_PLAYER_DATA_SIZE = 2097152L;
     private boolean hasInitialized = false;
     private Path playerDir;
 
@@ -86,20 +91,16 @@ public static void init() {
             }
             for (final Path playerFile : playerFiles) {
                 if (Files.isReadable(playerFile)) {
-                    final NBTTagCompound compound;
+                    final DataContainer container;
 
-                    try (final InputStream stream = Files.newInputStream(playerFile)) {
-                        compound = CompressedStreamTools.readCompressed(stream);
+                    try (final DataInputStream stream = new DataInputStream(new BufferedInputStream(
+                            new GZIPInputStream(Files.newInputStream(playerFile))))) {
+                        // Same limit as CompressedStreamTools#readCompressed
+                        container = NbtStreamTranslator.getInstance().read(stream, new NBTSizeTracker(MAX_PLAYER_DATA_SIZE));
                     } catch (Exception e) {
                         throw new RuntimeException("Failed to decompress playerdata for playerfile " + playerFile, e);
                     }
 
-                    // TODO Hard exception? Logger entry?
-                    if (compound == null) {
-                        throw new RuntimeException("Failed to decompress player data within [" + playerFile + "]!");
-                    }
-
-                    final DataContainer container = NbtTranslator.getInstance().translateFrom(compound);
                     final SpongePlayerData data = container.getSerializable(DataQuery.of(), SpongePlayerData.class).get();
                     handlerInstance.playerDataMap.put(data.uuid, data);
                 }
@@ -120,17 +121,13 @@ public static void savePlayer(final UUID id) {
         final SpongePlayerDataHandler instance = Holder.INSTANCE;
         @Nullable final SpongePlayerData data = instance.playerDataMap.get(checkNotNull(id, "Player id cannot be null!"));
         if (data != null) {
-            saveFile(id.toString(), createCompoundFor(data));
+            saveFile(id.toString(), data.toContainer());
         } else {
             SpongeImpl.getLogger().error("Couldn't find a player data for the uuid: " + id.toString());
         }
     }
 
-    private static NBTTagCompound createCompoundFor(final SpongePlayerData data) {
-        return NbtTranslator.getInstance().translateData(data.toContainer());
-    }
-
-    private static void saveFile(final String id, final NBTTagCompound compound) {
+    private static void saveFile(final String id, final DataView container) {
         checkState(Holder.INSTANCE.hasInitialized, "PlayerDataHandler hasn't initialized yet!");
         final SpongePlayerDataHandler instance = Holder.INSTANCE;
         try {
@@ -139,8 +136,9 @@ private static void saveFile(final String id, final NBTTagCompound compound) {
 
             final Path finalDatPath = instance.playerDir.resolve(id + ".dat");
             final Path newDatPath = instance.playerDir.resolve(id + ".dat.tmp");
-            try (final OutputStream stream = Files.newOutputStream(newDatPath, StandardOpenOption.CREATE)) {
-                CompressedStreamTools.writeCompressed(compound, stream);
+            try (final DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(newDatPath, StandardOpenOption.CREATE))))) {
+                NbtStreamTranslator.getInstance().write(stream, container);
             }
             Files.move(newDatPath, finalDatPath, StandardCopyOption.REPLACE_EXISTING);
         } catch (Exception e) {
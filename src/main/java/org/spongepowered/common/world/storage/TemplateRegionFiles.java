@@ -0,0 +1,249 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Tracks the worlds that share the region files of a template world.
+ *
+ * <p>A world copied from a template only holds the chunks it saved itself.
+ * The static methods of the vanilla
+ * {@link net.minecraft.world.chunk.storage.RegionFileCache} read any other
+ * chunk from the template's chunk directory, which is never written to.
+ * Template regions are only ever opened for reading, the vanilla
+ * {@link net.minecraft.world.chunk.storage.RegionFile} would open them for
+ * writing and may pad them. They stay open with their header cached until
+ * {@link #clear()} is called with the vanilla region file cache.</p>
+ */
+public final class TemplateRegionFiles {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+
+    private static final Map<Path, File> TEMPLATE_DIRS = new ConcurrentHashMap<>();
+    private static final Map<Path, TemplateRegion> REGIONS = new ConcurrentHashMap<>();
+
+    private TemplateRegionFiles() {
+    }
+
+    public static void setTemplateDir(final File worldDir, @Nullable final File templateDir) {
+        if (templateDir == null) {
+            TEMPLATE_DIRS.remove(toKey(worldDir));
+        } else {
+            TEMPLATE_DIRS.put(toKey(worldDir), templateDir);
+        }
+    }
+
+    @Nullable
+    public static File getTemplateDir(final File worldDir) {
+        return TEMPLATE_DIRS.isEmpty() ? null : TEMPLATE_DIRS.get(toKey(worldDir));
+    }
+
+    /**
+     * Reads a chunk from a template region file without opening it for
+     * writing.
+     *
+     * @param templateDir The chunk directory of the template world
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The decompressed chunk data, or null if the chunk is not saved
+     */
+    @Nullable
+    public static DataInputStream readChunk(final File templateDir, final int chunkX, final int chunkZ) {
+        final Path file = getRegionFile(templateDir, chunkX, chunkZ);
+        try {
+            final TemplateRegion region = getRegion(file);
+            try {
+                return region.readChunk(chunkX, chunkZ);
+            } catch (final ClosedChannelException e) {
+                // Closed by clear() while reading, the region is opened again
+                REGIONS.remove(file, region);
+                return getRegion(file).readChunk(chunkX, chunkZ);
+            }
+        } catch (final IOException e) {
+            SpongeImpl.getLogger().error("Failed to read chunk [{}, {}] from template region file {}", chunkX, chunkZ, file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a template region file holds a chunk, without opening
+     * it for writing.
+     *
+     * @param templateDir The chunk directory of the template world
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the chunk is saved in the template
+     */
+    public static boolean isChunkSaved(final File templateDir, final int chunkX, final int chunkZ) {
+        final Path file = getRegionFile(templateDir, chunkX, chunkZ);
+        try {
+            return getRegion(file).getOffset(chunkX, chunkZ) != 0;
+        } catch (final IOException e) {
+            SpongeImpl.getLogger().error("Failed to read template region file {}", file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Closes all template region files that were opened for reading.
+     */
+    public static void clear() {
+        for (final Iterator<TemplateRegion> it = REGIONS.values().iterator(); it.hasNext(); ) {
+            it.next().close();
+            it.remove();
+        }
+    }
+
+    private static TemplateRegion getRegion(final Path file) throws IOException {
+        final TemplateRegion region = REGIONS.get(file);
+        if (region != null) {
+            return region;
+        }
+        final TemplateRegion opened = TemplateRegion.open(file);
+        final TemplateRegion previous = REGIONS.putIfAbsent(file, opened);
+        if (previous != null) {
+            opened.close();
+            return previous;
+        }
+        return opened;
+    }
+
+    private static Path getRegionFile(final File templateDir, final int chunkX, final int chunkZ) {
+        return templateDir.toPath().resolve("region").resolve("r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca");
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return;
+            }
+        }
+    }
+
+    private static Path toKey(final File worldDir) {
+        return worldDir.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * A template region file opened for reading. As templates are never
+     * written while copies share them, the header is only read once.
+     */
+    private static final class TemplateRegion {
+
+        private static final TemplateRegion MISSING = new TemplateRegion(null, new int[0]);
+
+        @Nullable private final FileChannel channel;
+        private final int[] offsets;
+
+        private TemplateRegion(@Nullable final FileChannel channel, final int[] offsets) {
+            this.channel = channel;
+            this.offsets = offsets;
+        }
+
+        static TemplateRegion open(final Path file) throws IOException {
+            final FileChannel channel;
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.READ);
+            } catch (final NoSuchFileException e) {
+                return MISSING;
+            }
+            try {
+                final ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES);
+                readFully(channel, header, 0);
+                // A truncated header reads as empty entries
+                final int[] offsets = new int[1024];
+                header.flip();
+                header.asIntBuffer().get(offsets, 0, header.remaining() / 4);
+                return new TemplateRegion(channel, offsets);
+            } catch (final IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        int getOffset(final int chunkX, final int chunkZ) {
+            return this.channel == null ? 0 : this.offsets[(chunkX & 31) + (chunkZ & 31) * 32];
+        }
+
+        @Nullable
+        DataInputStream readChunk(final int chunkX, final int chunkZ) throws IOException {
+            final int offset = this.getOffset(chunkX, chunkZ);
+            if (offset == 0) {
+                return null;
+            }
+            final long position = (long) (offset >>> 8) * SECTOR_BYTES;
+            final long available = Math.min((long) (offset & 0xFF) * SECTOR_BYTES, this.channel.size() - position);
+            if (available <= 5) {
+                return null;
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) available);
+            readFully(this.channel, buffer, position);
+            final int length = buffer.getInt(0);
+            if (length <= 1 || length > buffer.position() - 4) {
+                return null;
+            }
+            final byte version = buffer.get(4);
+            final InputStream compressed = new ByteArrayInputStream(buffer.array(), 5, length - 1);
+            if (version == VERSION_GZIP) {
+                return new DataInputStream(new BufferedInputStream(new GZIPInputStream(compressed)));
+            } else if (version == VERSION_DEFLATE) {
+                return new DataInputStream(new BufferedInputStream(new InflaterInputStream(compressed)));
+            }
+            return null;
+        }
+
+        void close() {
+            if (this.channel != null) {
+                try {
+                    this.channel.close();
+                } catch (final IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -30,14 +30,12 @@
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.storage.IChunkLoader;
-import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
 import org.spongepowered.common.data.persistence.NbtTranslator;
-import org.spongepowered.common.mixin.core.world.chunk.storage.RegionFileCacheAccessor;
 import org.spongepowered.common.util.Constants;
 
 import java.io.DataInputStream;
@@ -52,6 +50,8 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 public class WorldStorageUtil {
 
     public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
@@ -90,8 +90,15 @@ public static DataContainer readDataFromRegion(DataInputStream stream) throws IO
         if (stream == null) {
             return null;
         }
-        NBTTagCompound data = CompressedStreamTools.read(stream);
+        NBTTagCompound level = getChunkLevel(CompressedStreamTools.read(stream));
+        if (level == null) {
+            return null;
+        }
+        return NbtTranslator.getInstance().translateFrom(level);
+    }
 
+    @Nullable
+    public static NBTTagCompound getChunkLevel(NBTTagCompound data) {
         // Checks are based on AnvilChunkLoader#checkedReadChunkFromNBT
 
         if (!data.hasKey(Constants.Chunk.CHUNK_DATA_LEVEL, Constants.NBT.TAG_COMPOUND)) {
@@ -101,7 +108,7 @@ public static DataContainer readDataFromRegion(DataInputStream stream) throws IO
         if (!level.hasKey(Constants.Chunk.CHUNK_DATA_SECTIONS, Constants.NBT.TAG_LIST)) {
             return null;
         }
-        return NbtTranslator.getInstance().translateFrom(level);
+        return level;
     }
 
     public static Iterable<Path> listRegionFiles(Path worldDir) {
@@ -112,20 +119,4 @@ public static Iterable<Path> listRegionFiles(Path worldDir) {
         }
     }
 
-    // Similar to RegionFileCache#createOrLoadRegionFile except this uses direct
-    // file name instead of x,z
-    public static RegionFile getRegionFile(Path regionFilePath) {
-        File file = regionFilePath.toFile();
-        RegionFile regionFile = RegionFileCacheAccessor.accessor$getRegionsByFileMap().get(file);
-        if (regionFile != null) {
-            return regionFile;
-        }
-        if (RegionFileCacheAccessor.accessor$getRegionsByFileMap().size() >= 256) {
-            RegionFileCache.clearRegionFileReferences();
-        }
-        regionFile = new RegionFile(file);
-        RegionFileCacheAccessor.accessor$getRegionsByFileMap().put(file, regionFile);
-        return regionFile;
-    }
-
 }
@@ -0,0 +1,72 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+public class CompactDataContainerTest {
+
+    private static DataContainer fill(DataContainer container) {
+        for (int i = 0; i < CompactDataMap.MAX_FLAT_SIZE * 2; i++) {
+            container.set(DataQuery.of("Level", "Key" + i), i);
+        }
+        return container.set(DataQuery.of("Pos"), ImmutableList.of(1.0D, 64.0D, -3.5D))
+                .set(DataQuery.of("Inventory", "Slot", "Count"), (byte) 3)
+                .set(DataQuery.of("UUID"), new long[] {1L, 2L});
+    }
+
+    @Test
+    public void testCompactEqualsMemory() {
+        final DataContainer memory = fill(new MemoryDataContainer(DataView.SafetyMode.ALL_DATA_CLONED, false));
+        final DataContainer compact = fill(new MemoryDataContainer(DataView.SafetyMode.ALL_DATA_CLONED, true));
+
+        assertEquals(memory.getKeys(true), compact.getKeys(true));
+        assertEquals(memory.getValues(false).keySet(), compact.getValues(false).keySet());
+        assertEquals(memory.getInt(DataQuery.of("Level", "Key12")), compact.getInt(DataQuery.of("Level", "Key12")));
+        assertEquals(memory.getByte(DataQuery.of("Inventory", "Slot", "Count")), compact.getByte(DataQuery.of("Inventory", "Slot", "Count")));
+        assertEquals(memory, compact);
+        assertEquals(memory.copy(), compact.copy());
+        assertTrue(((MemoryDataView) compact.copy()).isCompact());
+    }
+
+    @Test
+    public void testCompactRemoveKeepsOrder() {
+        final DataContainer compact = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED, true);
+        compact.set(DataQuery.of("a"), 1).set(DataQuery.of("b"), 2).set(DataQuery.of("c"), 3);
+        compact.remove(DataQuery.of("b"));
+
+        assertFalse(compact.contains(DataQuery.of("b")));
+        assertEquals(ImmutableList.of(DataQuery.of("a"), DataQuery.of("c")), ImmutableList.copyOf(compact.getKeys(false)));
+        assertFalse(compact.contains(DataQuery.of("a", "b")));
+    }
+}
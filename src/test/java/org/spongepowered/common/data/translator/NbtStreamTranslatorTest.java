@@ -0,0 +1,217 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.translator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTSizeTracker;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.persistence.NbtStreamTranslator;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class NbtStreamTranslatorTest {
+
+    private static byte[] writeStream(final DataContainer container) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            NbtStreamTranslator.getInstance().write(output, container);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataContainer readStream(final byte[] data, final NBTSizeTracker sizeTracker) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            return NbtStreamTranslator.getInstance().read(input, sizeTracker);
+        }
+    }
+
+    private static byte[] writeVanilla(final NBTTagCompound compound) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            CompressedStreamTools.write(compound, output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static NBTTagCompound readVanilla(final byte[] data, final NBTSizeTracker sizeTracker) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            return CompressedStreamTools.read(input, sizeTracker);
+        }
+    }
+
+    private static NBTTagCompound createCompound() {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setByte("Byte", (byte) -3);
+        compound.setShort("Short", (short) 1234);
+        compound.setInteger("Int", -123456);
+        compound.setLong("Long", 1234567890123L);
+        compound.setFloat("Float", 1.5F);
+        compound.setDouble("Double", -64.25D);
+        compound.setString("String", "Spönge");
+        compound.setByte("Flag" + NbtTranslator.BOOLEAN_IDENTIFIER, (byte) 1);
+        compound.setByteArray("ByteArray", new byte[] {1, -2, 3});
+        compound.setIntArray("IntArray", new int[] {64, -65, 66});
+        compound.setTag("LongArray", new NBTTagLongArray(new long[] {Long.MIN_VALUE, 0L, Long.MAX_VALUE}));
+        compound.setTag("EmptyList", new NBTTagList());
+
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", 4);
+        level.setInteger("zPos", -7);
+        final NBTTagList entities = new NBTTagList();
+        for (int i = 0; i < 3; i++) {
+            final NBTTagCompound entity = new NBTTagCompound();
+            entity.setString("id", "minecraft:pig");
+            entity.setInteger("Index", i);
+            entity.setTag("Nested", new NBTTagCompound());
+            entities.appendTag(entity);
+        }
+        level.setTag("Entities", entities);
+        final NBTTagList names = new NBTTagList();
+        names.appendTag(new NBTTagString("a"));
+        names.appendTag(new NBTTagString("b"));
+        level.setTag("Names", names);
+        final NBTTagList arrays = new NBTTagList();
+        arrays.appendTag(new NBTTagIntArray(new int[] {1, 2}));
+        arrays.appendTag(new NBTTagIntArray(new int[0]));
+        level.setTag("Arrays", arrays);
+        compound.setTag("Level", level);
+        return compound;
+    }
+
+    private static DataContainer createContainer() {
+        return DataContainer.createNew()
+                .set(DataQuery.of("Level", "xPos"), 4)
+                .set(DataQuery.of("Level", "LastUpdate"), 1234L)
+                .set(DataQuery.of("Level", "TerrainPopulated"), true)
+                .set(DataQuery.of("Level", "Biomes"), new byte[] {1, 2, 3})
+                .set(DataQuery.of("Level", "HeightMap"), new int[] {64, 65})
+                .set(DataQuery.of("Level", "States"), new long[] {1L, -1L})
+                .set(DataQuery.of("Level", "Entities"), ImmutableList.of(
+                        DataContainer.createNew().set(DataQuery.of("id"), "minecraft:pig").set(DataQuery.of("Baby"), false),
+                        DataContainer.createNew().set(DataQuery.of("id"), "minecraft:cow")))
+                .set(DataQuery.of("Pos"), ImmutableList.of(1.0D, 64.0D, -3.5D))
+                .set(DataQuery.of("Empty"), ImmutableList.of())
+                .set(DataQuery.of("Map"), ImmutableMap.of("Key", "Value", "Other", 3))
+                .set(DataQuery.of("Short"), (short) 7)
+                .set(DataQuery.of("Byte"), (byte) 8)
+                .set(DataQuery.of("Float"), 0.25F)
+                .set(DataQuery.of("Name"), "Steve");
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final DataContainer container = createContainer();
+        final DataContainer read;
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(writeStream(container)))) {
+            read = NbtStreamTranslator.getInstance().read(input);
+        }
+
+        assertEquals(container.getInt(DataQuery.of("Level", "xPos")), read.getInt(DataQuery.of("Level", "xPos")));
+        assertEquals(container.getLong(DataQuery.of("Level", "LastUpdate")), read.getLong(DataQuery.of("Level", "LastUpdate")));
+        assertEquals(true, read.getBoolean(DataQuery.of("Level", "TerrainPopulated")).get());
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) read.get(DataQuery.of("Level", "Biomes")).get());
+        assertArrayEquals(new int[] {64, 65}, (int[]) read.get(DataQuery.of("Level", "HeightMap")).get());
+        assertEquals(container.getDoubleList(DataQuery.of("Pos")), read.getDoubleList(DataQuery.of("Pos")));
+        assertEquals("Steve", read.getString(DataQuery.of("Name")).get());
+    }
+
+    @Test
+    public void testReadMatchesCompressedStreamTools() throws IOException {
+        final NBTTagCompound compound = createCompound();
+        final byte[] vanillaBytes = writeVanilla(compound);
+
+        final DataContainer streamed = readStream(vanillaBytes, NBTSizeTracker.INFINITE);
+        final DataContainer translated = NbtTranslator.getInstance().translateFrom(readVanilla(vanillaBytes, NBTSizeTracker.INFINITE));
+
+        // Tree level, compared as tags since data views compare arrays by identity
+        assertEquals(NbtTranslator.getInstance().translateData(translated), NbtTranslator.getInstance().translateData(streamed));
+        assertEquals(compound, NbtTranslator.getInstance().translateData(streamed));
+        // Byte level, the keys are read and written back in the same order
+        assertArrayEquals(vanillaBytes, writeStream(streamed));
+    }
+
+    @Test
+    public void testWriteMatchesNbtTranslator() throws IOException {
+        final DataContainer container = createContainer();
+        final byte[] streamBytes = writeStream(container);
+        final NBTTagCompound translated = NbtTranslator.getInstance().translateData(container);
+
+        // Tree level
+        assertEquals(translated, readVanilla(streamBytes, NBTSizeTracker.INFINITE));
+        // Byte level, only the key order of NBTTagCompound differs so the encoded length must match
+        assertEquals(writeVanilla(translated).length, streamBytes.length);
+    }
+
+    @Test
+    public void testSizeTrackerIsChargedLikeVanilla() throws IOException {
+        final byte[] data = writeVanilla(createCompound());
+        final CountingSizeTracker vanilla = new CountingSizeTracker();
+        readVanilla(data, vanilla);
+        final CountingSizeTracker streamed = new CountingSizeTracker();
+        readStream(data, streamed);
+        assertEquals(vanilla.read, streamed.read);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testSizeLimit() throws IOException {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setByteArray("Data", new byte[4096]);
+        readStream(writeVanilla(compound), new NBTSizeTracker(8 * 1024));
+    }
+
+    private static final class CountingSizeTracker extends NBTSizeTracker {
+
+        long read;
+
+        CountingSizeTracker() {
+            super(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void read(final long bits) {
+            this.read += bits;
+        }
+    }
+}
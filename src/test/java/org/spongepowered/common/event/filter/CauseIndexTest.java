@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+public class CauseIndexTest {
+
+    @Test
+    public void testNestedPostWithOtherCause() {
+        final Cause outer = Cause.of(EventContext.empty(), "first", 1, "last");
+        final Cause inner = Cause.of(EventContext.empty(), "inner", 2);
+
+        CauseIndex.acquire(outer);
+        final Optional<?> first = CauseIndex.first(outer, String.class);
+        final Optional<?> last = CauseIndex.last(outer, String.class);
+        assertEquals(Optional.of("first"), first);
+        assertEquals(Optional.of("last"), last);
+
+        CauseIndex.acquire(inner);
+        assertEquals(Optional.of("inner"), CauseIndex.first(inner, String.class));
+        assertEquals(Optional.of("inner"), CauseIndex.last(inner, String.class));
+        assertEquals(Collections.singletonList("inner"), CauseIndex.allOf(inner, String.class));
+        assertEquals(Optional.of(2), CauseIndex.first(inner, Integer.class));
+        CauseIndex.release(inner);
+
+        // The nested post does not discard the index of the outer cause
+        assertSame(first, CauseIndex.first(outer, String.class));
+        assertSame(last, CauseIndex.last(outer, String.class));
+        assertEquals(Arrays.asList("first", "last"), CauseIndex.allOf(outer, String.class));
+        assertEquals(Optional.empty(), CauseIndex.first(outer, Long.class));
+        CauseIndex.release(outer);
+
+        // Released once the outer post is done
+        final Optional<?> rebuilt = CauseIndex.first(outer, String.class);
+        assertNotSame(first, rebuilt);
+        assertEquals(first, rebuilt);
+    }
+
+    @Test
+    public void testNestedPostWithSameCause() {
+        final Cause cause = Cause.of(EventContext.empty(), "first", "last");
+
+        CauseIndex.acquire(cause);
+        final Optional<?> first = CauseIndex.first(cause, String.class);
+
+        CauseIndex.acquire(cause);
+        assertSame(first, CauseIndex.first(cause, String.class));
+        assertEquals(Optional.of("last"), CauseIndex.last(cause, String.class));
+        CauseIndex.release(cause);
+
+        assertSame(first, CauseIndex.first(cause, String.class));
+        assertEquals(Arrays.asList("first", "last"), CauseIndex.allOf(cause, String.class));
+        CauseIndex.release(cause);
+
+        assertNotSame(first, CauseIndex.first(cause, String.class));
+    }
+
+    @Test
+    public void testIndexCreatedByNestedPost() {
+        final Cause cause = Cause.of(EventContext.empty(), "only");
+
+        // The outer post has not used the index yet when the nested post starts
+        CauseIndex.acquire(cause);
+        CauseIndex.acquire(cause);
+        final Optional<?> first = CauseIndex.first(cause, String.class);
+        CauseIndex.release(cause);
+
+        assertEquals(first, CauseIndex.first(cause, String.class));
+        assertEquals(Optional.of("only"), CauseIndex.last(cause, String.class));
+        assertEquals(Collections.singletonList("only"), CauseIndex.allOf(cause, String.class));
+        CauseIndex.release(cause);
+    }
+
+    @Test
+    public void testNothingCachedOutsideOfPost() {
+        final Cause cause = Cause.of(EventContext.empty(), "only");
+
+        final Optional<?> first = CauseIndex.first(cause, String.class);
+        assertEquals(Optional.of("only"), first);
+        assertNotSame(first, CauseIndex.first(cause, String.class));
+        assertEquals(Collections.singletonList("only"), CauseIndex.allOf(cause, String.class));
+    }
+
+    @Test
+    public void testUnacquiredCauseDroppedAfterOutermostPost() {
+        final Cause posted = Cause.of(EventContext.empty(), "posted");
+        final Cause direct = Cause.of(EventContext.empty(), "direct");
+
+        // A listener called directly during a post, without acquiring its cause
+        CauseIndex.acquire(posted);
+        final Optional<?> first = CauseIndex.first(direct, String.class);
+        assertSame(first, CauseIndex.first(direct, String.class));
+        CauseIndex.release(posted);
+
+        assertNotSame(first, CauseIndex.first(direct, String.class));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TimingWheelTest {
+
+    private static ScheduledTask createTask() {
+        return new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, task -> { }, "test", 0L, true, 0L, true, null);
+    }
+
+    @Test
+    public void testDueTasks() {
+        final TimingWheel wheel = new TimingWheel(0L, 1L);
+        final ScheduledTask first = createTask();
+        final ScheduledTask second = createTask();
+        wheel.add(first, 5L);
+        wheel.add(second, 5000L);
+        assertEquals(5L, wheel.nextDeadline());
+
+        final List<ScheduledTask> due = new ArrayList<>();
+        wheel.advance(4L, due);
+        assertTrue(due.isEmpty());
+        wheel.advance(5L, due);
+        assertEquals(1, due.size());
+        assertTrue(due.contains(first));
+        assertEquals(1, wheel.size());
+
+        due.clear();
+        wheel.advance(4999L, due);
+        assertTrue(due.isEmpty());
+        wheel.advance(5000L, due);
+        assertTrue(due.contains(second));
+        assertTrue(wheel.isEmpty());
+        assertEquals(Long.MAX_VALUE, wheel.nextDeadline());
+    }
+
+    @Test
+    public void testExpiredTask() {
+        final TimingWheel wheel = new TimingWheel(0L, 1L);
+        final List<ScheduledTask> due = new ArrayList<>();
+        wheel.advance(100L, due);
+        final ScheduledTask task = createTask();
+        wheel.add(task, 50L);
+        assertEquals(100L, wheel.nextDeadline());
+        wheel.advance(100L, due);
+        assertTrue(due.contains(task));
+    }
+
+    @Test
+    public void testRemove() {
+        final TimingWheel wheel = new TimingWheel(0L, 1L);
+        final ScheduledTask task = createTask();
+        wheel.add(task, 70L);
+        assertTrue(wheel.remove(task));
+        assertFalse(wheel.remove(task));
+        final List<ScheduledTask> due = new ArrayList<>();
+        wheel.advance(1000L, due);
+        assertTrue(due.isEmpty());
+    }
+
+    @Test
+    public void testResolutionNeverFiresEarly() {
+        final TimingWheel wheel = new TimingWheel(1000L, 100L);
+        final ScheduledTask task = createTask();
+        wheel.add(task, 1250L);
+        final List<ScheduledTask> due = new ArrayList<>();
+        wheel.advance(1299L, due);
+        assertTrue(due.isEmpty());
+        wheel.advance(1300L, due);
+        assertTrue(due.contains(task));
+    }
+
+    @Test
+    public void testRandomDeadlines() {
+        final Random random = new Random(42L);
+        final TimingWheel wheel = new TimingWheel(0L, 1L);
+        final List<ScheduledTask> tasks = new ArrayList<>();
+        final long[] deadlines = new long[2000];
+        for (int i = 0; i < deadlines.length; i++) {
+            final ScheduledTask task = createTask();
+            deadlines[i] = random.nextInt(1 << 20);
+            tasks.add(task);
+            wheel.add(task, deadlines[i]);
+        }
+        final List<ScheduledTask> due = new ArrayList<>();
+        long now = 0L;
+        while (!wheel.isEmpty()) {
+            now += random.nextInt(5000);
+            due.clear();
+            wheel.advance(now, due);
+            for (ScheduledTask task : due) {
+                final long deadline = deadlines[tasks.indexOf(task)];
+                assertTrue(deadline <= now);
+            }
+            for (int i = 0; i < deadlines.length; i++) {
+                if (deadlines[i] <= now) {
+                    assertEquals(TimingWheel.NOT_QUEUED, tasks.get(i).wheelSlot);
+                }
+            }
+            if (!wheel.isEmpty()) {
+                assertTrue(wheel.nextDeadline() > now);
+            }
+        }
+    }
+
+}
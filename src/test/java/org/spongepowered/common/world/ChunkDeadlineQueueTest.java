@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ChunkDeadlineQueueTest {
+
+    @Test
+    public void testPollsInDeadlineOrder() {
+        final ChunkDeadlineQueue queue = new ChunkDeadlineQueue();
+        final Random random = new Random(42);
+        for (long chunk = 0; chunk < 1000; chunk++) {
+            queue.schedule(chunk, random.nextInt(500));
+        }
+        assertEquals(1000, queue.size());
+
+        long previous = Long.MIN_VALUE;
+        int polled = 0;
+        while (queue.hasDue(Long.MAX_VALUE)) {
+            final long deadline = queue.peekDeadline();
+            assertTrue(deadline >= previous);
+            previous = deadline;
+            queue.poll();
+            polled++;
+        }
+        assertEquals(1000, polled);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testRescheduleReplacesDeadline() {
+        final ChunkDeadlineQueue queue = new ChunkDeadlineQueue();
+        queue.schedule(1, 10);
+        queue.schedule(2, 20);
+        queue.schedule(1, 30);
+
+        assertFalse(queue.hasDue(5));
+        assertTrue(queue.hasDue(25));
+        assertEquals(20, queue.peekDeadline());
+        assertEquals(2, queue.poll());
+        assertFalse(queue.hasDue(25));
+
+        queue.remove(1);
+        assertFalse(queue.hasDue(Long.MAX_VALUE));
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.junit.Test;
+
+public class ChunkGCCandidatesTest {
+
+    private static LongSet loaded(final long... chunks) {
+        return new LongOpenHashSet(chunks);
+    }
+
+    @Test
+    public void testPollsInInsertionOrderWithoutDuplicates() {
+        final ChunkGCCandidates candidates = new ChunkGCCandidates();
+        candidates.startCollection(loaded());
+        candidates.add(3);
+        candidates.add(1);
+        candidates.add(3);
+        candidates.add(2);
+
+        assertEquals(3, candidates.size());
+        assertEquals(3, candidates.poll());
+        assertEquals(1, candidates.poll());
+        assertEquals(2, candidates.poll());
+        assertTrue(candidates.isEmpty());
+    }
+
+    @Test
+    public void testFirstCollectionSweepsChunksLoadedBefore() {
+        final ChunkGCCandidates candidates = new ChunkGCCandidates();
+        assertTrue(candidates.startCollection(loaded(1, 2)));
+        assertTrue(candidates.contains(1));
+        assertTrue(candidates.contains(2));
+
+        candidates.poll();
+        candidates.poll();
+        assertFalse(candidates.startCollection(loaded(1, 2)));
+        assertTrue(candidates.isEmpty());
+    }
+
+    @Test
+    public void testNoSweepWithoutRequest() {
+        final ChunkGCCandidates candidates = new ChunkGCCandidates();
+        final LongSet loaded = loaded(7);
+        assertTrue(candidates.startCollection(loaded));
+        // The chunk could not be dropped, for example a spawn chunk
+        assertEquals(7, candidates.poll());
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(candidates.startCollection(loaded));
+        }
+        assertTrue(candidates.isEmpty());
+
+        // Only tracked changes add it again
+        candidates.add(7);
+        assertFalse(candidates.startCollection(loaded));
+        assertTrue(candidates.contains(7));
+    }
+
+    @Test
+    public void testRequestedSweepHappensOnNextCollection() {
+        final ChunkGCCandidates candidates = new ChunkGCCandidates();
+        candidates.startCollection(loaded());
+        assertFalse(candidates.startCollection(loaded(4)));
+        assertFalse(candidates.contains(4));
+
+        candidates.requestSweep();
+        assertTrue(candidates.startCollection(loaded(4)));
+        assertTrue(candidates.contains(4));
+        assertFalse(candidates.startCollection(loaded(4, 5)));
+        assertFalse(candidates.contains(5));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+public class MappedRegionFileTest {
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] randomData(final int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    @Test
+    public void testShrunkChunkIsRewrittenInPlace() throws IOException {
+        final File file = new File(this.folder.getRoot(), "r.0.0.mca");
+        try (final MappedRegionFile region = new MappedRegionFile(file)) {
+            region.write(0, 0, randomData(20000), 20000);
+            region.write(1, 0, randomData(100), 100);
+            final int sector = region.getSector(0, 0);
+            final long length = file.length();
+
+            region.write(0, 0, randomData(5000), 5000);
+            assertEquals(sector, region.getSector(0, 0));
+            assertEquals(length, file.length());
+
+            // The freed tail sectors are reused before the file grows
+            region.write(2, 0, randomData(5000), 5000);
+            assertEquals(length, file.length());
+            assertNotNull(region.read(0, 0));
+        }
+    }
+
+    @Test
+    public void testLeasedRegionIsNotClosed() throws IOException {
+        final MappedRegionFile region = new MappedRegionFile(new File(this.folder.getRoot(), "r.0.0.mca"));
+        assertTrue(region.acquire());
+        assertFalse(region.closeIfIdle());
+
+        region.retire();
+        assertTrue(region.isInUse());
+        // The last release closes a retired region
+        region.release();
+        assertFalse(region.acquire());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the sections written by {@link PendingSectionsTagList} with the
+ * ones written by {@link net.minecraft.world.chunk.BlockStateContainer#getDataForNBT}.
+ */
+@RunWith(LaunchWrapperTestRunner.class)
+public class PendingSectionsTagListTest {
+
+    // A state id above 4095, which needs the Add nibbles to be stored
+    private static final int EXTENDED_STATE_ID = (500 << 4) | 5;
+
+    @Test
+    public void testLinearPalette() {
+        this.assertSameAsVanilla(this.createStorage(getStates(3), 0));
+    }
+
+    @Test
+    public void testHashMapPalette() {
+        this.assertSameAsVanilla(this.createStorage(getStates(100), 16));
+    }
+
+    @Test
+    public void testGlobalPalette() {
+        this.assertSameAsVanilla(this.createStorage(getStates(400), 32));
+    }
+
+    @Test
+    public void testAddNibbles() {
+        final IBlockState extended = new Block(Material.ROCK) { }.getDefaultState();
+        Block.BLOCK_STATE_IDS.put(extended, EXTENDED_STATE_ID);
+
+        final List<IBlockState> linear = getStates(3);
+        linear.add(extended);
+        this.assertSameAsVanilla(this.createStorage(linear, 48));
+
+        final List<IBlockState> global = getStates(400);
+        global.add(extended);
+        final NBTTagCompound section = this.assertSameAsVanilla(this.createStorage(global, 64));
+        assertTrue(section.hasKey("Add"));
+    }
+
+    private static List<IBlockState> getStates(final int count) {
+        final List<IBlockState> states = new ArrayList<>(count);
+        for (final IBlockState state : Block.BLOCK_STATE_IDS) {
+            if (states.size() == count) {
+                break;
+            }
+            states.add(state);
+        }
+        assertEquals(count, states.size());
+        return states;
+    }
+
+    private ExtendedBlockStorage createStorage(final List<IBlockState> states, final int y) {
+        final ExtendedBlockStorage storage = new ExtendedBlockStorage(y, true);
+        final Random random = new Random(y);
+        for (int i = 0; i < 4096; i++) {
+            // Every state at least once, so the palette holds all of them
+            final IBlockState state = states.get(i < states.size() ? i : random.nextInt(states.size()));
+            storage.set(i & 15, i >> 8 & 15, i >> 4 & 15, state);
+            storage.setBlockLight(i & 15, i >> 8 & 15, i >> 4 & 15, random.nextInt(16));
+            storage.setSkyLight(i & 15, i >> 8 & 15, i >> 4 & 15, random.nextInt(16));
+        }
+        return storage;
+    }
+
+    private NBTTagCompound assertSameAsVanilla(final ExtendedBlockStorage storage) {
+        final byte[] blocks = new byte[4096];
+        final NibbleArray data = new NibbleArray();
+        final NibbleArray add = storage.getData().getDataForNBT(blocks, data);
+
+        final PendingSectionsTagList list = new PendingSectionsTagList(new ExtendedBlockStorage[] {storage}, true);
+        list.complete();
+        assertEquals(1, list.tagCount());
+        final NBTTagCompound section = list.getCompoundTagAt(0);
+        assertNotNull(section);
+
+        assertEquals((byte) (storage.getYLocation() >> 4 & 255), section.getByte("Y"));
+        assertArrayEquals(blocks, section.getByteArray("Blocks"));
+        assertArrayEquals(data.getData(), section.getByteArray("Data"));
+        assertEquals(add != null, section.hasKey("Add"));
+        if (add != null) {
+            assertArrayEquals(add.getData(), section.getByteArray("Add"));
+        }
+        assertArrayEquals(storage.getBlockLight().getData(), section.getByteArray("BlockLight"));
+        assertArrayEquals(storage.getSkyLight().getData(), section.getByteArray("SkyLight"));
+        return section;
+    }
+}
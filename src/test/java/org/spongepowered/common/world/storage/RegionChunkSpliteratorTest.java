@@ -0,0 +1,224 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.util.Constants;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+
+public class RegionChunkSpliteratorTest {
+
+    private static final DataQuery X_POS = DataQuery.of("xPos");
+    private static final DataQuery Z_POS = DataQuery.of("zPos");
+    private static final DataQuery INHABITED_TIME = DataQuery.of(Constants.Chunk.CHUNK_DATA_INHABITED_TIME);
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path worldDir;
+    private Path templateDir;
+
+    @Before
+    public void createWorlds() throws IOException {
+        this.worldDir = this.folder.newFolder("world").toPath();
+        this.templateDir = this.folder.newFolder("template").toPath();
+    }
+
+    @After
+    public void closeTemplateRegions() {
+        TemplateRegionFiles.clear();
+    }
+
+    private static void writeChunk(final Path worldDir, final int x, final int z, final int saveTime, final long inhabitedTime,
+            final boolean valid) throws IOException {
+        final File regionDir = worldDir.resolve("region").toFile();
+        regionDir.mkdirs();
+        final File file = new File(regionDir, "r." + (x >> 5) + "." + (z >> 5) + ".mca");
+
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", x);
+        level.setInteger("zPos", z);
+        level.setLong(Constants.Chunk.CHUNK_DATA_INHABITED_TIME, inhabitedTime);
+        if (valid) {
+            level.setTag(Constants.Chunk.CHUNK_DATA_SECTIONS, new NBTTagList());
+        }
+        final NBTTagCompound root = new NBTTagCompound();
+        root.setTag(Constants.Chunk.CHUNK_DATA_LEVEL, level);
+
+        final RegionFile region = new RegionFile(file);
+        try (final DataOutputStream stream = region.getChunkDataOutputStream(x & 31, z & 31)) {
+            CompressedStreamTools.write(root, stream);
+        }
+        region.close();
+        // The vanilla region file always uses the current time
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(4096 + 4 * ((x & 31) + (z & 31) * 32));
+            raf.writeInt(saveTime);
+        }
+    }
+
+    private static void writeChunk(final Path worldDir, final int x, final int z, final long inhabitedTime) throws IOException {
+        writeChunk(worldDir, x, z, 100, inhabitedTime, true);
+    }
+
+    private static Map<String, Long> readAll(final Spliterator<DataContainer> spliterator) {
+        final Map<String, Long> chunks = new HashMap<>();
+        spliterator.forEachRemaining(container -> {
+            final String position = container.getInt(X_POS).get() + "," + container.getInt(Z_POS).get();
+            assertNull("Chunk " + position + " was read twice", chunks.put(position, container.getLong(INHABITED_TIME).get()));
+        });
+        return chunks;
+    }
+
+    @Test
+    public void testReadsAllRegions() throws IOException {
+        writeChunk(this.worldDir, 0, 0, 1);
+        writeChunk(this.worldDir, 31, 31, 2);
+        writeChunk(this.worldDir, 32, 0, 3);
+        writeChunk(this.worldDir, -1, -40, 4);
+
+        final RegionChunkSpliterator spliterator = RegionChunkSpliterator.of(this.worldDir, null, ChunkDataFilter.ALL);
+        assertEquals(4, spliterator.countRemaining());
+        assertEquals(new HashSet<>(Arrays.asList("0,0", "31,31", "32,0", "-1,-40")), readAll(spliterator).keySet());
+        assertEquals(0, spliterator.countRemaining());
+    }
+
+    @Test
+    public void testSplitsByRegion() throws IOException {
+        writeChunk(this.worldDir, 0, 0, 1);
+        writeChunk(this.worldDir, 1, 0, 1);
+        writeChunk(this.worldDir, 32, 0, 1);
+        writeChunk(this.worldDir, 64, 0, 1);
+
+        final RegionChunkSpliterator spliterator = RegionChunkSpliterator.of(this.worldDir, null, ChunkDataFilter.ALL);
+        final Spliterator<DataContainer> split = spliterator.trySplit();
+        assertNotNull(split);
+        final Set<String> positions = new HashSet<>(readAll(spliterator).keySet());
+        for (final String position : readAll(split).keySet()) {
+            assertTrue("Chunk " + position + " was read by both halves", positions.add(position));
+        }
+        assertEquals(new HashSet<>(Arrays.asList("0,0", "1,0", "32,0", "64,0")), positions);
+
+        // A single region is not split any further
+        final RegionChunkSpliterator single = RegionChunkSpliterator.of(this.worldDir, null, ChunkDataFilter.ALL);
+        assertNotNull(single.trySplit());
+        assertNull(single.trySplit());
+    }
+
+    @Test
+    public void testHeaderFilters() throws IOException {
+        writeChunk(this.worldDir, 0, 0, 100, 1, true);
+        writeChunk(this.worldDir, 1, 0, 200, 1, true);
+        writeChunk(this.worldDir, 2, 0, 300, 1, true);
+
+        final ChunkDataFilter filter = ChunkDataFilter.ALL.savedSince(200).withPositions((x, z) -> x < 2);
+        final RegionChunkSpliterator spliterator = RegionChunkSpliterator.of(this.worldDir, null, filter);
+        // Header checks are exact, both for counting and reading
+        assertEquals(1, spliterator.countRemaining());
+        assertEquals(new HashSet<>(Arrays.asList("1,0")), readAll(spliterator).keySet());
+    }
+
+    @Test
+    public void testLevelFiltersAndInvalidChunksAreUpperBound() throws IOException {
+        writeChunk(this.worldDir, 0, 0, 10);
+        writeChunk(this.worldDir, 1, 0, 50);
+        writeChunk(this.worldDir, 2, 0, 100, 100, false);
+
+        final RegionChunkSpliterator spliterator = RegionChunkSpliterator.of(this.worldDir, null, ChunkDataFilter.ALL.inhabitedFor(20));
+        // Only the header is read when counting, the inhabited time and the chunk data are not checked
+        assertEquals(3, spliterator.countRemaining());
+        assertEquals(new HashSet<>(Arrays.asList("1,0")), readAll(spliterator).keySet());
+    }
+
+    @Test
+    public void testTemplateIsShadowedByOwnChunks() throws IOException {
+        writeChunk(this.templateDir, 0, 0, 1);
+        writeChunk(this.templateDir, 1, 0, 1);
+        writeChunk(this.templateDir, 40, 0, 1);
+        writeChunk(this.worldDir, 0, 0, 2);
+        writeChunk(this.worldDir, 2, 0, 2);
+
+        final RegionChunkSpliterator spliterator = RegionChunkSpliterator.of(this.worldDir, this.templateDir, ChunkDataFilter.ALL);
+        assertEquals(4, spliterator.countRemaining());
+        final Map<String, Long> chunks = readAll(spliterator);
+        assertEquals(4, chunks.size());
+        // Chunks saved by the copy replace the ones of the template
+        assertEquals(Long.valueOf(2), chunks.get("0,0"));
+        assertEquals(Long.valueOf(1), chunks.get("1,0"));
+        assertEquals(Long.valueOf(2), chunks.get("2,0"));
+        assertEquals(Long.valueOf(1), chunks.get("40,0"));
+    }
+
+    @Test
+    public void testTemplateRegionReadsAreReadOnly() throws IOException {
+        writeChunk(this.templateDir, 0, 0, 1);
+        final File file = this.templateDir.resolve("region").resolve("r.0.0.mca").toFile();
+        final long length = file.length();
+        final long modified = file.lastModified();
+
+        assertTrue(TemplateRegionFiles.isChunkSaved(this.templateDir.toFile(), 0, 0));
+        assertFalse(TemplateRegionFiles.isChunkSaved(this.templateDir.toFile(), 1, 0));
+        assertFalse(TemplateRegionFiles.isChunkSaved(this.templateDir.toFile(), 64, 0));
+        final NBTTagCompound root = CompressedStreamTools.read(TemplateRegionFiles.readChunk(this.templateDir.toFile(), 0, 0));
+        assertEquals(1, root.getCompoundTag(Constants.Chunk.CHUNK_DATA_LEVEL).getLong(Constants.Chunk.CHUNK_DATA_INHABITED_TIME));
+        assertNull(TemplateRegionFiles.readChunk(this.templateDir.toFile(), 1, 0));
+
+        assertEquals(length, file.length());
+        assertEquals(modified, file.lastModified());
+    }
+
+    @Test
+    public void testMissingRegionDirectory() {
+        final RegionChunkSpliterator spliterator = RegionChunkSpliterator.of(this.worldDir, this.templateDir, ChunkDataFilter.ALL);
+        assertEquals(0, spliterator.countRemaining());
+        assertTrue(readAll(spliterator).isEmpty());
+    }
+}